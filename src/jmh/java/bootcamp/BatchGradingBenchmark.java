@@ -0,0 +1,60 @@
+package bootcamp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of grading a whole batch of answer sheets at once.
+ * Usage: ./gradlew jmh -Pjmh=BatchGrading
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BatchGradingBenchmark {
+    @Param({"500000"})
+    int sheets;
+
+    @Param({"50"})
+    int questions;
+
+    private AnswerSheetBatch batch;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<Question> bank = new ArrayList<>();
+        for (int q = 0; q < questions; q++) {
+            bank.add(new Question("Question " + q, Arrays.asList("A", "B", "C", "D"), random.nextInt(4)));
+        }
+        batch = new AnswerSheetBatch(new Exam(0, "Benchmark Subject", bank));
+        int[] answers = new int[questions];
+        for (int i = 0; i < sheets; i++) {
+            for (int q = 0; q < questions; q++) {
+                answers[q] = random.nextInt(5) - 1; // -1 leaves the question unanswered
+            }
+            batch.add("STU" + i, answers);
+        }
+    }
+
+    @Benchmark
+    public int[] grade() {
+        return batch.grade();
+    }
+}
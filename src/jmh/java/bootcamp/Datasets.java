@@ -0,0 +1,47 @@
+package bootcamp;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Synthetic data shared by the benchmarks.
+ */
+class Datasets {
+    private Datasets() {
+    }
+
+    // Builds a synthetic catalog of 10 courses x 4 subjects and students enrolled in one course with scores
+    static void build(Catalog catalog, UserDirectory users, int studentCount) {
+        List<Course> courses = new ArrayList<>();
+        List<List<Subject>> courseSubjects = new ArrayList<>();
+        for (int c = 0; c < 10; c++) {
+            Course course = new Course("Course " + c);
+            catalog.addCourse(course);
+            for (int s = 0; s < 4; s++) {
+                Subject subject = new Subject("Subject " + c + "." + s);
+                catalog.addSubject(course, subject);
+                List<Question> questions = new ArrayList<>();
+                for (int q = 0; q < 5; q++) {
+                    questions.add(new Question("Question " + q + " for " + subject.getSubjectName(), List.of("A", "B", "C", "D"), q % 4));
+                }
+                catalog.addExam(new Exam(subject.getSubjectNumber(), subject.getSubjectName(), questions));
+            }
+            courses.add(course);
+            courseSubjects.add(new ArrayList<>(course.getSubjects()));
+        }
+        for (int i = 0; i < studentCount; i++) {
+            Student student = new Student("user" + i, "password" + i, "Student " + i, 18 + i % 30, "user" + i + "@example.com");
+            users.addUser(student);
+            Course course = courses.get(i % courses.size());
+            student.enrollCourse(course);
+            Subject first = courseSubjects.get(i % courses.size()).get(i % 4);
+            Subject second = courseSubjects.get(i % courses.size()).get((i + 1) % 4);
+            student.enrollSubject(first);
+            student.enrollSubject(second);
+            student.setExamScore(first.getSubjectNumber(), i % 6);
+            if (i % 2 == 0) {
+                student.setExamScore(second.getSubjectNumber(), (i / 2) % 6);
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package bootcamp;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the enrollment matrix (a RoaringBitmap per subject and course) with the per-subject student
+ * sets it replaced and with scanning every student: heap used per student, and the time to answer "how
+ * many students are in both subjects" and "which students in a course have no exam score yet".
+ * Usage: ./gradlew jmh -Pjmh=EnrollmentMatrix
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class EnrollmentMatrixBenchmark {
+    @Param({"1000000"})
+    int studentCount;
+
+    private UserDirectory users;
+    private Course course;
+    private List<Subject> courseSubjects;
+    private int first;
+    private int second;
+    private EnrollmentTable matrix;
+    private StudentIndex index;
+
+    @Setup
+    public void setUp() {
+        Catalog catalog = new Catalog();
+        List<Course> courses = new ArrayList<>();
+        for (int c = 0; c < 10; c++) {
+            Course added = new Course("Matrix Course " + c);
+            catalog.addCourse(added);
+            for (int s = 0; s < 4; s++) {
+                catalog.addSubject(added, new Subject(added.getCourseName() + " Subject " + s));
+            }
+            courses.add(added);
+        }
+        users = new UserDirectory();
+        Random random = new Random(7);
+        for (int i = 0; i < studentCount; i++) {
+            Student student = new Student("matrix" + i, "pw", "Student " + i, 20, "matrix" + i + "@example.com");
+            users.addUser(student);
+            Course enrolled = courses.get(random.nextInt(courses.size()));
+            student.enrollCourse(enrolled);
+            for (Subject subject : enrolled.getSubjects()) {
+                if (random.nextInt(4) != 0) {
+                    student.enrollSubject(subject);
+                    if (random.nextBoolean()) {
+                        student.setExamScore(subject.getSubjectNumber(), random.nextInt(6));
+                    }
+                }
+            }
+        }
+        course = courses.get(0);
+        courseSubjects = new ArrayList<>(course.getSubjects());
+        first = courseSubjects.get(0).getSubjectNumber();
+        second = courseSubjects.get(1).getSubjectNumber();
+        matrix = new EnrollmentTable(users);
+        index = new StudentIndex(users, catalog, matrix);
+        matrix.countInSubject(first); // Fills the matrix
+        index.studentsWithScore(courseSubjects); // Fills the score index
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Map<Integer, EnrollmentSet<Student>> studentSetsFootprint(HeapFootprint footprint) {
+        footprint.start();
+        Map<Integer, EnrollmentSet<Student>> sets = new HashMap<>();
+        for (Student student : users.getStudents()) {
+            student.getEnrolledSubjects().forEach(subject -> sets.computeIfAbsent(subject.getSubjectNumber(),
+                    id -> new EnrollmentSet<>(Student::getStudentNumber)).add(student));
+            student.getEnrolledCourses().forEach(c -> sets.computeIfAbsent(-c.getCourseNumber(),
+                    id -> new EnrollmentSet<>(Student::getStudentNumber)).add(student));
+        }
+        return footprint.stop(sets, studentCount);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public EnrollmentTable matrixFootprint(HeapFootprint footprint) {
+        footprint.start();
+        EnrollmentTable filled = new EnrollmentTable(users);
+        filled.countInSubject(first);
+        return footprint.stop(filled, studentCount);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int inBothSubjectsScan() {
+        int both = 0;
+        for (Student student : users.getStudents()) {
+            if (student.isEnrolledInSubject(first) && student.isEnrolledInSubject(second)) {
+                both++;
+            }
+        }
+        return both;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int inBothSubjectsMatrix() {
+        return matrix.countInBothSubjects(first, second);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int unscoredInCourseScan() {
+        int unscored = 0;
+        for (Student student : users.getStudents()) {
+            if (student.isEnrolledInCourse(course.getCourseNumber()) && courseSubjects.stream()
+                    .noneMatch(subject -> student.getExamScore(subject.getSubjectNumber()) != IntIntMap.MISSING)) {
+                unscored++;
+            }
+        }
+        return unscored;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int unscoredInCourseMatrix() {
+        RoaringBitmap unscored = matrix.studentsInCourse(course.getCourseNumber());
+        unscored.andNot(index.studentsWithScore(courseSubjects));
+        return unscored.cardinality();
+    }
+}
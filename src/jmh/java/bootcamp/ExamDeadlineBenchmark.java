@@ -0,0 +1,118 @@
+package bootcamp;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Times the exam timer: scheduling and cancelling a deadline (run with -prof gc for its allocation),
+ * the heap each timed exam takes while in progress, and how long after a 1 s limit the timer has
+ * submitted every one of many timed exams started at once that nobody answers.
+ * Usage: ./gradlew jmh -Pjmh=ExamDeadline
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ExamDeadlineBenchmark {
+    private static final long EXAM_LIMIT_MILLIS = 1_000;
+
+    @Param({"100000"})
+    int exams;
+
+    private TimingWheel wheel;
+    private Exam exam;
+    private Subject subject;
+    private Student[] students;
+    private PrintStream out;
+
+    @Setup
+    public void setUp() {
+        wheel = new TimingWheel("benchmark-wheel", 1);
+        subject = new Subject("Benchmark Subject");
+        List<Question> questions = new ArrayList<>();
+        for (int q = 0; q < 40; q++) {
+            questions.add(new Question("Question " + q, List.of("A" + q, "B" + q, "C" + q, "D" + q), q % 4));
+        }
+        exam = new Exam(subject.getSubjectNumber(), subject.getSubjectName(), questions);
+        students = new Student[exams];
+        for (int i = 0; i < exams; i++) {
+            students[i] = new Student("user" + i, "pw", "Student " + i, 20, "user" + i + "@example.com");
+        }
+        out = new PrintStream(OutputStream.nullOutputStream());
+    }
+
+    @TearDown
+    public void tearDown() {
+        wheel.close();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void scheduleAndCancel() {
+        wheel.schedule(() -> { }, 4_000).cancel();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<TimedExam> timedExamFootprint(HeapFootprint footprint) {
+        TimingWheel examTimer = new TimingWheel("exam-timer", 100);
+        ExecutorService handoff = TimedExam.newHandoffExecutor();
+        try {
+            footprint.start();
+            return footprint.stop(startExams(examTimer, handoff, 60_000, new AtomicInteger()), exams);
+        } finally {
+            examTimer.close();
+            handoff.shutdown();
+        }
+    }
+
+    // Time from the first start until the last exam is submitted; all but the 1 s limit is lateness
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int autoSubmitAll() throws InterruptedException {
+        TimingWheel examTimer = new TimingWheel("exam-timer", 100);
+        ExecutorService handoff = TimedExam.newHandoffExecutor();
+        AtomicInteger submitted = new AtomicInteger();
+        try {
+            startExams(examTimer, handoff, EXAM_LIMIT_MILLIS, submitted);
+            while (submitted.get() < exams) {
+                Thread.sleep(1);
+            }
+            return submitted.get();
+        } finally {
+            examTimer.close();
+            handoff.shutdown();
+        }
+    }
+
+    private List<TimedExam> startExams(TimingWheel examTimer, ExecutorService handoff, long limitMillis, AtomicInteger submitted) {
+        List<TimedExam> started = new ArrayList<>(exams);
+        for (Student student : students) {
+            TimedExam timedExam = new TimedExam(exam.drawPaper(student, 0), subject.getSubjectName(), out,
+                    (answers, score) -> submitted.incrementAndGet());
+            timedExam.start(examTimer, handoff, limitMillis, limitMillis / 3);
+            started.add(timedExam);
+        }
+        return started;
+    }
+}
@@ -0,0 +1,65 @@
+package bootcamp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Times drawing per-attempt papers from a large question bank, with every thread starting exams at once
+ * for 10,000 different students. Run with -prof gc for the allocation per paper.
+ * Usage: ./gradlew jmh -Pjmh=ExamPaper
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(Threads.MAX)
+public class ExamPaperBenchmark {
+    private static final int STUDENTS = 10_000;
+
+    @Param({"5000"})
+    int bankSize;
+
+    private Exam exam;
+    private Student[] students;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup
+    public void setUp() {
+        Subject subject = new Subject("Benchmark Subject");
+        List<Question> questions = new ArrayList<>(bankSize);
+        for (int q = 0; q < bankSize; q++) {
+            questions.add(new Question("Question " + q, List.of("A" + q, "B" + q, "C" + q, "D" + q), q % 4));
+        }
+        exam = new Exam(subject.getSubjectNumber(), subject.getSubjectName(), questions);
+        students = new Student[STUDENTS];
+        for (int i = 0; i < STUDENTS; i++) {
+            students[i] = new Student("user" + i, "pw", "Student " + i, 20, "user" + i + "@example.com");
+        }
+    }
+
+    @Benchmark
+    public ExamPaper drawPaper(Cursor cursor) {
+        int s = cursor.next;
+        cursor.next = s + 1 < STUDENTS ? s + 1 : 0;
+        return exam.drawPaper(students[s], 0);
+    }
+}
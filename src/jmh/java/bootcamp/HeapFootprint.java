@@ -0,0 +1,53 @@
+package bootcamp;
+
+import java.lang.ref.Reference;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.runner.IterationType;
+
+/**
+ * Secondary result for footprint benchmarks: the heap still reachable from what one invocation built,
+ * divided by the number of items it holds. JMH reports it next to the time as "bytesPerItem".
+ * Measured with full collections around the build, so use it with single-shot benchmarks.
+ * JMH adds event counters up across the measured iterations, so each one reports its share of the mean.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+public class HeapFootprint {
+    public double bytesPerItem;
+
+    private int iterations = 1;
+    private long heapBefore;
+
+    @Setup(Level.Iteration)
+    public void reset(BenchmarkParams benchmark, IterationParams iteration) {
+        bytesPerItem = 0;
+        if (iteration.getType() == IterationType.MEASUREMENT) {
+            iterations = benchmark.getMeasurement().getCount();
+        }
+    }
+
+    void start() {
+        heapBefore = usedHeap();
+    }
+
+    <T> T stop(T built, int items) {
+        long retained = usedHeap() - heapBefore;
+        Reference.reachabilityFence(built);
+        bytesPerItem = (double) retained / items / iterations;
+        return built;
+    }
+
+    static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
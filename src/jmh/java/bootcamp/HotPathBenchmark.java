@@ -0,0 +1,167 @@
+package bootcamp;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the hot paths of login, registration checks, enrollment, grading and reporting
+ * on synthetic datasets. Add -prof gc for allocation per operation and -bm sample for latency percentiles.
+ * Run with a larger -Xmx for datasets in the millions.
+ * Usage: ./gradlew jmh -Pjmh=HotPath
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class HotPathBenchmark {
+    @Param({"10000", "100000"})
+    int studentCount;
+
+    private UserDirectory users;
+    private StudentManagementSystem system;
+    private Student[] students;
+    private Subject[] subjects;
+    private String[] usernames;
+    private String[] tokens;
+    private String[] unknownUsernames;
+    private LoginService logins;
+    private Exam exam;
+    private int[][] answerSheets;
+    private AnswerKey key;
+    private PrintStream examOut;
+    private TimedExam.Submission discard;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+        long[] packed;
+        ListingWriter listing;
+
+        @Setup
+        public void setUp(HotPathBenchmark benchmark) {
+            packed = new long[benchmark.key.wordsPerSheet()];
+            listing = new ListingWriter(new PrintStream(OutputStream.nullOutputStream()));
+        }
+
+        int next() {
+            int i = next;
+            next = i + 1 < Integer.MAX_VALUE ? i + 1 : 0;
+            return i;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        Catalog catalog = new Catalog();
+        users = new UserDirectory();
+        Datasets.build(catalog, users, studentCount);
+        system = new StudentManagementSystem(catalog, users);
+
+        students = users.getStudents().toArray(new Student[0]);
+        List<Subject> subjectList = new ArrayList<>();
+        catalog.getCourses().forEach(c -> subjectList.addAll(c.getSubjects()));
+        subjects = subjectList.toArray(new Subject[0]);
+        usernames = new String[students.length];
+        tokens = new String[students.length];
+        unknownUsernames = new String[students.length];
+        logins = new LoginService(1, 16);
+        for (int i = 0; i < students.length; i++) {
+            usernames[i] = students[i].getUsername();
+            tokens[i] = logins.issueToken(students[i]); // As if each had logged in once; password checks are timed in LoginBurstBenchmark
+            unknownUsernames[i] = "USER" + i + "x";
+        }
+        exam = catalog.getExamForSubject(subjects[0].getSubjectNumber());
+        answerSheets = new int[1024][exam.getQuestions().size()];
+        Random random = new Random(7);
+        for (int[] sheet : answerSheets) {
+            for (int q = 0; q < sheet.length; q++) {
+                sheet[q] = random.nextInt(4);
+            }
+        }
+        key = exam.getAnswerKey();
+        examOut = new PrintStream(OutputStream.nullOutputStream());
+        discard = (answers, score) -> { };
+    }
+
+    @TearDown
+    public void tearDown() {
+        logins.close();
+        system.shutdown();
+    }
+
+    @Benchmark
+    public User resumeSession(Cursor cursor) {
+        return logins.resume(tokens[cursor.next() % students.length]).user;
+    }
+
+    @Benchmark
+    public User findUnknownUser(Cursor cursor) {
+        return users.findByUsername(unknownUsernames[cursor.next() % students.length]); // Login then hashes as for a wrong password
+    }
+
+    @Benchmark
+    public boolean usernameTaken(Cursor cursor) {
+        return system.isUsernameTaken(usernames[cursor.next() % students.length]);
+    }
+
+    @Benchmark
+    public boolean usernameFree(Cursor cursor) {
+        return system.isUsernameTaken(unknownUsernames[cursor.next() % students.length]);
+    }
+
+    @Benchmark
+    public boolean repeatEnrollSubject(Cursor cursor) {
+        int i = cursor.next();
+        return students[i % students.length].enrollSubject(subjects[i % subjects.length]);
+    }
+
+    @Benchmark
+    public String subjectNameById(Cursor cursor) {
+        return system.getSubjectNameById(subjects[cursor.next() % subjects.length].getSubjectId());
+    }
+
+    @Benchmark
+    public int takeExam(Cursor cursor) {
+        int i = cursor.next();
+        int[] answers = answerSheets[i & 1023];
+        TimedExam attempt = new TimedExam(exam.drawPaper(students[i % students.length], i & 7), exam.getSubjectName(), examOut, discard);
+        attempt.start(null, null, 0, 0); // No time limits, so the timer is never used
+        int answered = 0;
+        while (!attempt.answer(answers[answered] + 1)) {
+            answered++;
+        }
+        return answered;
+    }
+
+    @Benchmark
+    public int gradePacked(Cursor cursor) {
+        key.pack(answerSheets[cursor.next() & 1023], cursor.packed, 0);
+        return key.grade(cursor.packed, 0);
+    }
+
+    @Benchmark
+    public int displayStudentResults(Cursor cursor) {
+        system.displayStudentResults(cursor.listing, students[cursor.next() % students.length]);
+        int length = cursor.listing.text().length();
+        cursor.listing.flush();
+        return length;
+    }
+}
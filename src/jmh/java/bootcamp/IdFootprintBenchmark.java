@@ -0,0 +1,152 @@
+package bootcamp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the heap taken per student by the int-keyed model with the earlier shape of the same data:
+ * "STU1000"-style String IDs, ConcurrentHashMap<String, Integer> exam scores and enrollment sets
+ * backed by a ConcurrentHashMap plus a ConcurrentLinkedQueue. Both hold the same users, enrollments
+ * and scores (see Datasets.build) and share one catalog.
+ * Also times score lookups, which box and hash Strings in the earlier shape.
+ * Usage: ./gradlew jmh -Pjmh=IdFootprint
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class IdFootprintBenchmark {
+    @Param({"200000"})
+    int studentCount;
+
+    private UserDirectory users;
+    private List<Subject> subjects;
+    private List<Student> students;
+    private List<LegacyStudent> legacyStudents;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Catalog catalog = new Catalog();
+        users = new UserDirectory();
+        Datasets.build(catalog, users, studentCount);
+        subjects = new ArrayList<>();
+        catalog.getCourses().forEach(course -> subjects.addAll(course.getSubjects()));
+        students = new ArrayList<>(users.getStudents());
+        legacyStudents = new ArrayList<>(LegacyDirectory.copyOf(users).studentsInOrder);
+    }
+
+    // Heap per student of the int-keyed model; the shared catalog adds well under a byte per student
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public UserDirectory intIdsFootprint(HeapFootprint footprint) {
+        footprint.start();
+        Catalog catalog = new Catalog();
+        UserDirectory built = new UserDirectory();
+        Datasets.build(catalog, built, studentCount);
+        return footprint.stop(built, studentCount);
+    }
+
+    // Heap per student of the earlier shape, copied from the students above
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public LegacyDirectory stringIdsFootprint(HeapFootprint footprint) {
+        footprint.start();
+        return footprint.stop(LegacyDirectory.copyOf(users), studentCount);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int intIdsScoreLookup() {
+        int i = nextStudent();
+        return students.get(i).getExamScore(subjects.get(i % subjects.size()).getSubjectNumber());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int stringIdsScoreLookup() {
+        int i = nextStudent();
+        Integer score = legacyStudents.get(i).examScores.get(subjects.get(i % subjects.size()).getSubjectId());
+        return score != null ? score : IntIntMap.MISSING;
+    }
+
+    private int nextStudent() {
+        int i = next;
+        next = i + 1 < studentCount ? i + 1 : 0;
+        return i;
+    }
+
+    // The earlier student shape: String IDs, boxed score values, two collections per enrollment set
+    static class LegacyStudent {
+        final String studentId;
+        final String username;
+        final String password;
+        final String name;
+        final int age;
+        final String email;
+        final Map<String, Course> coursesById = new ConcurrentHashMap<>();
+        final Queue<Course> coursesInOrder = new ConcurrentLinkedQueue<>();
+        final Map<String, Subject> subjectsById = new ConcurrentHashMap<>();
+        final Queue<Subject> subjectsInOrder = new ConcurrentLinkedQueue<>();
+        final Map<String, Integer> examScores = new ConcurrentHashMap<>();
+        final Map<String, ExamResult> examResults = new ConcurrentHashMap<>();
+
+        LegacyStudent(Student student) {
+            // Copies, so both shapes pay for their own text
+            this.studentId = student.getStudentId();
+            this.username = new String(student.getUsername());
+            this.password = new String(student.getCredential());
+            this.name = new String(student.getName());
+            this.age = student.getAge();
+            this.email = new String(student.getEmail());
+            for (Course course : student.getEnrolledCourses()) {
+                coursesById.put(course.getCourseId(), course);
+                coursesInOrder.add(course);
+            }
+            for (Subject subject : student.getEnrolledSubjects()) {
+                subjectsById.put(subject.getSubjectId(), subject);
+                subjectsInOrder.add(subject);
+            }
+            student.getExamScores().forEach((subjectNumber, score) ->
+                    examScores.put(Ids.format(Ids.SUBJECT, subjectNumber), score));
+        }
+    }
+
+    static class LegacyDirectory {
+        final Map<String, Object> usersByUsername = new ConcurrentHashMap<>();
+        final Map<String, LegacyStudent> studentsById = new ConcurrentHashMap<>();
+        final Queue<LegacyStudent> studentsInOrder = new ConcurrentLinkedQueue<>();
+
+        static LegacyDirectory copyOf(UserDirectory users) {
+            LegacyDirectory directory = new LegacyDirectory();
+            for (Student student : users.getStudents()) {
+                LegacyStudent copy = new LegacyStudent(student);
+                directory.usersByUsername.put(copy.username.toLowerCase(Locale.ROOT), copy);
+                directory.studentsById.put(copy.studentId, copy);
+                directory.studentsInOrder.add(copy);
+            }
+            return directory;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package bootcamp;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the admin listings against printing them one field at a time through an
+ * autoflushing PrintStream, the way they were printed before ListingWriter.
+ * Output goes to /dev/null through a stream set up like System.out.
+ * Usage: ./gradlew jmh -Pjmh=ListingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ListingBenchmark {
+    @Param({"100000"})
+    int studentCount;
+
+    private StudentManagementSystem system;
+    private List<Student> students;
+    private List<Subject> subjects;
+    private String input;
+    private PrintStream devNull;
+
+    @Setup
+    public void setUp() throws IOException {
+        system = new StudentManagementSystem();
+        List<Course> courses = new ArrayList<>();
+        for (int c = 0; c < 10; c++) {
+            courses.add(new Course("Listing Course " + c));
+        }
+        system.addCourses(courses);
+        List<Course> subjectCourses = new ArrayList<>();
+        subjects = new ArrayList<>();
+        for (Course course : courses) {
+            for (int s = 0; s < 4; s++) {
+                subjectCourses.add(course);
+                subjects.add(new Subject(course.getCourseName() + " Subject " + s));
+            }
+        }
+        system.addSubjects(subjectCourses, subjects);
+
+        students = new ArrayList<>(studentCount);
+        for (int i = 0; i < studentCount; i++) {
+            Student student = new Student("listing" + i, "pw", "Student " + i, 18 + i % 40, "student" + i + "@example.com");
+            Course course = courses.get(i % courses.size());
+            student.enrollCourse(course);
+            for (int s = 0; s < 2; s++) {
+                Subject subject = subjects.get(i % courses.size() * 4 + s);
+                student.enrollSubject(subject);
+                student.setExamScore(subject.getSubjectNumber(), i % 6);
+            }
+            students.add(student);
+        }
+        for (int from = 0; from < studentCount; from += 1000) {
+            system.registerStudents(students.subList(from, Math.min(from + 1000, studentCount)));
+        }
+
+        // Any answer but 'q' continues a listing, so answering 'all' everywhere pages through
+        // the whole student list, picks 'all' at the ID prompt and pages through all results
+        input = "all\n".repeat(2 * (studentCount / 100 + 10));
+        devNull = new PrintStream(new BufferedOutputStream(new FileOutputStream("/dev/null"), 128), true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        devNull.close();
+        system.shutdown();
+    }
+
+    @Benchmark
+    public void studentsFieldByField() {
+        PrintStream out = devNull;
+        out.println("\n--- All Registered Students ---");
+        for (Student student : students) {
+            out.println(student);
+            out.print("  Enrolled Courses: ");
+            student.getEnrolledCourses().forEach(c -> out.print(c.getCourseName() + " (ID: " + c.getCourseId() + "); "));
+            out.println();
+            out.print("  Enrolled Subjects: ");
+            student.getEnrolledSubjects().forEach(s -> out.print(s.getSubjectName() + " (ID: " + s.getSubjectId() + "); "));
+            out.println();
+            out.println("--------------------------------------------------");
+        }
+    }
+
+    @Benchmark
+    public void studentsBuffered() {
+        system.viewAllRegisteredStudents(new Session(LineInput.of(input), devNull));
+    }
+
+    @Benchmark
+    public void resultsFieldByField() {
+        PrintStream out = devNull;
+        Map<Integer, String> subjectNames = new HashMap<>();
+        subjects.forEach(s -> subjectNames.put(s.getSubjectNumber(), s.getSubjectName()));
+        for (Student s : students) {
+            out.println("ID: " + s.getStudentId() + ", Name: " + s.getName());
+        }
+        for (Student student : students) {
+            out.println("\n--- Exam Results for " + student.getName() + " (ID: " + student.getStudentId() + ") ---");
+            student.getExamScores().forEach((subjectNumber, score) -> {
+                out.println("Subject: " + subjectNames.get(subjectNumber) + " (ID: " + Ids.format(Ids.SUBJECT, subjectNumber) + ")");
+                out.println("  Score: " + score + "/" + 0);
+                out.println(score >= 0 ? "  Status: PASS" : "  Status: FAIL");
+            });
+
+            out.println("--------------------------------------------------");
+        }
+    }
+
+    @Benchmark
+    public void resultsBuffered() {
+        system.viewStudentExamResults(new Session(LineInput.of(input), devNull));
+    }
+}
@@ -0,0 +1,408 @@
+package bootcamp;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives the menus headlessly with virtual students, over a socket like real clients, and reports
+ * throughput, latency percentiles and errors per menu action. Each virtual student arrives at a random
+ * time (a Poisson process at the given rate), logs in, or registers first, performs a number of actions
+ * drawn from the mix, and logs out. Latency is measured from sending an action's first line until the
+ * menu prompt comes back.
+ *
+ * Without --connect an in-process server is started on a free local port, with the default data and
+ * the given number of existing accounts (load0 .. loadN-1, password "loadpass"). With --connect the
+ * target must already have those accounts, e.g. from an earlier run with --new 1 and --prefix load.
+ *
+ * Usage: ./gradlew loadTest --args="[--connect host:port] [--sessions n] [--rate perSecond]
+ *            [--accounts n] [--new fraction] [--actions n] [--mix enroll=1,exam=2,results=2]
+ *            [--think millis] [--seed n]"
+ * Defaults: 2000 sessions at 50 per second, 1000 accounts, 10% new students, 4 actions each,
+ *           mix enroll=1,exam=2,results=2, no think time.
+ */
+class LoadGenerator {
+    private static final String PASSWORD = "loadpass";
+    private static final int REPLY_TIMEOUT_MILLIS = 60_000;
+    private static final String[] ACTIONS = {"register", "login", "enroll", "exam", "results", "logout"};
+    private static final int REGISTER = 0;
+    private static final int LOGIN = 1;
+    private static final int ENROLL = 2;
+    private static final int EXAM = 3;
+    private static final int RESULTS = 4;
+    private static final int LOGOUT = 5;
+
+    private final String host;
+    private final int port;
+    private final int accounts;
+    private final double newFraction;
+    private final int actionsPerSession;
+    private final int[] mix; // Weights of enroll, exam and results
+    private final long thinkMillis;
+    private final String newPrefix;
+    private final LatencyHistogram[] latencies = new LatencyHistogram[ACTIONS.length];
+    private final LongAdder[] errors = new LongAdder[ACTIONS.length];
+    private final LongAdder[] skipped = new LongAdder[ACTIONS.length];
+
+    LoadGenerator(String host, int port, int accounts, double newFraction, int actionsPerSession, int[] mix, long thinkMillis) {
+        this.host = host;
+        this.port = port;
+        this.accounts = accounts;
+        this.newFraction = newFraction;
+        this.actionsPerSession = actionsPerSession;
+        this.mix = mix;
+        this.thinkMillis = thinkMillis;
+        this.newPrefix = "new" + System.currentTimeMillis() + "_";
+        for (int i = 0; i < ACTIONS.length; i++) {
+            latencies[i] = new LatencyHistogram();
+            errors[i] = new LongAdder();
+            skipped[i] = new LongAdder();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        String connect = null;
+        int sessions = 2_000;
+        double rate = 50;
+        int accounts = 1_000;
+        double newFraction = 0.1;
+        int actions = 4;
+        String mixText = "enroll=1,exam=2,results=2";
+        long think = 0;
+        long seed = 1;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--connect": connect = value; break;
+                case "--sessions": sessions = Integer.parseInt(value); break;
+                case "--rate": rate = Double.parseDouble(value); break;
+                case "--accounts": accounts = Integer.parseInt(value); break;
+                case "--new": newFraction = Double.parseDouble(value); break;
+                case "--actions": actions = Integer.parseInt(value); break;
+                case "--mix": mixText = value; break;
+                case "--think": think = Long.parseLong(value); break;
+                case "--seed": seed = Long.parseLong(value); break;
+                default:
+                    System.out.println("Unknown option " + args[i]);
+                    return;
+            }
+        }
+        int[] mix = new int[3];
+        for (String part : mixText.split(",")) {
+            String[] weight = part.split("=");
+            int action = Arrays.asList(ACTIONS).indexOf(weight[0].trim());
+            if (weight.length != 2 || action < ENROLL || action > RESULTS) {
+                System.out.println("Unknown mix entry '" + part + "'. Use enroll, exam and results.");
+                return;
+            }
+            mix[action - ENROLL] = Integer.parseInt(weight[1].trim());
+        }
+
+        StudentManagementSystem system = null;
+        SessionServer server = null;
+        String host = "localhost";
+        int port;
+        if (connect == null) {
+            system = new StudentManagementSystem((Path) null);
+            String credential = Credentials.hash(PASSWORD); // One hash shared by all, so setup does not take a hash per account
+            List<Student> students = new ArrayList<>(accounts);
+            for (int i = 0; i < accounts; i++) {
+                students.add(new Student("load" + i, credential, "Load Student " + i, 20, "load" + i + "@example.com"));
+            }
+            for (int from = 0; from < accounts; from += 1000) {
+                system.registerStudents(students.subList(from, Math.min(from + 1000, accounts)));
+            }
+            server = new SessionServer(system, 0);
+            new Thread(server::serve, "session-selector").start();
+            port = server.getPort();
+        } else {
+            host = connect.substring(0, connect.lastIndexOf(':'));
+            port = Integer.parseInt(connect.substring(connect.lastIndexOf(':') + 1));
+        }
+
+        LoadGenerator generator = new LoadGenerator(host, port, accounts, newFraction, actions, mix, think);
+        System.out.printf("%nRunning %d sessions at %.1f per second against %s:%d...%n", sessions, rate, host, port);
+        long elapsed = generator.run(sessions, rate, seed);
+        generator.report(elapsed);
+
+        if (server != null) {
+            server.close();
+            system.shutdown();
+        }
+    }
+
+    // Starts the sessions at their arrival times and waits for all of them to end
+    long run(int sessions, double rate, long seed) throws InterruptedException {
+        ExecutorService clients = Executors.newCachedThreadPool();
+        CountDownLatch done = new CountDownLatch(sessions);
+        Random arrivals = new Random(seed);
+        long start = System.nanoTime();
+        long arrival = start;
+        for (int i = 0; i < sessions; i++) {
+            arrival += (long) (-Math.log(1 - arrivals.nextDouble()) / rate * 1e9);
+            long wait = arrival - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            long sessionSeed = arrivals.nextLong();
+            int number = i;
+            clients.execute(() -> {
+                try {
+                    runSession(number, new Random(sessionSeed));
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        clients.shutdown();
+        return System.nanoTime() - start;
+    }
+
+    private void runSession(int number, Random random) {
+        try (Socket socket = new Socket(host, port)) {
+            socket.setSoTimeout(REPLY_TIMEOUT_MILLIS);
+            socket.setTcpNoDelay(true);
+            Conversation conversation = new Conversation(socket);
+            conversation.expect("Enter your choice: ");
+            String username;
+            if (random.nextDouble() < newFraction) {
+                username = newPrefix + number;
+                if (!register(conversation, username, random)) {
+                    return;
+                }
+            } else {
+                username = "load" + random.nextInt(accounts);
+            }
+            if (!login(conversation, username)) {
+                return;
+            }
+            int totalWeight = mix[0] + mix[1] + mix[2];
+            for (int i = 0; i < actionsPerSession && totalWeight > 0; i++) {
+                int pick = random.nextInt(totalWeight);
+                int action = pick < mix[0] ? ENROLL : pick < mix[0] + mix[1] ? EXAM : RESULTS;
+                if (!perform(action, conversation, random)) {
+                    return;
+                }
+            }
+            long start = System.nanoTime();
+            conversation.send("5");
+            conversation.expect("Enter your choice: ");
+            latencies[LOGOUT].record(System.nanoTime() - start);
+            conversation.send("4");
+            conversation.expect("Goodbye");
+        } catch (IOException e) {
+            errors[LOGOUT].increment(); // Could not connect, or the connection dropped between actions
+        }
+    }
+
+    private boolean register(Conversation conversation, String username, Random random) {
+        long start = System.nanoTime();
+        try {
+            conversation.send("2");
+            conversation.expect("full name: ");
+            think(random);
+            conversation.send("Load Student " + username);
+            conversation.expect("age: ");
+            conversation.send(String.valueOf(18 + random.nextInt(40)));
+            conversation.expect("email address: ");
+            conversation.send(username + "@example.com");
+            conversation.expect("Choose a username: ");
+            conversation.send(username);
+            if (conversation.expect("Choose a password: ", "already taken") != 0) {
+                errors[REGISTER].increment();
+                return false;
+            }
+            conversation.send(PASSWORD);
+            boolean registered = conversation.expect("registered successfully", "taken") == 0;
+            conversation.expect("Enter your choice: ");
+            return recorded(REGISTER, start, registered);
+        } catch (IOException e) {
+            errors[REGISTER].increment();
+            return false;
+        }
+    }
+
+    private boolean login(Conversation conversation, String username) {
+        long start = System.nanoTime();
+        try {
+            conversation.send("1");
+            conversation.expect("username: ");
+            conversation.send(username);
+            conversation.expect("password: ");
+            conversation.send(PASSWORD);
+            boolean loggedIn = conversation.expect("Login successful!", "Invalid username or password", "busy") == 0;
+            conversation.expect("Enter your choice: ");
+            return recorded(LOGIN, start, loggedIn);
+        } catch (IOException e) {
+            errors[LOGIN].increment();
+            return false;
+        }
+    }
+
+    private boolean perform(int action, Conversation conversation, Random random) {
+        long start = System.nanoTime();
+        try {
+            think(random);
+            switch (action) {
+                case ENROLL:
+                    conversation.send("2");
+                    if (conversation.expect("wish to enroll in: ", "Enter your choice: ") != 0) {
+                        skipped[action].increment(); // No courses
+                        return true;
+                    }
+                    conversation.send(String.valueOf(1 + random.nextInt(Math.max(1, conversation.lastNumberedLine()))));
+                    if (conversation.expect("finish selecting subjects: ", "Enter your choice: ") == 0) {
+                        int subjects = Math.max(1, conversation.lastNumberedLine());
+                        conversation.send((1 + random.nextInt(subjects)) + " " + (1 + random.nextInt(subjects)));
+                        conversation.expect("finish selecting subjects: ");
+                        conversation.send("0");
+                        conversation.expect("Enter your choice: ");
+                    }
+                    break;
+                case EXAM:
+                    conversation.send("3");
+                    if (conversation.expect("take the exam: ", "Enter your choice: ") != 0) {
+                        skipped[action].increment(); // Not enrolled in a subject with an exam yet
+                        return true;
+                    }
+                    conversation.send(String.valueOf(1 + random.nextInt(Math.max(1, conversation.lastNumberedLine()))));
+                    while (true) {
+                        int reply = conversation.expect("Enter your answer (1-", "(yes/no): ", "Your result has been saved.");
+                        if (reply == 2) {
+                            break;
+                        } else if (reply == 1) {
+                            conversation.send("yes");
+                            continue;
+                        }
+                        String optionCount = conversation.expectText("): ");
+                        int options = LineInput.parseInt(optionCount, 0, optionCount.length());
+                        think(random);
+                        conversation.send(String.valueOf(1 + random.nextInt(Math.max(1, options))));
+                    }
+                    conversation.expect("Enter your choice: ");
+                    break;
+                default:
+                    conversation.send("4");
+                    conversation.expect("Enter your choice: ");
+                    break;
+            }
+            return recorded(action, start, true);
+        } catch (IOException e) {
+            errors[action].increment();
+            return false;
+        }
+    }
+
+    private boolean recorded(int action, long start, boolean succeeded) {
+        if (succeeded) {
+            latencies[action].record(System.nanoTime() - start);
+        } else {
+            errors[action].increment();
+        }
+        return succeeded;
+    }
+
+    private void think(Random random) {
+        if (thinkMillis > 0) {
+            LockSupport.parkNanos((long) (-Math.log(1 - random.nextDouble()) * thinkMillis * 1_000_000));
+        }
+    }
+
+    void report(long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        long totalActions = 0;
+        System.out.printf("%nElapsed: %.1f s%n", seconds);
+        System.out.printf("%-10s %9s %9s %9s %10s %10s %10s %10s %10s%n",
+                "action", "count", "errors", "skipped", "per sec", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (int i = 0; i < ACTIONS.length; i++) {
+            LatencyHistogram histogram = latencies[i];
+            totalActions += histogram.count();
+            System.out.printf("%-10s %9d %9d %9d %10.1f %10.2f %10.2f %10.2f %10.2f%n", ACTIONS[i], histogram.count(),
+                    errors[i].sum(), skipped[i].sum(), histogram.count() / seconds, histogram.percentile(0.5) / 1e6,
+                    histogram.percentile(0.99) / 1e6, histogram.percentile(0.999) / 1e6, histogram.max() / 1e6);
+        }
+        System.out.printf("Total: %d actions, %.1f per second%n", totalActions, totalActions / seconds);
+    }
+
+    // One client connection: sends lines and reads replies up to an expected piece of text
+    private static final class Conversation {
+        private final Reader in;
+        private final Writer out;
+        private final StringBuilder received = new StringBuilder();
+        private final char[] chunk = new char[4096];
+        private String lastReply = ""; // Text before the most recently expected marker
+
+        Conversation(Socket socket) throws IOException {
+            this.in = new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8);
+            this.out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+        }
+
+        void send(String line) throws IOException {
+            out.write(line);
+            out.write('\n');
+            out.flush();
+        }
+
+        // Reads until one of the markers arrives; returns its index and drops everything up to it
+        int expect(String... markers) throws IOException {
+            while (true) {
+                int found = -1;
+                int at = Integer.MAX_VALUE;
+                for (int i = 0; i < markers.length; i++) {
+                    int index = received.indexOf(markers[i]);
+                    if (index >= 0 && index < at) {
+                        found = i;
+                        at = index;
+                    }
+                }
+                if (found >= 0) {
+                    lastReply = received.substring(0, at);
+                    received.delete(0, at + markers[found].length());
+                    return found;
+                }
+                int read = in.read(chunk);
+                if (read < 0) {
+                    throw new EOFException("The server closed the connection");
+                }
+                received.append(chunk, 0, read);
+            }
+        }
+
+        // Reads until the marker and returns the text before it
+        String expectText(String marker) throws IOException {
+            expect(marker);
+            return lastReply;
+        }
+
+        // The highest "N. " list number at the start of a line in the last reply, or 0
+        int lastNumberedLine() {
+            int highest = 0;
+            for (String line : lastReply.split("\n")) {
+                int dot = line.indexOf(". ");
+                if (dot > 0) {
+                    int number = LineInput.parseInt(line, 0, dot);
+                    if (number != LineInput.NOT_A_NUMBER) {
+                        highest = Math.max(highest, number);
+                    }
+                }
+            }
+            return highest;
+        }
+    }
+}
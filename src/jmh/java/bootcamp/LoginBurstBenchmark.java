@@ -0,0 +1,98 @@
+package bootcamp;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Simulates a login storm: 63 sessions keep logging users in with their passwords (one in 20 mistypes it),
+ * while one more session keeps doing ordinary lookups. Sample-time results give the latency percentiles
+ * of both, so the storm's effect on the other session shows in its p99. Logins turned away as busy
+ * return quickly and count like any other login. Resuming sessions with tokens is measured on its own.
+ * Usage: ./gradlew jmh -Pjmh=LoginBurst
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+public class LoginBurstBenchmark {
+    @Param({"10000"})
+    int userCount;
+
+    private UserDirectory users;
+    private String[] usernames;
+    private String[] tokens;
+    private LoginService logins;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+
+        @Setup
+        public void setUp(LoginBurstBenchmark benchmark) {
+            next = (int) (Thread.currentThread().getId() * 7919 % benchmark.userCount);
+        }
+
+        int next(int count) {
+            int i = next;
+            next = i + 1 < count ? i + 1 : 0;
+            return i;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        users = new UserDirectory();
+        usernames = new String[userCount];
+        tokens = new String[userCount];
+        logins = new LoginService();
+        String credential = Credentials.hash("secret"); // One hash shared by all, so setup does not take a hash per user
+        for (int i = 0; i < userCount; i++) {
+            usernames[i] = "user" + i;
+            Student student = new Student(usernames[i], credential, "Student " + i, 20, "user" + i + "@example.com");
+            users.addUser(student);
+            tokens[i] = logins.issueToken(student); // As if each had logged in once
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        logins.close();
+    }
+
+    @Benchmark
+    @Group("storm")
+    @GroupThreads(63)
+    public LoginService.Result passwordLogin(Cursor cursor) {
+        int i = cursor.next(userCount);
+        return logins.login(users.findByUsername(usernames[i]), i % 20 == 0 ? "wrong" : "secret");
+    }
+
+    @Benchmark
+    @Group("storm")
+    @GroupThreads(1)
+    public User otherSessionLookup(Cursor cursor) {
+        return users.findByUsername(usernames[cursor.next(userCount)]);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public LoginService.Result tokenResume(Cursor cursor) {
+        return logins.resume(tokens[cursor.next(userCount)]);
+    }
+}
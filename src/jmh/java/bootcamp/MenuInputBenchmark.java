@@ -0,0 +1,126 @@
+package bootcamp;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.InputMismatchException;
+import java.util.List;
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares menu input through LineInput with the Scanner nextInt/nextLine pattern it replaced, per line of
+ * a scripted session where one line in four is not a number (run with -prof gc for the allocation per line).
+ * Then times many connections to a SessionServer at once, each running a short menu script.
+ * Usage: ./gradlew jmh -Pjmh=MenuInput
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class MenuInputBenchmark {
+    private static final String[] LINES = {"1", "12", "x", "  7 ", "3", "yes", "42", "-5"};
+    private static final int SCRIPT_LINES = 100_000;
+
+    @Param({"1000"})
+    int connections;
+
+    private String text;
+    private StudentManagementSystem system;
+    private SessionServer server;
+    private Thread serverThread;
+
+    @Setup
+    public void setUp() throws IOException {
+        StringBuilder script = new StringBuilder();
+        for (int i = 0; i < SCRIPT_LINES; i++) {
+            script.append(LINES[i % LINES.length]).append('\n');
+        }
+        text = script.toString();
+        system = new StudentManagementSystem(new Catalog(), new UserDirectory());
+        server = new SessionServer(system, 0);
+        serverThread = new Thread(server::serve, "session-selector");
+        serverThread.start();
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        server.close();
+        serverThread.join();
+        system.shutdown();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @OperationsPerInvocation(SCRIPT_LINES)
+    public long scannerLines() {
+        Scanner scanner = new Scanner(text);
+        long sum = 0;
+        for (int i = 0; i < SCRIPT_LINES; i++) {
+            try {
+                sum += scanner.nextInt();
+                scanner.nextLine();
+            } catch (InputMismatchException e) {
+                scanner.nextLine();
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @OperationsPerInvocation(SCRIPT_LINES)
+    public long lineInputLines() {
+        LineInput input = LineInput.of(text);
+        long sum = 0;
+        for (int i = 0; i < SCRIPT_LINES; i++) {
+            int number = input.readInt();
+            if (number != LineInput.NOT_A_NUMBER) {
+                sum += number;
+            }
+        }
+        return sum;
+    }
+
+    // Opens every connection, sends each the script and reads every reply to the end of the session
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int serveConnections() throws IOException {
+        List<SocketChannel> clients = new ArrayList<>(connections);
+        for (int i = 0; i < connections; i++) {
+            clients.add(SocketChannel.open(new InetSocketAddress("localhost", server.getPort())));
+        }
+        byte[] menuScript = "x\n9\n4\n".getBytes(StandardCharsets.UTF_8);
+        for (SocketChannel client : clients) {
+            client.write(ByteBuffer.wrap(menuScript));
+        }
+        int received = 0;
+        ByteBuffer reply = ByteBuffer.allocate(4096);
+        for (SocketChannel client : clients) {
+            for (int read; (read = client.read(reply.clear())) > 0; ) {
+                received += read;
+            }
+            client.close();
+        }
+        return received;
+    }
+}
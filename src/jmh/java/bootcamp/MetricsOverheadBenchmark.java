@@ -0,0 +1,48 @@
+package bootcamp;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures what recording an action costs, from one thread and from every thread at once.
+ * Run with -prof gc to confirm recording allocates nothing.
+ * Usage: ./gradlew jmh -Pjmh=MetricsOverhead
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MetricsOverheadBenchmark {
+    private static final Metrics.Operation[] OPERATIONS = Metrics.Operation.values();
+
+    private final Metrics metrics = new Metrics();
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Benchmark
+    public void record(Cursor cursor) {
+        int i = cursor.next;
+        cursor.next = i + 1 < OPERATIONS.length ? i + 1 : 0;
+        metrics.record(OPERATIONS[i], System.nanoTime(), 0);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void recordFromEveryThread(Cursor cursor) {
+        record(cursor);
+    }
+}
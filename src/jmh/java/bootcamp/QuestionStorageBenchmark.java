@@ -0,0 +1,164 @@
+package bootcamp;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares Question, with its shared option dictionary and pre-encoded lines, against the earlier
+ * shape: a String text and a List of String options per question, displayed with one println per line.
+ * The bank mixes True/False questions, a pool of common distractors and options unique to one question,
+ * and every text is a fresh String, as when read from an import file.
+ * Run with -prof gc for the allocation per displayed question.
+ * Usage: ./gradlew jmh -Pjmh=QuestionStorage
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class QuestionStorageBenchmark {
+    private static final String[] COMMON = {"None of the above", "All of the above", "Both A and B", "Neither A nor B",
+            "It depends", "Compilation error", "Runtime exception", "null", "0", "1", "true", "false"};
+
+    @Param({"200000"})
+    int questionCount;
+
+    private List<String> texts;
+    private List<List<String>> optionLists;
+    private List<LegacyQuestion> legacy;
+    private List<Question> current;
+    private PrintStream out;
+    private int generation;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        generateTexts(0);
+        legacy = buildLegacy();
+        current = buildCurrent();
+        out = new PrintStream(OutputStream.nullOutputStream(), false, StandardCharsets.UTF_8);
+    }
+
+    // Every build gets texts it has not seen, so options unique to a question are not in the dictionary yet
+    @Setup(Level.Iteration)
+    public void nextTexts() {
+        generateTexts(++generation);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<LegacyQuestion> stringsFootprint(HeapFootprint footprint) {
+        footprint.start();
+        return footprint.stop(buildLegacy(), questionCount);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Question> dictionaryFootprint(HeapFootprint footprint) {
+        footprint.start();
+        return footprint.stop(buildCurrent(), questionCount);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void stringsDisplay() {
+        legacy.get(nextQuestion()).displayQuestion(out);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void dictionaryDisplay() {
+        current.get(nextQuestion()).displayQuestion(out);
+    }
+
+    private int nextQuestion() {
+        int q = next;
+        next = q + 1 < questionCount ? q + 1 : 0;
+        return q;
+    }
+
+    private void generateTexts(int generation) {
+        Random random = new Random(5);
+        texts = new ArrayList<>(questionCount);
+        optionLists = new ArrayList<>(questionCount);
+        for (int q = 0; q < questionCount; q++) {
+            int number = generation * questionCount + q;
+            texts.add("Question " + number + ": which statement about topic " + (q % 997) + " is correct?");
+            List<String> options = new ArrayList<>(4);
+            if (q % 3 == 0) {
+                options.add("True");
+                options.add("False");
+            } else {
+                options.add("Statement " + number + " about the topic");
+                options.add("Another statement " + number);
+                options.add(COMMON[random.nextInt(COMMON.length)]);
+                options.add(COMMON[random.nextInt(COMMON.length)]);
+            }
+            optionLists.add(options);
+        }
+    }
+
+    private List<LegacyQuestion> buildLegacy() {
+        List<LegacyQuestion> questions = new ArrayList<>(questionCount);
+        for (int q = 0; q < questionCount; q++) {
+            List<String> options = new ArrayList<>();
+            for (String option : optionLists.get(q)) {
+                options.add(new String(option.toCharArray())); // Each parsed row brings its own copy
+            }
+            questions.add(new LegacyQuestion(new String(texts.get(q).toCharArray()), options, 0));
+        }
+        return questions;
+    }
+
+    private List<Question> buildCurrent() {
+        List<Question> questions = new ArrayList<>(questionCount);
+        for (int q = 0; q < questionCount; q++) {
+            List<String> options = new ArrayList<>();
+            for (String option : optionLists.get(q)) {
+                options.add(new String(option.toCharArray()));
+            }
+            questions.add(new Question(new String(texts.get(q).toCharArray()), options, 0));
+        }
+        return questions;
+    }
+
+    // The earlier Question shape and display
+    static class LegacyQuestion {
+        private final String questionText;
+        private final List<String> options;
+        private final int correctOptionIndex;
+
+        LegacyQuestion(String questionText, List<String> options, int correctOptionIndex) {
+            this.questionText = questionText;
+            this.options = options;
+            this.correctOptionIndex = correctOptionIndex;
+        }
+
+        void displayQuestion(PrintStream out) {
+            out.println(questionText);
+            for (int i = 0; i < options.size(); i++) {
+                out.println((i + 1) + ". " + options.get(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package bootcamp;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares cold startup from a memory-mapped snapshot with building the same data through constructors,
+ * the way the default data is seeded, in time and heap per student. Also times writing the snapshot and
+ * the first access to 1% of the students of a freshly loaded one.
+ * Usage: ./gradlew jmh -Pjmh=SnapshotStartup
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class SnapshotStartupBenchmark {
+    @Param({"1000000"})
+    int studentCount;
+
+    private Path dataDirectory;
+    private Catalog catalog;
+    private UserDirectory users;
+
+    @Setup
+    public void setUp() throws IOException {
+        dataDirectory = Files.createTempDirectory("sms-startup-benchmark");
+        catalog = new Catalog();
+        users = new UserDirectory();
+        Datasets.build(catalog, users, studentCount);
+        new DataStore(dataDirectory).writeSnapshot(catalog, users);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(new DataStore(dataDirectory).getSnapshotFile());
+        Files.deleteIfExists(dataDirectory);
+    }
+
+    // A snapshot that has just been loaded, so no student has been restored yet
+    @State(Scope.Thread)
+    public static class Loaded {
+        UserDirectory users;
+
+        @Setup(Level.Iteration)
+        public void load(SnapshotStartupBenchmark benchmark) {
+            users = new UserDirectory();
+            new DataStore(benchmark.dataDirectory).load(new Catalog(), users);
+        }
+    }
+
+    @Benchmark
+    public UserDirectory constructorSeeded() {
+        UserDirectory seeded = new UserDirectory();
+        Datasets.build(new Catalog(), seeded, studentCount);
+        return seeded;
+    }
+
+    @Benchmark
+    public UserDirectory mappedSnapshot() {
+        UserDirectory restored = new UserDirectory();
+        new DataStore(dataDirectory).load(new Catalog(), restored);
+        return restored;
+    }
+
+    // The footprints run apart from the startups above, so their full collections are not timed as startup
+    @Benchmark
+    public UserDirectory constructorSeededFootprint(HeapFootprint footprint) {
+        footprint.start();
+        return footprint.stop(constructorSeeded(), studentCount);
+    }
+
+    @Benchmark
+    public UserDirectory mappedSnapshotFootprint(HeapFootprint footprint) {
+        footprint.start();
+        return footprint.stop(mappedSnapshot(), studentCount);
+    }
+
+    @Benchmark
+    public void writeSnapshot() {
+        new DataStore(dataDirectory).writeSnapshot(catalog, users);
+    }
+
+    @Benchmark
+    public long firstAccessOfOnePercent(Loaded loaded) {
+        int index = 0;
+        long scores = 0;
+        for (Student student : loaded.users.getStudents()) {
+            if (index++ % 100 == 0) {
+                scores += student.getExamScores().size();
+            }
+        }
+        return scores;
+    }
+}
@@ -0,0 +1,119 @@
+package bootcamp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares student searches through StudentIndex, returning the first page, with checking every student,
+ * on a generated cohort. The query parameter picks one of the searches below; fillIndexes times the first
+ * search on a fresh index, which builds the indexes.
+ * Usage: ./gradlew jmh -Pjmh=StudentQuery
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class StudentQueryBenchmark {
+    private static final String[] FIRST_NAMES = {"Alice", "Bob", "Charlie", "Dana", "Eve", "Frank", "Grace", "Heidi", "Ivan", "Judy"};
+    private static final String[] LAST_NAMES = {"Smith", "Johnson", "Brown", "Taylor", "Lee", "Walker", "Young", "King", "Scott", "Green"};
+
+    @Param({"500000"})
+    int studentCount;
+
+    @Param({"0", "1", "2", "3", "4", "5"})
+    int query;
+
+    private Catalog catalog;
+    private UserDirectory users;
+    private StudentIndex index;
+    private StudentQuery search;
+
+    @Setup
+    public void setUp() {
+        catalog = new Catalog();
+        List<Subject> subjects = new ArrayList<>();
+        for (int c = 0; c < 5; c++) {
+            Course course = new Course("Query Course " + c);
+            catalog.addCourse(course);
+            for (int s = 0; s < 4; s++) {
+                Subject subject = new Subject(course.getCourseName() + " Subject " + s);
+                catalog.addSubject(course, subject);
+                List<Question> questions = new ArrayList<>();
+                for (int q = 0; q < 5; q++) {
+                    questions.add(new Question("Question " + q, Arrays.asList("right", "wrong"), 0));
+                }
+                catalog.addExam(new Exam(subject.getSubjectNumber(), subject.getSubjectName(), questions));
+                subjects.add(subject);
+            }
+        }
+        users = new UserDirectory();
+        Random random = new Random(42);
+        for (int i = 0; i < studentCount; i++) {
+            String username = "query" + i;
+            String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            users.addUser(new Student(username, "pw", name, 17 + random.nextInt(30), username + "@example.com"));
+        }
+        for (Student student : users.getStudents()) {
+            for (int e = 0; e < 2; e++) {
+                Subject subject = subjects.get(random.nextInt(subjects.size()));
+                student.enrollSubject(subject);
+                if (random.nextBoolean()) {
+                    student.setExamScore(subject.getSubjectNumber(), random.nextInt(6));
+                }
+            }
+        }
+
+        int examSubject = subjects.get(3).getSubjectNumber();
+        List<StudentQuery> queries = Arrays.asList(
+                new StudentQuery().ageBetween(18, 21).enrolledIn(examSubject).examStatus(StudentQuery.ExamStatus.FAILED),
+                new StudentQuery().nameStartsWith("gra"),
+                new StudentQuery().nameStartsWith("Eve Sc").ageBetween(30, 40),
+                new StudentQuery().email("QUERY4242@example.com"),
+                new StudentQuery().examStatus(StudentQuery.ExamStatus.PASSED).ageBetween(25, 25),
+                new StudentQuery().enrolledIn(subjects.get(7).getSubjectNumber()));
+        search = queries.get(query);
+        index = new StudentIndex(users, catalog, new EnrollmentTable(users));
+        index.query(search);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Student> scan() {
+        List<Student> matches = new ArrayList<>();
+        for (Student student : users.getStudents()) {
+            if (search.matches(student, catalog)) {
+                matches.add(student);
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Student> indexFirstPage() {
+        return index.query(search).page(0, 100);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int fillIndexes() {
+        return new StudentIndex(users, catalog, new EnrollmentTable(users)).query(search).count();
+    }
+}
@@ -0,0 +1,60 @@
+package bootcamp;
+
+import java.io.PrintStream;
+
+class Admin extends User {
+  
+    public Admin(String username, String credential) {
+        super(username, credential, "Admin"); // Admin's name is set to "Admin" by default
+    }
+
+ 
+    @Override
+    public void showMenu(Session session, StudentManagementSystem system) {
+        LineInput input = session.getInput();
+        PrintStream out = session.getOut();
+        while (true) {
+            out.println("\n--- Admin Menu ---");
+            out.println("1. Add Course");
+            out.println("2. Manage Course (Add/Remove Subjects)");
+            out.println("3. View All Registered Students");
+            out.println("4. View Student Exam Results");
+            out.println("5. View Score Statistics");
+            out.println("6. Search Students");
+            out.println("7. Logout");
+            out.print("Enter your choice: ");
+
+            int choice = input.readInt();
+            if (choice == LineInput.NOT_A_NUMBER) {
+                out.println("Invalid input. Please enter a number (1-7).");
+                continue; // Continue to the next iteration of the loop for valid input
+            }
+
+            switch (choice) {
+                case 1:
+                    system.addCourse(session);
+                    break;
+                case 2:
+                    system.manageCourseSubjects(session);
+                    break;
+                case 3:
+                    system.viewAllRegisteredStudents(session);
+                    break;
+                case 4:
+                    system.viewStudentExamResults(session);
+                    break;
+                case 5:
+                    system.viewScoreStatistics(session);
+                    break;
+                case 6:
+                    system.searchStudents(session);
+                    break;
+                case 7:
+                    out.println("Admin logged out successfully.");
+                    return; // Exit admin menu
+                default:
+                    out.println("Invalid choice. Please try again.");
+            }
+        }
+    }
+}
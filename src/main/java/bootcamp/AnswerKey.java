@@ -0,0 +1,89 @@
+package bootcamp;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An exam's correct answers packed as a bitset for batch grading.
+ * Each question gets a fixed group of bits (the option count rounded up to a power of two, so a
+ * group never spans two longs) with only the correct option's bit set. Answer sheets use the same
+ * layout with the chosen option's bit set, so a sheet's score is the number of bits it shares with the key.
+ */
+class AnswerKey {
+    private final int questionCount;
+    private final int bitsPerQuestion;
+    private final long[] bits;
+
+    AnswerKey(List<Question> questions) {
+        int maxOptions = 1;
+        for (Question question : questions) {
+            maxOptions = Math.max(maxOptions, question.getOptionCount());
+        }
+        if (maxOptions > Long.SIZE) {
+            throw new IllegalArgumentException("Questions with more than " + Long.SIZE + " options cannot be batch graded.");
+        }
+        this.questionCount = questions.size();
+        this.bitsPerQuestion = Integer.highestOneBit(maxOptions * 2 - 1); // Round up to a power of two
+        this.bits = new long[wordsPerSheet()];
+        for (int i = 0; i < questionCount; i++) {
+            setBit(bits, 0, i, questions.get(i).getCorrectOptionIndex());
+        }
+    }
+
+    public int getQuestionCount() {
+        return questionCount;
+    }
+
+    // Number of longs one packed answer sheet takes
+    public int wordsPerSheet() {
+        return (int) (((long) questionCount * bitsPerQuestion + Long.SIZE - 1) / Long.SIZE);
+    }
+
+    /**
+     * Packs one answer sheet into sheets[offset .. offset + wordsPerSheet()).
+     * @param answers Chosen option per question, 0-indexed; -1 or any out-of-range value counts as unanswered.
+     */
+    public void pack(int[] answers, long[] sheets, int offset) {
+        Arrays.fill(sheets, offset, offset + wordsPerSheet(), 0L);
+        int answered = Math.min(answers.length, questionCount);
+        for (int i = 0; i < answered; i++) {
+            if (answers[i] >= 0 && answers[i] < bitsPerQuestion) {
+                setBit(sheets, offset, i, answers[i]);
+            }
+        }
+    }
+
+    /**
+     * Reads back the answers of the packed sheet starting at sheets[offset].
+     * @param answers Receives the chosen option per question, 0-indexed, or -1 if unanswered.
+     */
+    public void unpack(long[] sheets, int offset, int[] answers) {
+        for (int i = 0; i < questionCount && i < answers.length; i++) {
+            answers[i] = -1;
+            for (int option = 0; option < bitsPerQuestion; option++) {
+                long bit = (long) i * bitsPerQuestion + option;
+                if ((sheets[offset + (int) (bit >>> 6)] & (1L << bit)) != 0) {
+                    answers[i] = option;
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Grades the packed sheet starting at sheets[offset].
+     * @return The number of correct answers.
+     */
+    public int grade(long[] sheets, int offset) {
+        int score = 0;
+        for (int w = 0; w < bits.length; w++) {
+            score += Long.bitCount(bits[w] & sheets[offset + w]);
+        }
+        return score;
+    }
+
+    private void setBit(long[] words, int offset, int question, int option) {
+        long bit = (long) question * bitsPerQuestion + option;
+        words[offset + (int) (bit >>> 6)] |= 1L << bit;
+    }
+}
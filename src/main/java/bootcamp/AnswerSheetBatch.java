@@ -0,0 +1,94 @@
+package bootcamp;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Answer sheets for one exam, collected for batch grading (for example scanned paper sheets).
+ * Sheets are packed into one growing long array, so holding and grading them allocates nothing per sheet.
+ */
+class AnswerSheetBatch {
+    private final Exam exam;
+    private final AnswerKey key;
+    private final int wordsPerSheet;
+    private String[] studentIds = new String[64];
+    private long[] sheets;
+    private int size;
+
+    public AnswerSheetBatch(Exam exam) {
+        this.exam = exam;
+        this.key = exam.getAnswerKey();
+        this.wordsPerSheet = key.wordsPerSheet();
+        this.sheets = new long[studentIds.length * wordsPerSheet];
+    }
+
+    /**
+     * Adds one student's answers.
+     * @param answers Chosen option per question, 0-indexed; -1 marks an unanswered question.
+     */
+    public void add(String studentId, int[] answers) {
+        if (size == studentIds.length) {
+            studentIds = Arrays.copyOf(studentIds, size * 2);
+            sheets = Arrays.copyOf(sheets, size * 2 * wordsPerSheet);
+        }
+        key.pack(answers, sheets, size * wordsPerSheet);
+        studentIds[size++] = studentId;
+    }
+
+    public Exam getExam() {
+        return exam;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String getStudentId(int index) {
+        return studentIds[index];
+    }
+
+    // Copies the answers of one sheet into the given array, -1 for unanswered questions
+    public void getAnswers(int index, int[] answers) {
+        key.unpack(sheets, index * wordsPerSheet, answers);
+    }
+
+    /**
+     * Grades every sheet in parallel on the common fork-join pool.
+     * @return Scores in the order the sheets were added.
+     */
+    public int[] grade() {
+        int[] scores = new int[size];
+        if (size > 0) {
+            ForkJoinPool.commonPool().invoke(new GradeRange(scores, 0, size));
+        }
+        return scores;
+    }
+
+    // Splits the sheets in halves until a range is small enough to grade on one thread
+    private class GradeRange extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private static final int SHEETS_PER_TASK = 4096;
+        private final int[] scores;
+        private final int from;
+        private final int to;
+
+        GradeRange(int[] scores, int from, int to) {
+            this.scores = scores;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SHEETS_PER_TASK) {
+                for (int i = from; i < to; i++) {
+                    scores[i] = key.grade(sheets, i * wordsPerSheet);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new GradeRange(scores, from, middle), new GradeRange(scores, middle, to));
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package bootcamp;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Append-only history of every exam attempt: student, subject, exam, the answer chosen for each
+ * question, score and time, with the size of the question bank the paper was drawn from and whether
+ * the answers came from a batch-graded answer sheet. Rows are stored column by column in primitive arrays, split into
+ * chunks so the log grows without copying, and scans read the columns directly without creating
+ * an object per attempt. IDs are kept as the number after their prefix (STU1000 is stored as 1000).
+ * Appends are serialized; scans run concurrently with them and see every attempt appended before the scan began.
+ * With a file, each attempt is also appended to it and the log is read back on startup.
+ */
+class AttemptLog {
+    private static final int CHUNK_BITS = 16;
+    private static final int CHUNK_ROWS = 1 << CHUNK_BITS;
+    private static final int UNANSWERED = -1;
+    private static final byte PAPER = 0; // Answers to a paper drawn for the attempt
+    private static final byte ANSWER_SHEET = 1; // Answers to every question of the bank in order, graded in a batch
+
+    /** Receives the row number of each attempt a scan matches; read the row through the log's getters. */
+    public interface AttemptVisitor {
+        void visit(AttemptLog log, int row);
+    }
+
+    private static final class Chunk {
+        final int[] students = new int[CHUNK_ROWS];
+        final int[] subjects = new int[CHUNK_ROWS];
+        final int[] exams = new int[CHUNK_ROWS];
+        final int[] scores = new int[CHUNK_ROWS];
+        final int[] attemptNumbers = new int[CHUNK_ROWS]; // Earlier attempts by the same student at the same exam
+        final int[] bankSizes = new int[CHUNK_ROWS]; // Questions in the exam at the time
+        final byte[] kinds = new byte[CHUNK_ROWS]; // PAPER or ANSWER_SHEET
+        final long[] times = new long[CHUNK_ROWS];
+        final int[] answerEnds = new int[CHUNK_ROWS]; // Row r's answers are answers[end of r-1 .. answerEnds[r])
+        volatile byte[] answers = new byte[CHUNK_ROWS * 8]; // Chosen option per question, -1 when unanswered
+        long minTime = Long.MAX_VALUE;
+        long maxTime = Long.MIN_VALUE;
+
+        int answerStart(int index) {
+            return index == 0 ? 0 : answerEnds[index - 1];
+        }
+    }
+
+    private volatile Chunk[] chunks = new Chunk[0];
+    private volatile int size; // Rows below this are complete and visible to scans
+    private final Map<Integer, IntIntMap> attemptCounts = new ConcurrentHashMap<>(); // exam -> student -> attempts
+    private final Path file; // Null to keep the history in memory only
+    private DataOutputStream out;
+
+    public AttemptLog() {
+        this.file = null;
+    }
+
+    /**
+     * Opens the history kept in the given file, reading back every complete attempt in it.
+     */
+    public AttemptLog(Path file) {
+        this.file = file;
+        try {
+            if (Files.exists(file)) {
+                readFile();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read attempt history " + file, e);
+        }
+    }
+
+    /**
+     * Appends an attempt.
+     * @param answers Chosen option per question, 0-indexed; -1 for an unanswered question.
+     */
+    public void append(Student student, Exam exam, int[] answers, int score) {
+        append(student.getStudentNumber(), exam.getSubjectNumber(), exam.getExamNumber(),
+                answers, score, System.currentTimeMillis(), exam.getQuestions().size(), PAPER, true);
+    }
+
+    /**
+     * Appends an attempt made on an answer sheet, which answers every question of the exam in bank order.
+     * It counts as an attempt, but its paper is the bank itself rather than one drawn for the attempt,
+     * so its score is out of the bank size.
+     */
+    public void appendAnswerSheet(Student student, Exam exam, int[] answers, int score) {
+        append(student.getStudentNumber(), exam.getSubjectNumber(), exam.getExamNumber(),
+                answers, score, System.currentTimeMillis(), exam.getQuestions().size(), ANSWER_SHEET, true);
+    }
+
+    private synchronized void append(int student, int subject, int exam, int[] answers, int score, long time,
+                                     int bankSize, byte kind, boolean persist) {
+        int row = size;
+        int index = row & (CHUNK_ROWS - 1);
+        if (index == 0) {
+            Chunk[] grown = Arrays.copyOf(chunks, chunks.length + 1);
+            grown[grown.length - 1] = new Chunk();
+            chunks = grown;
+        }
+        Chunk chunk = chunks[row >>> CHUNK_BITS];
+        chunk.students[index] = student;
+        chunk.subjects[index] = subject;
+        chunk.exams[index] = exam;
+        chunk.scores[index] = score;
+        IntIntMap counts = attemptCounts.computeIfAbsent(exam, id -> new IntIntMap());
+        int attempt = Math.max(counts.get(student), 0); // MISSING is negative
+        chunk.attemptNumbers[index] = attempt;
+        counts.put(student, attempt + 1);
+        chunk.times[index] = time;
+        chunk.bankSizes[index] = bankSize;
+        chunk.kinds[index] = kind;
+        int start = chunk.answerStart(index);
+        byte[] answerBytes = chunk.answers;
+        if (start + answers.length > answerBytes.length) {
+            answerBytes = Arrays.copyOf(answerBytes, Math.max(answerBytes.length * 2, start + answers.length));
+        }
+        for (int i = 0; i < answers.length; i++) {
+            answerBytes[start + i] = (byte) (answers[i] >= 0 && answers[i] <= Byte.MAX_VALUE ? answers[i] : UNANSWERED);
+        }
+        chunk.answers = answerBytes;
+        chunk.answerEnds[index] = start + answers.length;
+        chunk.minTime = Math.min(chunk.minTime, time);
+        chunk.maxTime = Math.max(chunk.maxTime, time);
+        if (persist && file != null) {
+            writeRow(chunk, index);
+        }
+        size = row + 1; // Publishes the row to scans
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Number of attempts the student has made at the exam, which is also the number of their next attempt
+    public int countAttempts(Student student, Exam exam) {
+        IntIntMap counts = attemptCounts.get(exam.getExamNumber());
+        return counts != null ? Math.max(counts.get(student.getStudentNumber()), 0) : 0;
+    }
+
+    // --- Column reads by row number ---
+
+    public int getStudentNumber(int row) {
+        return chunks[row >>> CHUNK_BITS].students[row & (CHUNK_ROWS - 1)];
+    }
+
+    public int getSubjectNumber(int row) {
+        return chunks[row >>> CHUNK_BITS].subjects[row & (CHUNK_ROWS - 1)];
+    }
+
+    public int getExamNumber(int row) {
+        return chunks[row >>> CHUNK_BITS].exams[row & (CHUNK_ROWS - 1)];
+    }
+
+    public int getScore(int row) {
+        return chunks[row >>> CHUNK_BITS].scores[row & (CHUNK_ROWS - 1)];
+    }
+
+    // 0 for a student's first attempt at the exam, 1 for the second, ...; with the IDs this regenerates the paper
+    public int getAttemptNumber(int row) {
+        return chunks[row >>> CHUNK_BITS].attemptNumbers[row & (CHUNK_ROWS - 1)];
+    }
+
+
+    public long getTime(int row) {
+        return chunks[row >>> CHUNK_BITS].times[row & (CHUNK_ROWS - 1)];
+    }
+
+    // Questions in the exam's bank when the attempt was made, for Exam.drawPaper
+    public int getBankSize(int row) {
+        return chunks[row >>> CHUNK_BITS].bankSizes[row & (CHUNK_ROWS - 1)];
+    }
+
+    // Whether the answers follow the bank's order (an answer sheet) rather than a drawn paper's
+    public boolean isAnswerSheet(int row) {
+        return chunks[row >>> CHUNK_BITS].kinds[row & (CHUNK_ROWS - 1)] == ANSWER_SHEET;
+    }
+
+    public int getAnswerCount(int row) {
+        Chunk chunk = chunks[row >>> CHUNK_BITS];
+        int index = row & (CHUNK_ROWS - 1);
+        return chunk.answerEnds[index] - chunk.answerStart(index);
+    }
+
+    // The option chosen for a question, 0-indexed, or -1 if it was not answered
+    public int getAnswer(int row, int question) {
+        Chunk chunk = chunks[row >>> CHUNK_BITS];
+        return chunk.answers[chunk.answerStart(row & (CHUNK_ROWS - 1)) + question];
+    }
+
+    /**
+     * Visits every attempt for a subject made in [fromMillis, toMillis), oldest first.
+     * Chunks entirely outside the time range are skipped without reading their rows.
+     * @return The number of attempts visited.
+     */
+    public int scan(int subject, long fromMillis, long toMillis, AttemptVisitor visitor) {
+        int end = size;
+        Chunk[] current = chunks;
+        int visited = 0;
+        for (int c = 0; c * CHUNK_ROWS < end; c++) {
+            Chunk chunk = current[c];
+            int rows = Math.min(CHUNK_ROWS, end - c * CHUNK_ROWS);
+            if (chunk.maxTime < fromMillis || chunk.minTime >= toMillis) {
+                continue; // Times are only widened under the append lock, so a skipped chunk has no match below 'end'
+            }
+            int[] subjects = chunk.subjects;
+            long[] times = chunk.times;
+            for (int i = 0; i < rows; i++) {
+                if (subjects[i] == subject && times[i] >= fromMillis && times[i] < toMillis) {
+                    visitor.visit(this, (c << CHUNK_BITS) + i);
+                    visited++;
+                }
+            }
+        }
+        return visited;
+    }
+
+    // --- File: one record per attempt, [length][student][subject][exam][score][time][answer count][answers][bank size][kind] ---
+
+    private void writeRow(Chunk chunk, int index) {
+        try {
+            if (out == null) {
+                out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file.toFile(), true), 64 * 1024));
+            }
+            int start = chunk.answerStart(index);
+            int count = chunk.answerEnds[index] - start;
+            out.writeInt(31 + count);
+            out.writeInt(chunk.students[index]);
+            out.writeInt(chunk.subjects[index]);
+            out.writeInt(chunk.exams[index]);
+            out.writeInt(chunk.scores[index]);
+            out.writeLong(chunk.times[index]);
+            out.writeShort(count);
+            out.write(chunk.answers, start, count);
+            out.writeInt(chunk.bankSizes[index]);
+            out.writeByte(chunk.kinds[index]);
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void readFile() throws IOException {
+        long validLength = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 64 * 1024))) {
+            while (true) {
+                try {
+                    int length = in.readInt();
+                    int student = in.readInt();
+                    int subject = in.readInt();
+                    int exam = in.readInt();
+                    int score = in.readInt();
+                    long time = in.readLong();
+                    int[] answers = new int[in.readUnsignedShort()];
+                    for (int i = 0; i < answers.length; i++) {
+                        answers[i] = in.readByte();
+                    }
+                    int bankSize = in.readInt();
+                    byte kind = in.readByte();
+                    if (length != 31 + answers.length) {
+                        break; // Corrupt record, keep what came before it
+                    }
+                    append(student, subject, exam, answers, score, time, bankSize, kind, false);
+                    validLength += 4 + length;
+                } catch (EOFException e) {
+                    break;
+                }
+            }
+        }
+        if (validLength < Files.size(file)) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(validLength); // Drop a torn last record so new ones follow a complete one
+            }
+        }
+    }
+
+    public synchronized void close() {
+        try {
+            if (out != null) {
+                out.close();
+                out = null;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,538 @@
+package bootcamp;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Streams students, courses, subjects or exam questions from a CSV or JSONL file into the system.
+ * Rows are validated like the console prompts validate them, then inserted in batches, so memory use
+ * stays bounded by the batch size whatever the file size. Rejected rows are reported with their line numbers.
+ *
+ * CSV files start with a header naming the columns; JSONL files hold one flat JSON object per line.
+ * Columns (or keys) per kind, matched ignoring case:
+ *   students:  name, age, email, username, password
+ *   courses:   name
+ *   subjects:  course (ID or name), name
+ *   questions: subject (ID), question, correct (1-based option number), option1 .. optionN
+ *              (in JSONL, options may also be given as an array named "options")
+ */
+class BulkImporter {
+    private static final int BATCH_SIZE = 1000;
+
+    private final StudentManagementSystem system;
+    private final Catalog catalog;
+    private final UserDirectory users;
+    private final PrintStream out;
+
+    BulkImporter(StudentManagementSystem system, Catalog catalog, UserDirectory users, PrintStream out) {
+        this.system = system;
+        this.catalog = catalog;
+        this.users = users;
+        this.out = out;
+    }
+
+    /**
+     * Imports one file and prints a report of rejected rows and throughput.
+     * @param kind One of students, courses, subjects or questions.
+     * @return The number of rows imported.
+     */
+    public int importFile(String kind, Path file) {
+        Importer importer;
+        switch (kind.toLowerCase(Locale.ROOT)) {
+            case "students":
+                importer = new StudentImporter();
+                break;
+            case "courses":
+                importer = new CourseImporter();
+                break;
+            case "subjects":
+                importer = new SubjectImporter();
+                break;
+            case "questions":
+                importer = new QuestionImporter();
+                break;
+            default:
+                out.println("Unknown import kind '" + kind + "'. Use students, courses, subjects or questions.");
+                return 0;
+        }
+
+        out.println("Importing " + kind + " from " + file + "...");
+        long start = System.nanoTime();
+        int rows = 0;
+        int imported = 0;
+        try (RowReader reader = file.toString().toLowerCase(Locale.ROOT).endsWith(".jsonl")
+                ? new JsonLinesReader(Files.newBufferedReader(file, StandardCharsets.UTF_8))
+                : new CsvReader(Files.newBufferedReader(file, StandardCharsets.UTF_8))) {
+            while (true) {
+                Map<String, String> row;
+                try {
+                    row = reader.next();
+                } catch (IllegalArgumentException e) {
+                    rows++;
+                    reject(reader.getLineNumber(), e.getMessage());
+                    continue;
+                }
+                if (row == null) {
+                    break;
+                }
+                rows++;
+                try {
+                    importer.add(reader.getLineNumber(), row);
+                } catch (IllegalArgumentException e) {
+                    reject(reader.getLineNumber(), e.getMessage());
+                }
+                if (importer.pending() >= BATCH_SIZE) {
+                    imported += importer.flush();
+                }
+            }
+            imported += importer.flush();
+        } catch (IOException e) {
+            out.println("Import stopped: cannot read " + file + " (" + e.getMessage() + ").");
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        out.printf("Imported %d of %d %s rows (%d rejected) in %.2f s, %.0f rows/s.%n",
+                imported, rows, kind, rows - imported, seconds, rows / Math.max(seconds, 1e-9));
+        return imported;
+    }
+
+    private void reject(int lineNumber, String reason) {
+        out.println("  Line " + lineNumber + ": " + reason);
+    }
+
+    private static String required(Map<String, String> row, String column) {
+        String value = row.get(column);
+        if (value == null || value.trim().isEmpty()) {
+            throw new IllegalArgumentException("Missing " + column + ".");
+        }
+        return value.trim();
+    }
+
+    private static int requiredInt(Map<String, String> row, String column) {
+        String value = required(row, column);
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("The " + column + " '" + value + "' is not a whole number.");
+        }
+    }
+
+    // Validates rows into a pending batch and inserts the batch on flush
+    private abstract static class Importer {
+        protected final List<Integer> lineNumbers = new ArrayList<>();
+
+        /** Validates one row and adds it to the batch; throws IllegalArgumentException to reject it. */
+        abstract void add(int lineNumber, Map<String, String> row);
+
+        /** Inserts the pending batch. @return The number of rows inserted. */
+        abstract int flush();
+
+        int pending() {
+            return lineNumbers.size();
+        }
+    }
+
+    private class StudentImporter extends Importer {
+        private final List<Student> students = new ArrayList<>();
+
+        @Override
+        void add(int lineNumber, Map<String, String> row) {
+            String name = required(row, "name");
+            int age = requiredInt(row, "age");
+            if (age <= 0 || age > 100) { // Same rule as the registration prompt
+                throw new IllegalArgumentException("Age must be a positive number and less than 100.");
+            }
+            String email = required(row, "email");
+            String username = required(row, "username");
+            String password = required(row, "password");
+            if (users.isUsernameTaken(username)) {
+                throw new IllegalArgumentException("The username '" + username + "' is already taken.");
+            }
+            students.add(new Student(username, password, name, age, email));
+            lineNumbers.add(lineNumber);
+        }
+
+        @Override
+        int flush() {
+            int inserted = 0;
+            if (!students.isEmpty()) {
+                system.hashPasswords(students);
+                boolean[] registered = system.registerStudents(students);
+                for (int i = 0; i < registered.length; i++) {
+                    if (registered[i]) {
+                        inserted++;
+                    } else { // Taken earlier in this batch or by another session meanwhile
+                        reject(lineNumbers.get(i), "The username '" + students.get(i).getUsername() + "' is already taken.");
+                    }
+                }
+            }
+            students.clear();
+            lineNumbers.clear();
+            return inserted;
+        }
+    }
+
+    private class CourseImporter extends Importer {
+        private final List<Course> courses = new ArrayList<>();
+
+        @Override
+        void add(int lineNumber, Map<String, String> row) {
+            String name = required(row, "name");
+            if (catalog.isCourseNameTaken(name)) {
+                throw new IllegalArgumentException("A course with the name '" + name + "' already exists.");
+            }
+            courses.add(new Course(name));
+            lineNumbers.add(lineNumber);
+        }
+
+        @Override
+        int flush() {
+            int inserted = 0;
+            if (!courses.isEmpty()) {
+                boolean[] added = system.addCourses(courses);
+                for (int i = 0; i < added.length; i++) {
+                    if (added[i]) {
+                        inserted++;
+                    } else {
+                        reject(lineNumbers.get(i), "A course with the name '" + courses.get(i).getCourseName() + "' already exists.");
+                    }
+                }
+            }
+            courses.clear();
+            lineNumbers.clear();
+            return inserted;
+        }
+    }
+
+    private class SubjectImporter extends Importer {
+        private final List<Course> courses = new ArrayList<>();
+        private final List<Subject> subjects = new ArrayList<>();
+
+        @Override
+        void add(int lineNumber, Map<String, String> row) {
+            String courseKey = required(row, "course");
+            Course course = catalog.getCourse(courseKey);
+            if (course == null) {
+                course = catalog.findCourseByName(courseKey);
+            }
+            if (course == null) {
+                throw new IllegalArgumentException("No course with the ID or name '" + courseKey + "'.");
+            }
+            courses.add(course);
+            subjects.add(new Subject(required(row, "name")));
+            lineNumbers.add(lineNumber);
+        }
+
+        @Override
+        int flush() {
+            int inserted = 0;
+            if (!subjects.isEmpty()) {
+                boolean[] added = system.addSubjects(courses, subjects);
+                for (int i = 0; i < added.length; i++) {
+                    if (added[i]) {
+                        inserted++;
+                    } else {
+                        reject(lineNumbers.get(i), "Subject '" + subjects.get(i).getSubjectName() + "' already exists in '"
+                                + courses.get(i).getCourseName() + "'.");
+                    }
+                }
+            }
+            courses.clear();
+            subjects.clear();
+            lineNumbers.clear();
+            return inserted;
+        }
+    }
+
+    private class QuestionImporter extends Importer {
+        private final Map<Subject, List<Question>> questionsBySubject = new LinkedHashMap<>();
+
+        @Override
+        void add(int lineNumber, Map<String, String> row) {
+            String subjectId = required(row, "subject");
+            Subject subject = catalog.getSubject(subjectId);
+            if (subject == null) {
+                throw new IllegalArgumentException("No subject with the ID '" + subjectId + "'.");
+            }
+            String text = required(row, "question");
+            List<String> options = new ArrayList<>();
+            for (int i = 1; row.containsKey("option" + i); i++) {
+                options.add(required(row, "option" + i));
+            }
+            if (options.size() < 2) {
+                throw new IllegalArgumentException("A question needs at least two options.");
+            }
+            int correct = requiredInt(row, "correct");
+            if (correct < 1 || correct > options.size()) {
+                throw new IllegalArgumentException("The correct option must be between 1 and " + options.size() + ".");
+            }
+            questionsBySubject.computeIfAbsent(subject, s -> new ArrayList<>()).add(new Question(text, options, correct - 1));
+            lineNumbers.add(lineNumber);
+        }
+
+        @Override
+        int flush() {
+            int inserted = lineNumbers.size();
+            if (!questionsBySubject.isEmpty()) {
+                system.addQuestions(questionsBySubject);
+            }
+            questionsBySubject.clear();
+            lineNumbers.clear();
+            return inserted;
+        }
+    }
+
+    // --- Row readers; each row maps lower-cased column names to values ---
+
+    private abstract static class RowReader implements AutoCloseable {
+        protected final BufferedReader in;
+        protected int lineNumber; // Line the current row started on
+
+        RowReader(BufferedReader in) {
+            this.in = in;
+        }
+
+        /**
+         * Reads the next row.
+         * @return The row, or null at the end of the file.
+         * @throws IllegalArgumentException If the row is malformed; reading can continue with the next row.
+         */
+        abstract Map<String, String> next() throws IOException;
+
+        int getLineNumber() {
+            return lineNumber;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    // RFC 4180 style CSV: fields may be quoted, quoted fields may hold commas, doubled quotes and line breaks
+    private static class CsvReader extends RowReader {
+        private List<String> header;
+        private int linesRead;
+
+        CsvReader(BufferedReader in) {
+            super(in);
+        }
+
+        @Override
+        Map<String, String> next() throws IOException {
+            if (header == null) {
+                List<String> columns = readRecord();
+                if (columns == null) {
+                    return null;
+                }
+                header = new ArrayList<>();
+                for (String column : columns) {
+                    header.add(column.trim().toLowerCase(Locale.ROOT));
+                }
+            }
+            List<String> fields = readRecord();
+            while (fields != null && fields.size() == 1 && fields.get(0).trim().isEmpty()) {
+                fields = readRecord(); // Skip blank lines
+            }
+            if (fields == null) {
+                return null;
+            }
+            if (fields.size() > header.size()) {
+                throw new IllegalArgumentException("Expected at most " + header.size() + " fields but found " + fields.size() + ".");
+            }
+            Map<String, String> row = new HashMap<>();
+            for (int i = 0; i < fields.size(); i++) {
+                row.put(header.get(i), fields.get(i));
+            }
+            return row;
+        }
+
+        private List<String> readRecord() throws IOException {
+            String line = in.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber = ++linesRead;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            int i = 0;
+            while (true) {
+                if (i == line.length()) {
+                    if (!quoted) {
+                        break;
+                    }
+                    line = in.readLine(); // A quoted field continues on the next line
+                    if (line == null) {
+                        throw new IllegalArgumentException("A quoted field is not closed.");
+                    }
+                    linesRead++;
+                    field.append('\n');
+                    i = 0;
+                    continue;
+                }
+                char c = line.charAt(i++);
+                if (quoted) {
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (i < line.length() && line.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+
+    // One flat JSON object per line; values may be strings, numbers, booleans, null or arrays of those.
+    // An array named "options" becomes option1, option2, ... in the row.
+    private static class JsonLinesReader extends RowReader {
+        private String line;
+        private int at;
+
+        JsonLinesReader(BufferedReader in) {
+            super(in);
+        }
+
+        @Override
+        Map<String, String> next() throws IOException {
+            do {
+                line = in.readLine();
+                if (line == null) {
+                    return null;
+                }
+                lineNumber++;
+            } while (line.trim().isEmpty());
+            at = 0;
+            Map<String, String> row = new HashMap<>();
+            expect('{');
+            if (peek() != '}') {
+                do {
+                    String key = readString().toLowerCase(Locale.ROOT);
+                    expect(':');
+                    if (peek() == '[') {
+                        expect('[');
+                        int index = 1;
+                        if (peek() != ']') {
+                            do {
+                                row.put(arrayElementKey(key, index++), readScalar());
+                            } while (tryConsume(','));
+                        }
+                        expect(']');
+                    } else {
+                        row.put(key, readScalar());
+                    }
+                } while (tryConsume(','));
+            }
+            expect('}');
+            if (peek() != 0) {
+                throw new IllegalArgumentException("Unexpected text after the JSON object.");
+            }
+            return row;
+        }
+
+        private static String arrayElementKey(String key, int index) {
+            return (key.equals("options") ? "option" : key) + index;
+        }
+
+        private String readScalar() {
+            char c = peek();
+            if (c == '"') {
+                return readString();
+            }
+            int start = at;
+            while (at < line.length() && ",}] \t".indexOf(line.charAt(at)) < 0) {
+                at++;
+            }
+            String literal = line.substring(start, at);
+            if (literal.isEmpty() || c == '{' || c == '[') {
+                throw new IllegalArgumentException("Expected a value at column " + (start + 1) + ".");
+            }
+            return literal.equals("null") ? null : literal;
+        }
+
+        private String readString() {
+            expect('"');
+            StringBuilder value = new StringBuilder();
+            while (true) {
+                if (at >= line.length()) {
+                    throw new IllegalArgumentException("A string is not closed.");
+                }
+                char c = line.charAt(at++);
+                if (c == '"') {
+                    return value.toString();
+                }
+                if (c != '\\') {
+                    value.append(c);
+                    continue;
+                }
+                if (at >= line.length()) {
+                    throw new IllegalArgumentException("A string is not closed.");
+                }
+                char escaped = line.charAt(at++);
+                switch (escaped) {
+                    case 'n': value.append('\n'); break;
+                    case 't': value.append('\t'); break;
+                    case 'r': value.append('\r'); break;
+                    case 'b': value.append('\b'); break;
+                    case 'f': value.append('\f'); break;
+                    case 'u':
+                        if (at + 4 > line.length()) {
+                            throw new IllegalArgumentException("Incomplete \\u escape.");
+                        }
+                        try {
+                            value.append((char) Integer.parseInt(line.substring(at, at + 4), 16));
+                        } catch (NumberFormatException e) {
+                            throw new IllegalArgumentException("Invalid \\u escape.");
+                        }
+                        at += 4;
+                        break;
+                    default: value.append(escaped); // \" \\ and \/
+                }
+            }
+        }
+
+        // Next non-blank character, or 0 at the end of the line
+        private char peek() {
+            while (at < line.length() && Character.isWhitespace(line.charAt(at))) {
+                at++;
+            }
+            return at < line.length() ? line.charAt(at) : 0;
+        }
+
+        private boolean tryConsume(char c) {
+            if (peek() == c) {
+                at++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char c) {
+            if (!tryConsume(c)) {
+                throw new IllegalArgumentException("Expected '" + c + "' at column " + (at + 1) + ".");
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package bootcamp;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The Catalog holds all courses, their subjects and the exams set for them.
+ * It keeps hash indexes by course ID, course name, subject ID and subject-to-exam,
+ * so lookups made while listing results or starting an exam are constant time.
+ * All changes to courses and subjects must go through the Catalog to keep the indexes current.
+ * The course list is copy-on-write: admin edits are rare and never block students listing courses.
+ */
+class Catalog {
+    private final List<Course> courses; // All courses in the order they were added (used for menu numbering)
+    private final Map<Integer, Course> coursesById; // key = course ID number
+    private final Map<String, Course> coursesByName; // key = lower-cased course name
+    private final Map<Integer, Subject> subjectsById; // Subjects currently offered by some course
+    private final Map<Integer, Exam> examsBySubjectId;
+    private final AtomicInteger version = new AtomicInteger(); // Bumped when subjects or exams change
+
+    public Catalog() {
+        this.courses = new CopyOnWriteArrayList<>();
+        this.coursesById = new ConcurrentHashMap<>();
+        this.coursesByName = new ConcurrentHashMap<>();
+        this.subjectsById = new ConcurrentHashMap<>();
+        this.examsBySubjectId = new ConcurrentHashMap<>();
+    }
+
+    private static String courseNameKey(String courseName) {
+        return courseName.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Adds a course along with any subjects it already contains.
+     * @return true if added, false if a course with the same name (ignoring case) exists.
+     */
+    public boolean addCourse(Course course) {
+        if (coursesByName.putIfAbsent(courseNameKey(course.getCourseName()), course) != null) {
+            return false; // Atomic check-and-add on the name
+        }
+        coursesById.put(course.getCourseNumber(), course);
+        courses.add(course);
+        for (Subject subject : course.getSubjects()) {
+            subjectsById.put(subject.getSubjectNumber(), subject);
+        }
+        version.incrementAndGet();
+        return true;
+    }
+
+    public boolean isCourseNameTaken(String courseName) {
+        return coursesByName.containsKey(courseNameKey(courseName));
+    }
+
+    // Looks up a course by its typed or stored ID, ignoring case; null if there is none
+    public Course getCourse(String courseId) {
+        int number = Ids.parse(Ids.COURSE, courseId);
+        return number >= 0 ? coursesById.get(number) : null;
+    }
+
+    public Course getCourse(int courseNumber) {
+        return coursesById.get(courseNumber);
+    }
+
+    public Course findCourseByName(String courseName) {
+        return coursesByName.get(courseNameKey(courseName));
+    }
+
+    // Returns a read-only view of all courses in the order they were added
+    public List<Course> getCourses() {
+        return Collections.unmodifiableList(courses);
+    }
+
+    public boolean addSubject(Course course, Subject subject) {
+        // Indexed before it is listed, so a reader never finds it in the course but not by ID
+        boolean indexed = subjectsById.putIfAbsent(subject.getSubjectNumber(), subject) == null;
+        if (course.addSubject(subject)) {
+            version.incrementAndGet();
+            return true;
+        }
+        if (indexed) {
+            subjectsById.remove(subject.getSubjectNumber());
+        }
+        return false;
+    }
+
+    public Subject removeSubject(Course course, int subjectNumber) {
+        Subject removed = course.removeSubject(subjectNumber);
+        if (removed != null) {
+            subjectsById.remove(subjectNumber);
+            version.incrementAndGet();
+        }
+        return removed;
+    }
+
+    // Looks up a subject by its typed or stored ID, ignoring case; null if there is none
+    public Subject getSubject(String subjectId) {
+        int number = Ids.parse(Ids.SUBJECT, subjectId);
+        return number >= 0 ? subjectsById.get(number) : null;
+    }
+
+    public Subject getSubject(int subjectNumber) {
+        return subjectsById.get(subjectNumber);
+    }
+
+    public void addExam(Exam exam) {
+        examsBySubjectId.put(exam.getSubjectNumber(), exam);
+        version.incrementAndGet();
+    }
+
+    // Changes whenever a subject or exam is added, removed or replaced, so derived views know to rebuild
+    public int getVersion() {
+        return version.get();
+    }
+
+    public Exam getExamForSubject(int subjectNumber) {
+        return examsBySubjectId.get(subjectNumber);
+    }
+
+
+    // Returns a read-only view of all exams
+    public Collection<Exam> getExams() {
+        return Collections.unmodifiableCollection(examsBySubjectId.values());
+    }
+
+    public int getExamCount() {
+        return examsBySubjectId.size();
+    }
+}
@@ -0,0 +1,62 @@
+package bootcamp;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Line input from a non-blocking connection. The session's thread reads whatever has arrived and, when
+ * nothing has, asks SessionServer's selector to wake it once more input arrives. So no thread is blocked
+ * in a socket read: one selector thread watches every connection.
+ */
+class ChannelLineInput extends LineInput {
+    private final SocketChannel channel;
+    private final SelectionKey key;
+    private final Semaphore ready = new Semaphore(0); // Released by the selector thread when the awaited operation can proceed
+
+    ChannelLineInput(SocketChannel channel, SelectionKey key) {
+        this.channel = channel;
+        this.key = key;
+    }
+
+    // Called on the selector thread when the channel has input or room for output; it has already stopped watching
+    void wakeUp() {
+        ready.release();
+    }
+
+    /**
+     * Waits until the channel can take more output. The session thread is either reading or writing,
+     * never both, so output waits on the same selection key and wake-up as input.
+     * @return false if the channel still had no room after the timeout.
+     */
+    boolean awaitWritable(long timeoutNanos) throws InterruptedException {
+        key.interestOps(SelectionKey.OP_WRITE);
+        key.selector().wakeup();
+        return ready.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    protected int read(byte[] into, int offset, int length) {
+        ByteBuffer target = ByteBuffer.wrap(into, offset, length);
+        try {
+            while (true) {
+                int read = channel.read(target);
+                if (read != 0) {
+                    return read;
+                }
+                key.interestOps(SelectionKey.OP_READ);
+                key.selector().wakeup();
+                ready.acquire();
+            }
+        } catch (IOException | CancelledKeyException e) { // Closed by either side
+            return -1;
+        } catch (InterruptedException e) { // The server is shutting down
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package bootcamp;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger; // For generating unique IDs
+
+class Course {
+    private final int courseId; // Shown as "COU" + number, see Ids
+    private String courseName;
+    private EnrollmentSet<Subject> subjects; // Listing subjects never waits for an admin edit, and removing one does not scan
+    private Map<Integer, Subject> subjectsById; // Index over subjects for constant-time lookup by ID number
+
+    // Static counter to generate unique course IDs
+    private static final AtomicInteger idCounter = new AtomicInteger(100);
+
+    /**
+     * Constructor for the Course class.
+     * @param courseName The name of the course.
+     */
+    public Course(String courseName) {
+        this.courseId = idCounter.getAndIncrement();
+        this.courseName = courseName;
+        this.subjects = new EnrollmentSet<>(Subject::getSubjectNumber);
+        this.subjectsById = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Constructor used when restoring a course from storage with its original ID.
+     */
+    Course(String courseId, String courseName) {
+        this.courseId = Ids.parseOrThrow(Ids.COURSE, courseId);
+        this.courseName = courseName;
+        this.subjects = new EnrollmentSet<>(Subject::getSubjectNumber);
+        this.subjectsById = new ConcurrentHashMap<>();
+        resumeIdsFrom(this.courseId + 1);
+    }
+
+    static int peekNextId() {
+        return idCounter.get();
+    }
+
+    static void resumeIdsFrom(int nextId) {
+        idCounter.accumulateAndGet(nextId, Math::max);
+    }
+
+    // Getter methods for course properties
+    public String getCourseId() {
+        return Ids.format(Ids.COURSE, courseId);
+    }
+
+    public int getCourseNumber() {
+        return courseId;
+    }
+
+    public String getCourseName() {
+        return courseName;
+    }
+
+    public Collection<Subject> getSubjects() {
+        return subjects;
+    }
+
+    public Subject getSubject(int subjectNumber) {
+        return subjectsById.get(subjectNumber);
+    }
+
+    /**
+     * Adds a subject to this course.
+     * @return true if added, false if the subject already exists in this course.
+     */
+    public synchronized boolean addSubject(Subject subject) {
+        if (subjectsById.putIfAbsent(subject.getSubjectNumber(), subject) == null) {
+            subjects.add(subject);
+            return true;
+        }
+        return false;
+    }
+
+   
+    /**
+     * Removes a subject from this course.
+     * @return The removed subject, or null if no subject with that ID is in this course.
+     */
+    public synchronized Subject removeSubject(int subjectNumber) {
+        Subject subjectToRemove = subjectsById.remove(subjectNumber);
+        if (subjectToRemove != null) {
+            subjects.removeId(subjectNumber);
+        }
+        return subjectToRemove;
+    }
+
+    
+    @Override
+    public String toString() {
+        return "ID: " + getCourseId() + ", Name: " + courseName + ", Subjects: " + subjects.size();
+    }
+
+   
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Course course = (Course) o;
+        return courseId == course.courseId;
+    }
+
+    
+    @Override
+    public int hashCode() {
+        return Integer.hashCode(courseId);
+    }
+}
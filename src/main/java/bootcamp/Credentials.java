@@ -0,0 +1,70 @@
+package bootcamp;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+/**
+ * Salted PBKDF2 password hashes, stored as "pbkdf2-sha512$iterations$salt$hash" with Base64 salt and hash.
+ * A stored credential not in this form is a plaintext password saved before hashing was introduced;
+ * it still verifies, and is replaced by a hash at the next successful login.
+ */
+class Credentials {
+    static final int ITERATIONS = 210_000; // Roughly 0.1-0.2 s of one core per hash
+    private static final String PREFIX = "pbkdf2-sha512$";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private Credentials() {
+    }
+
+    static String hash(String password) {
+        byte[] salt = new byte[SALT_BYTES];
+        RANDOM.nextBytes(salt);
+        Base64.Encoder base64 = Base64.getEncoder().withoutPadding();
+        return PREFIX + ITERATIONS + "$" + base64.encodeToString(salt) + "$"
+                + base64.encodeToString(derive(password, salt, ITERATIONS));
+    }
+
+    static boolean verify(String password, String credential) {
+        String[] parts = credential.startsWith(PREFIX) ? credential.split("\\$") : null;
+        if (parts == null || parts.length != 4) { // Plaintext from before hashing
+            return MessageDigest.isEqual(password.getBytes(StandardCharsets.UTF_8), credential.getBytes(StandardCharsets.UTF_8));
+        }
+        try {
+            byte[] expected = Base64.getDecoder().decode(parts[3]);
+            return MessageDigest.isEqual(expected, derive(password, Base64.getDecoder().decode(parts[2]), Integer.parseInt(parts[1])));
+        } catch (IllegalArgumentException e) {
+            return false; // Damaged hash
+        }
+    }
+
+    // True for plaintext and for hashes made with fewer iterations than are used now
+    static boolean needsRehash(String credential) {
+        if (!credential.startsWith(PREFIX)) {
+            return true;
+        }
+        int end = credential.indexOf('$', PREFIX.length());
+        try {
+            return end < 0 || Integer.parseInt(credential.substring(PREFIX.length(), end)) < ITERATIONS;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    private static byte[] derive(String password, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance("PBKDF2WithHmacSHA512").generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("PBKDF2WithHmacSHA512 is not available", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
@@ -0,0 +1,649 @@
+package bootcamp;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * The DataStore persists the system state in a data directory using two files:
+ * a compacted binary snapshot of the whole state, and an append-only journal of every
+ * mutation made since that snapshot. On startup the snapshot is memory-mapped and the
+ * journal tail is replayed on top of it. Replaying a mutation twice leaves the
+ * state unchanged, so a crash between writing a snapshot and truncating the
+ * journal is harmless. A torn record at the end of the journal is dropped.
+ *
+ * Each snapshot is a new generation ("snapshot-<n>.dat") rather than a replacement of the last one,
+ * since lazily restored students keep reading from the file they were mapped from (and a mapped file
+ * cannot be replaced or deleted on Windows). Older generations are deleted once no student reads from them.
+ */
+class DataStore {
+    private static final int SNAPSHOT_MAGIC = 0x534D5332; // "SMS2"
+    private static final int COMPACT_AFTER_RECORDS = 10_000; // Journal length that triggers a new snapshot
+
+    // Journal record types
+    private static final byte REGISTER_STUDENT = 1;
+    private static final byte ENROLL_COURSE = 2;
+    private static final byte ENROLL_SUBJECT = 3;
+    private static final byte SET_EXAM_SCORE = 4;
+    private static final byte ADD_COURSE = 5;
+    private static final byte ADD_SUBJECT = 6;
+    private static final byte REMOVE_SUBJECT = 7;
+    private static final byte ADD_EXAM = 8;
+    private static final byte CHANGE_CREDENTIAL = 9;
+
+
+    private final Path dataDirectory;
+    private final Path journalFile;
+    private final Map<Path, SnapshotImage> mappedSnapshots = new HashMap<>(); // Images students may still read from
+    private Path snapshotFile; // The newest generation, or null if there is no snapshot yet
+    private long snapshotGeneration;
+    private final ByteArrayOutputStream recordBuffer = new ByteArrayOutputStream(256); // Reused to encode each record
+    private final DataOutputStream record = new DataOutputStream(recordBuffer);
+    private final CRC32 crc = new CRC32();
+    private DataOutputStream journal;
+    private int recordsSinceSnapshot;
+    private int openBatches; // While above zero, records are flushed when the last batch ends instead of one by one
+
+    public DataStore(Path dataDirectory) {
+        try {
+            Files.createDirectories(dataDirectory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create data directory " + dataDirectory, e);
+        }
+        this.dataDirectory = dataDirectory;
+        this.journalFile = dataDirectory.resolve("journal.log");
+        for (Path file : snapshotFiles()) {
+            long generation = generationOf(file);
+            if (snapshotFile == null || generation > snapshotGeneration) {
+                snapshotFile = file;
+                snapshotGeneration = generation;
+            }
+        }
+    }
+
+    public synchronized boolean hasSnapshot() {
+        return snapshotFile != null;
+    }
+
+    synchronized Path getSnapshotFile() {
+        return snapshotFile;
+    }
+
+    private List<Path> snapshotFiles() {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dataDirectory, "snapshot-*.dat")) {
+            for (Path file : stream) {
+                if (generationOf(file) >= 0) {
+                    files.add(file);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list snapshots in " + dataDirectory, e);
+        }
+        return files;
+    }
+
+    // The generation in a snapshot file name, or -1 if the name is not a snapshot's
+    private static long generationOf(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.startsWith("snapshot-") || !name.endsWith(".dat")) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring("snapshot-".length(), name.length() - ".dat".length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Deletes snapshot generations older than the newest once no student reads its state from them.
+     * A file that cannot be deleted yet (still mapped, on Windows) is tried again after the next snapshot.
+     */
+    private void deleteOldSnapshots() {
+        for (Path file : snapshotFiles()) {
+            if (file.equals(snapshotFile)) {
+                continue;
+            }
+            SnapshotImage image = mappedSnapshots.get(file);
+            if (image != null) {
+                if (!image.isReleased()) {
+                    continue;
+                }
+                mappedSnapshots.remove(file); // Lets the mapping be collected
+            }
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                // Still mapped; tried again after the next snapshot
+            }
+        }
+    }
+
+    /**
+     * Restores the snapshot and replays the journal into the given (empty) catalog and directory.
+     * @return The number of journal records replayed.
+     */
+    public synchronized int load(Catalog catalog, UserDirectory users) {
+        try {
+            readSnapshot(catalog, users);
+            int replayed = replayJournal(catalog, users);
+            recordsSinceSnapshot = replayed;
+            deleteOldSnapshots(); // Left over from a previous run
+            return replayed;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot load data from " + snapshotFile.getParent(), e);
+        }
+    }
+
+    // --- Journal writes, one per mutation ---
+
+    public synchronized void logStudentRegistered(Student student) {
+        try {
+            beginRecord(REGISTER_STUDENT);
+            record.writeUTF(student.getStudentId());
+            record.writeUTF(student.getUsername());
+            record.writeUTF(student.getCredential());
+            record.writeUTF(student.getName());
+            record.writeInt(student.getAge());
+            record.writeUTF(student.getEmail());
+            endRecord();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public synchronized void logCredentialChanged(User user) {
+        logPair(CHANGE_CREDENTIAL, user.getUsername(), user.getCredential());
+    }
+
+    public synchronized void logCourseEnrollment(Student student, Course course) {
+        logPair(ENROLL_COURSE, student.getStudentId(), course.getCourseId());
+    }
+
+    public synchronized void logSubjectEnrollment(Student student, Subject subject) {
+        logPair(ENROLL_SUBJECT, student.getStudentId(), subject.getSubjectId());
+    }
+
+    public synchronized void logExamScore(Student student, int subjectNumber, int score) {
+        try {
+            beginRecord(SET_EXAM_SCORE);
+            record.writeUTF(student.getStudentId());
+            record.writeUTF(Ids.format(Ids.SUBJECT, subjectNumber));
+            record.writeInt(score);
+            endRecord();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public synchronized void logCourseAdded(Course course) {
+        logPair(ADD_COURSE, course.getCourseId(), course.getCourseName());
+    }
+
+    public synchronized void logSubjectAdded(Course course, Subject subject) {
+        try {
+            beginRecord(ADD_SUBJECT);
+            record.writeUTF(course.getCourseId());
+            record.writeUTF(subject.getSubjectId());
+            record.writeUTF(subject.getSubjectName());
+            endRecord();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public synchronized void logSubjectRemoved(Course course, Subject subject) {
+        logPair(REMOVE_SUBJECT, course.getCourseId(), subject.getSubjectId());
+    }
+
+    public synchronized void logExamAdded(Exam exam) {
+        try {
+            beginRecord(ADD_EXAM);
+            record.writeUTF(exam.getExamId());
+            record.writeUTF(exam.getSubjectId());
+            record.writeUTF(exam.getSubjectName());
+            record.writeInt(exam.getQuestions().size());
+            for (Question question : exam.getQuestions()) {
+                record.writeUTF(question.getQuestionText());
+                record.writeInt(question.getOptionCount());
+                for (int i = 0; i < question.getOptionCount(); i++) {
+                    record.writeUTF(question.getOption(i));
+                }
+                record.writeInt(question.getCorrectOptionIndex());
+            }
+            endRecord();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Bulk changes are written as one batch, so the journal is flushed once per batch rather than per record
+    public synchronized void beginBatch() {
+        openBatches++;
+    }
+
+    public synchronized void endBatch() {
+        openBatches--;
+        if (openBatches == 0 && journal != null) {
+            try {
+                journal.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void logPair(byte type, String first, String second) {
+        try {
+            beginRecord(type);
+            record.writeUTF(first);
+            record.writeUTF(second);
+            endRecord();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void beginRecord(byte type) throws IOException {
+        recordBuffer.reset();
+        record.writeByte(type);
+    }
+
+    // Frames the encoded record as [length][crc32][payload] and appends it to the journal
+    private void endRecord() throws IOException {
+        if (journal == null) {
+            journal = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(journalFile.toFile(), true), 64 * 1024));
+        }
+        byte[] payload = recordBuffer.toByteArray();
+        crc.reset();
+        crc.update(payload, 0, payload.length);
+        journal.writeInt(payload.length);
+        journal.writeInt((int) crc.getValue());
+        journal.write(payload);
+        if (openBatches == 0) {
+            journal.flush(); // Hand the record to the OS so it survives a crash of this process
+        }
+        recordsSinceSnapshot++;
+    }
+
+    public synchronized boolean shouldCompact() {
+        return recordsSinceSnapshot >= COMPACT_AFTER_RECORDS;
+    }
+
+    // --- Journal replay ---
+
+    private int replayJournal(Catalog catalog, UserDirectory users) throws IOException {
+        if (!Files.exists(journalFile)) {
+            return 0;
+        }
+        int replayed = 0;
+        long validLength = 0; // Length of the journal up to the last complete record
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(journalFile), 64 * 1024))) {
+            while (true) {
+                byte[] payload;
+                try {
+                    int length = in.readInt();
+                    int checksum = in.readInt();
+                    payload = new byte[length];
+                    in.readFully(payload);
+                    crc.reset();
+                    crc.update(payload, 0, length);
+                    if ((int) crc.getValue() != checksum) {
+                        break; // Torn or corrupt record, stop at the last good one
+                    }
+                } catch (EOFException e) {
+                    break;
+                }
+                applyRecord(new DataInputStream(new ByteArrayInputStream(payload)), catalog, users);
+                validLength += 8 + payload.length;
+                replayed++;
+            }
+        }
+        if (validLength < Files.size(journalFile)) {
+            try (FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.WRITE)) {
+                channel.truncate(validLength); // Drop the torn tail so new records follow a valid one
+            }
+        }
+        return replayed;
+    }
+
+    private void applyRecord(DataInputStream in, Catalog catalog, UserDirectory users) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case REGISTER_STUDENT: {
+                String studentId = in.readUTF();
+                String username = in.readUTF();
+                String credential = in.readUTF();
+                String name = in.readUTF();
+                int age = in.readInt();
+                String email = in.readUTF();
+                if (users.findStudentById(studentId) == null) {
+                    users.addUser(new Student(studentId, username, credential, name, age, email));
+                }
+                break;
+            }
+            case ENROLL_COURSE: {
+                Student student = users.findStudentById(in.readUTF());
+                Course course = catalog.getCourse(in.readUTF());
+                if (student != null && course != null) {
+                    student.enrollCourse(course);
+                }
+                break;
+            }
+            case ENROLL_SUBJECT: {
+                Student student = users.findStudentById(in.readUTF());
+                Subject subject = catalog.getSubject(in.readUTF());
+                if (student != null && subject != null) {
+                    student.enrollSubject(subject);
+                }
+                break;
+            }
+            case SET_EXAM_SCORE: {
+                Student student = users.findStudentById(in.readUTF());
+                int subjectNumber = Ids.parseOrThrow(Ids.SUBJECT, in.readUTF());
+                int score = in.readInt();
+                if (student != null) {
+                    student.setExamScore(subjectNumber, score);
+                }
+                break;
+            }
+            case ADD_COURSE: {
+                String courseId = in.readUTF();
+                String courseName = in.readUTF();
+                if (catalog.getCourse(courseId) == null) {
+                    catalog.addCourse(new Course(courseId, courseName));
+                }
+                break;
+            }
+            case ADD_SUBJECT: {
+                Course course = catalog.getCourse(in.readUTF());
+                String subjectId = in.readUTF();
+                String subjectName = in.readUTF();
+                if (course != null && course.getSubject(Ids.parseOrThrow(Ids.SUBJECT, subjectId)) == null) {
+                    catalog.addSubject(course, new Subject(subjectId, subjectName));
+                }
+                break;
+            }
+            case REMOVE_SUBJECT: {
+                Course course = catalog.getCourse(in.readUTF());
+                int subjectNumber = Ids.parseOrThrow(Ids.SUBJECT, in.readUTF());
+                if (course != null) {
+                    catalog.removeSubject(course, subjectNumber);
+                }
+                break;
+            }
+            case ADD_EXAM: {
+                String examId = in.readUTF();
+                String subjectId = in.readUTF();
+                String subjectName = in.readUTF();
+                int questionCount = in.readInt();
+                List<Question> questions = new ArrayList<>(questionCount);
+                for (int i = 0; i < questionCount; i++) {
+                    String text = in.readUTF();
+                    int optionCount = in.readInt();
+                    List<String> options = new ArrayList<>(optionCount);
+                    for (int j = 0; j < optionCount; j++) {
+                        options.add(in.readUTF());
+                    }
+                    questions.add(new Question(text, options, in.readInt()));
+                }
+                Exam current = catalog.getExamForSubject(Ids.parseOrThrow(Ids.SUBJECT, subjectId));
+                int examNumber = Ids.parseOrThrow(Ids.EXAM, examId);
+                // A newer exam, or the same exam with questions appended; anything else is already applied
+                if (current == null || examNumber > current.getExamNumber()
+                        || examNumber == current.getExamNumber() && questionCount > current.getQuestions().size()) {
+                    catalog.addExam(new Exam(examId, subjectId, subjectName, questions)); // Replaces the subject's older exam
+                }
+                break;
+            }
+            case CHANGE_CREDENTIAL: {
+                User user = users.findByUsername(in.readUTF());
+                String credential = in.readUTF();
+                if (user != null) {
+                    user.setCredential(credential);
+                }
+                break;
+            }
+            default:
+                throw new IOException("Unknown journal record type " + type);
+        }
+    }
+
+    // --- Snapshots ---
+
+    /**
+     * Writes a compacted snapshot of the whole state as the next generation and starts a new, empty journal.
+     * The snapshot is written to a temporary file first and then moved into place under its new name.
+     */
+    public synchronized void writeSnapshot(Catalog catalog, UserDirectory users) {
+        Path tempFile = dataDirectory.resolve("snapshot.tmp");
+        long generation = snapshotGeneration + 1;
+        Path newFile = dataDirectory.resolve("snapshot-" + generation + ".dat");
+        try {
+            try (FileOutputStream fileOut = new FileOutputStream(tempFile.toFile());
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut, 64 * 1024))) {
+                writeState(out, catalog, users);
+                out.flush();
+                fileOut.getFD().sync();
+            }
+            Files.move(tempFile, newFile, StandardCopyOption.ATOMIC_MOVE); // A new name, so no mapped file is replaced
+            snapshotFile = newFile;
+            snapshotGeneration = generation;
+
+            if (journal != null) {
+                journal.close();
+                journal = null;
+            }
+            Files.deleteIfExists(journalFile);
+            recordsSinceSnapshot = 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write snapshot " + newFile, e);
+        }
+        deleteOldSnapshots();
+    }
+
+    public synchronized void close() {
+        try {
+            if (journal != null) {
+                journal.close();
+                journal = null;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /*
+     * Snapshot layout (big-endian, strings are [unsigned short length][UTF-8 bytes]):
+     *   header:   magic, next Student/Course/Subject/Exam IDs
+     *   courses:  count, then per course: id, name, subject count, (subject id, subject name)*
+     *   exams:    count, then per exam: id, subject id, subject name, question count,
+     *             (text, option count, option*, correct index)*
+     *   admins:   count, (username, password)*
+     *   students: count, then per student: id, username, password, name, age, email,
+     *             state length, state = [course count, course id*, subject count,
+     *             (subject id, subject name)*, score count, (subject id, score)*]
+     * The length before each student's state lets startup skip it; it is read on first access.
+     */
+    private void writeState(DataOutputStream out, Catalog catalog, UserDirectory users) throws IOException {
+        out.writeInt(SNAPSHOT_MAGIC);
+        out.writeInt(Student.peekNextId());
+        out.writeInt(Course.peekNextId());
+        out.writeInt(Subject.peekNextId());
+        out.writeInt(Exam.peekNextId());
+
+        out.writeInt(catalog.getCourses().size());
+        for (Course course : catalog.getCourses()) {
+            writeString(out, course.getCourseId());
+            writeString(out, course.getCourseName());
+            out.writeInt(course.getSubjects().size());
+            for (Subject subject : course.getSubjects()) {
+                writeString(out, subject.getSubjectId());
+                writeString(out, subject.getSubjectName());
+            }
+        }
+
+        out.writeInt(catalog.getExamCount());
+        for (Exam exam : catalog.getExams()) {
+            writeString(out, exam.getExamId());
+            writeString(out, exam.getSubjectId());
+            writeString(out, exam.getSubjectName());
+            out.writeInt(exam.getQuestions().size());
+            for (Question question : exam.getQuestions()) {
+                writeString(out, question.getQuestionText());
+                out.writeInt(question.getOptionCount());
+                for (int i = 0; i < question.getOptionCount(); i++) {
+                    writeString(out, question.getOption(i));
+                }
+                out.writeInt(question.getCorrectOptionIndex());
+            }
+        }
+
+        List<Admin> admins = new ArrayList<>();
+        for (User user : users.getUsers()) {
+            if (user instanceof Admin) {
+                admins.add((Admin) user);
+            }
+        }
+        out.writeInt(admins.size());
+        for (Admin admin : admins) {
+            writeString(out, admin.getUsername());
+            writeString(out, admin.getCredential());
+        }
+
+        ByteArrayOutputStream stateBuffer = new ByteArrayOutputStream(256); // Reused for each student's state
+        DataOutputStream state = new DataOutputStream(stateBuffer);
+        out.writeInt(users.getStudentCount());
+        for (Student student : users.getStudents()) {
+            writeString(out, student.getStudentId());
+            writeString(out, student.getUsername());
+            writeString(out, student.getCredential());
+            writeString(out, student.getName());
+            out.writeInt(student.getAge());
+            writeString(out, student.getEmail());
+
+            SnapshotImage storedImage = student.getStoredImage();
+            if (storedImage != null) {
+                // Never accessed since the last load: copy the stored bytes instead of reading them into objects
+                storedImage.copyStudentState(student.getStoredOffset(), out);
+                continue;
+            }
+            stateBuffer.reset();
+            state.writeInt(student.getEnrolledCourses().size());
+            for (Course course : student.getEnrolledCourses()) {
+                writeString(state, course.getCourseId());
+            }
+            // Subject names are stored too, since a student keeps subjects that were later removed from their course
+            state.writeInt(student.getEnrolledSubjects().size());
+            for (Subject subject : student.getEnrolledSubjects()) {
+                writeString(state, subject.getSubjectId());
+                writeString(state, subject.getSubjectName());
+            }
+            IntIntMap scores = student.getExamScores();
+            int scoreCount = scores.size(); // No score changes while the snapshot is written
+            state.writeInt(scoreCount);
+            for (int i = 0; i < scoreCount; i++) {
+                writeString(state, Ids.format(Ids.SUBJECT, scores.keyAt(i)));
+                state.writeInt(scores.valueAt(i));
+            }
+
+            out.writeInt(stateBuffer.size());
+            stateBuffer.writeTo(out);
+        }
+    }
+
+    static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IOException("String too long for snapshot: " + bytes.length + " bytes");
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Maps the snapshot into memory and builds the catalog and users from it.
+     * Each student's enrollments and scores stay in the mapped file until first accessed.
+     */
+    private void readSnapshot(Catalog catalog, UserDirectory users) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot larger than 2 GB cannot be mapped: " + snapshotFile);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()); // Stays valid after the channel is closed
+        }
+        SnapshotImage image = new SnapshotImage(buffer, catalog);
+        mappedSnapshots.put(snapshotFile, image);
+        if (image.readInt() != SNAPSHOT_MAGIC) {
+            throw new IOException("Not a snapshot file: " + snapshotFile);
+        }
+        Student.resumeIdsFrom(image.readInt());
+        Course.resumeIdsFrom(image.readInt());
+        Subject.resumeIdsFrom(image.readInt());
+        Exam.resumeIdsFrom(image.readInt());
+
+        int courseCount = image.readInt();
+        for (int i = 0; i < courseCount; i++) {
+            Course course = new Course(image.readString(), image.readString());
+            int subjectCount = image.readInt();
+            for (int j = 0; j < subjectCount; j++) {
+                course.addSubject(new Subject(image.readString(), image.readString()));
+            }
+            catalog.addCourse(course);
+        }
+
+        int examCount = image.readInt();
+        for (int i = 0; i < examCount; i++) {
+            String examId = image.readString();
+            String subjectId = image.readString();
+            String subjectName = image.readString();
+            int questionCount = image.readInt();
+            List<Question> questions = new ArrayList<>(questionCount);
+            for (int j = 0; j < questionCount; j++) {
+                String text = image.readString();
+                int optionCount = image.readInt();
+                List<String> options = new ArrayList<>(optionCount);
+                for (int k = 0; k < optionCount; k++) {
+                    options.add(image.readString());
+                }
+                questions.add(new Question(text, options, image.readInt()));
+            }
+            catalog.addExam(new Exam(examId, subjectId, subjectName, questions));
+        }
+
+        int adminCount = image.readInt();
+        for (int i = 0; i < adminCount; i++) {
+            users.addUser(new Admin(image.readString(), image.readString()));
+        }
+
+        int studentCount = image.readInt();
+        for (int i = 0; i < studentCount; i++) {
+            Student student = new Student(image.readString(), image.readString(), image.readString(), image.readString(),
+                    image.readInt(), image.readString());
+            student.attachStoredState(image, image.skipStudentState());
+            users.addUser(student);
+        }
+    }
+}
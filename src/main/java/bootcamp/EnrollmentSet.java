@@ -0,0 +1,134 @@
+package bootcamp;
+
+import java.util.Arrays;
+import java.util.AbstractCollection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.ToIntFunction;
+
+/**
+ * Insertion-ordered set of courses, subjects or students keyed by their ID number.
+ * Membership checks, adds and removals take constant (amortized) time and are safe from several threads
+ * at once; iteration returns elements in the order they were added and never fails during concurrent changes.
+ */
+class EnrollmentSet<T> extends AbstractCollection<T> {
+    private static final int REMOVED = -1; // Position of an ID whose element was removed
+
+    private final ToIntFunction<T> idOf;
+    private volatile IntIntMap indexById = new IntIntMap(); // ID number -> position in elements, or REMOVED
+    private volatile Object[] elements = NO_ELEMENTS; // Null at positions not used yet or removed from
+    private int end; // Positions used so far, including removed ones
+    private volatile int size;
+
+    private static final Object[] NO_ELEMENTS = new Object[0];
+
+    EnrollmentSet(ToIntFunction<T> idOf) {
+        this.idOf = idOf;
+    }
+
+    /**
+     * Adds an element unless one with the same ID is already present.
+     * @return true if added, false if already present.
+     */
+    @Override
+    public synchronized boolean add(T element) {
+        int id = idOf.applyAsInt(element);
+        if (indexById.get(id) >= 0) {
+            return false;
+        }
+        int count = end;
+        Object[] array = elements;
+        if (count == array.length) {
+            array = Arrays.copyOf(array, Math.max(4, count * 2));
+        }
+        array[count] = element;
+        indexById.put(id, count);
+        elements = array;
+        end = count + 1;
+        size = size + 1;
+        return true;
+    }
+
+    /**
+     * Removes the element with an ID. Its position stays empty, and iteration skips it, until half the
+     * positions are empty; the remaining elements are then copied together into a new array.
+     * @return The removed element, or null if none has that ID.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized T removeId(int id) {
+        int position = indexById.get(id);
+        if (position < 0) {
+            return null;
+        }
+        Object[] array = elements;
+        T removed = (T) array[position];
+        indexById.put(id, REMOVED);
+        array[position] = null;
+        size = size - 1;
+        if (size * 2 < end) {
+            compact(array);
+        }
+        return removed;
+    }
+
+    // Replaces the array and the index with gap-free copies; iterators already running keep the old array
+    @SuppressWarnings("unchecked")
+    private void compact(Object[] array) {
+        Object[] live = new Object[Math.max(4, size * 2)];
+        IntIntMap index = new IntIntMap();
+        int count = 0;
+        for (int i = 0; i < end; i++) {
+            if (array[i] != null) {
+                index.put(idOf.applyAsInt((T) array[i]), count);
+                live[count++] = array[i];
+            }
+        }
+        indexById = index;
+        elements = live;
+        end = count;
+    }
+
+    public boolean containsId(int id) {
+        return indexById.get(id) >= 0; // Absent keys read as IntIntMap.MISSING, which is negative too
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        Object[] array = elements; // Walked to its end: positions not used yet are null, like removed ones
+        return new Iterator<T>() {
+            private int position;
+            private Object pending = advance();
+
+            private Object advance() {
+                while (position < array.length) {
+                    Object element = array[position++];
+                    if (element != null) {
+                        return element;
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return pending != null;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (pending == null) {
+                    throw new NoSuchElementException();
+                }
+                T element = (T) pending;
+                pending = advance();
+                return element;
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,138 @@
+package bootcamp;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Enrollment matrix: which students are enrolled in each subject and course, as one RoaringBitmap
+ * of student ID numbers per subject and per course. IDs are handed out in sequence, so the bitmaps
+ * are dense and take at most 2 bytes per enrollment, and set algebra across subjects and courses
+ * (students in both, in one but not the other) runs on the bitmaps without reading any student.
+ * Students restored from a snapshot keep their enrollments in the snapshot until first accessed,
+ * so the matrix is filled from all students on the first query and kept current by record calls.
+ * Records take the lock exclusively and queries share it; queries hand out copies, never the bitmaps.
+ */
+class EnrollmentTable {
+    private final UserDirectory users;
+    private final Map<Integer, RoaringBitmap> studentsBySubject = new HashMap<>();
+    private final Map<Integer, RoaringBitmap> studentsByCourse = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean filled;
+
+    EnrollmentTable(UserDirectory users) {
+        this.users = users;
+    }
+
+    // Called after a student is newly enrolled; recording an enrollment twice has no effect
+    public void recordSubjectEnrollment(Student student, Subject subject) {
+        record(studentsBySubject, subject.getSubjectNumber(), student.getStudentNumber());
+    }
+
+    public void recordCourseEnrollment(Student student, Course course) {
+        record(studentsByCourse, course.getCourseNumber(), student.getStudentNumber());
+    }
+
+    private void record(Map<Integer, RoaringBitmap> matrix, int key, int studentNumber) {
+        lock.writeLock().lock();
+        try {
+            matrix.computeIfAbsent(key, id -> new RoaringBitmap()).add(studentNumber);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isEnrolled(int studentNumber, int subjectNumber) {
+        Student student = users.findStudentById(studentNumber);
+        return student != null && student.isEnrolledInSubject(subjectNumber);
+    }
+
+    // The ID numbers of the students in a subject or course, as a copy the caller may change
+    public RoaringBitmap studentsInSubject(int subjectNumber) {
+        return copy(studentsBySubject, subjectNumber);
+    }
+
+    public RoaringBitmap studentsInCourse(int courseNumber) {
+        return copy(studentsByCourse, courseNumber);
+    }
+
+    public int countInSubject(int subjectNumber) {
+        ensureFilled();
+        lock.readLock().lock();
+        try {
+            RoaringBitmap students = studentsBySubject.get(subjectNumber);
+            return students != null ? students.cardinality() : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts the students enrolled in both subjects, without building the intersection.
+     */
+    public int countInBothSubjects(int subjectNumber, int otherSubjectNumber) {
+        ensureFilled();
+        lock.readLock().lock();
+        try {
+            RoaringBitmap students = studentsBySubject.get(subjectNumber);
+            RoaringBitmap others = studentsBySubject.get(otherSubjectNumber);
+            return students != null && others != null ? students.andCardinality(others) : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // The students in a subject or course, in registration order
+    public List<Student> getStudentsInSubject(int subjectNumber) {
+        return resolve(studentsInSubject(subjectNumber));
+    }
+
+    public List<Student> getStudentsInCourse(int courseNumber) {
+        return resolve(studentsInCourse(courseNumber));
+    }
+
+    private List<Student> resolve(RoaringBitmap studentNumbers) {
+        List<Student> students = new ArrayList<>(studentNumbers.cardinality());
+        studentNumbers.forEach(studentNumber -> students.add(users.findStudentById(studentNumber)));
+        return students;
+    }
+
+    private RoaringBitmap copy(Map<Integer, RoaringBitmap> matrix, int key) {
+        ensureFilled();
+        lock.readLock().lock();
+        try {
+            RoaringBitmap students = matrix.get(key);
+            return students != null ? students.copy() : new RoaringBitmap();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Records every student's enrollments. A student is read (and so restored) before the lock is taken:
+    // enrollments are recorded while holding the student's monitor, so the other order could deadlock.
+    // Records made meanwhile are kept, and enrollments are never removed, so the union is complete.
+    private void ensureFilled() {
+        if (!filled) {
+            synchronized (this) {
+                if (!filled) {
+                    for (Student student : users.getStudents()) {
+                        Collection<Course> courses = student.getEnrolledCourses();
+                        Collection<Subject> subjects = student.getEnrolledSubjects();
+                        int studentNumber = student.getStudentNumber();
+                        lock.writeLock().lock();
+                        try {
+                            courses.forEach(course -> studentsByCourse.computeIfAbsent(course.getCourseNumber(), id -> new RoaringBitmap()).add(studentNumber));
+                            subjects.forEach(subject -> studentsBySubject.computeIfAbsent(subject.getSubjectNumber(), id -> new RoaringBitmap()).add(studentNumber));
+                        } finally {
+                            lock.writeLock().unlock();
+                        }
+                    }
+                    filled = true;
+                }
+            }
+        }
+    }
+}
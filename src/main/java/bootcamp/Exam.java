@@ -0,0 +1,136 @@
+package bootcamp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger; // For generating unique IDs
+
+/**
+ * The Exam class represents an exam for a specific subject, composed of a list of questions.
+ */
+class Exam {
+    private final int examId; // Shown as "EXAM" + number, see Ids
+    private final int subjectId;
+    private String subjectName; // Stored for convenience in display
+    private List<Question> questions;
+    private volatile AnswerKey answerKey; // Packed once on first batch grading
+    private volatile QuestionBank questionBank; // Built on the first attempt
+
+    // Larger exams are sampled, so each attempt gets its own paper
+    static final int QUESTIONS_PER_ATTEMPT = 20;
+
+    // Static counter to generate unique exam IDs
+    private static final AtomicInteger idCounter = new AtomicInteger(1);
+
+    
+    public Exam(int subjectNumber, String subjectName, List<Question> questions) {
+        this.examId = idCounter.getAndIncrement();
+        this.subjectId = subjectNumber;
+        this.subjectName = subjectName;
+        this.questions = questions;
+    }
+
+    /**
+     * Constructor used when restoring an exam from storage with its original ID.
+     */
+    Exam(String examId, String subjectId, String subjectName, List<Question> questions) {
+        this.examId = Ids.parseOrThrow(Ids.EXAM, examId);
+        this.subjectId = Ids.parseOrThrow(Ids.SUBJECT, subjectId);
+        this.subjectName = subjectName;
+        this.questions = questions;
+        resumeIdsFrom(this.examId + 1);
+    }
+
+    private Exam(int examId, int subjectNumber, String subjectName, List<Question> questions) {
+        this.examId = examId;
+        this.subjectId = subjectNumber;
+        this.subjectName = subjectName;
+        this.questions = questions;
+    }
+
+    /**
+     * The same exam with more questions appended to its bank. It keeps its ID, so attempts stay numbered
+     * and seeded as before, and an earlier attempt's paper is drawn again from the bank's first questions.
+     */
+    Exam withQuestionsAdded(List<Question> added) {
+        List<Question> all = new ArrayList<>(questions.size() + added.size());
+        all.addAll(questions);
+        all.addAll(added);
+        return new Exam(examId, subjectId, subjectName, all);
+    }
+
+    static int peekNextId() {
+        return idCounter.get();
+    }
+
+    static void resumeIdsFrom(int nextId) {
+        idCounter.accumulateAndGet(nextId, Math::max);
+    }
+
+    // Getter methods for exam properties
+    public String getExamId() {
+        return Ids.format(Ids.EXAM, examId);
+    }
+
+    public int getExamNumber() {
+        return examId;
+    }
+
+    public String getSubjectId() {
+        return Ids.format(Ids.SUBJECT, subjectId);
+    }
+
+    public int getSubjectNumber() {
+        return subjectId;
+    }
+
+    public String getSubjectName() {
+        return subjectName;
+    }
+
+    public List<Question> getQuestions() {
+        return questions;
+    }
+
+    public AnswerKey getAnswerKey() {
+        AnswerKey key = answerKey;
+        if (key == null) {
+            key = new AnswerKey(questions); // Packing twice from two threads is harmless
+            answerKey = key;
+        }
+        return key;
+    }
+
+    // Questions on each attempt's paper, and so the maximum score
+    public int getQuestionsPerAttempt() {
+        return Math.min(questions.size(), QUESTIONS_PER_ATTEMPT);
+    }
+
+    // A score out of every question in the bank, as from an answer sheet, on the scale of one attempt's paper (rounded)
+    public int toPaperScore(int bankScore) {
+        int bankSize = questions.size();
+        return bankSize <= QUESTIONS_PER_ATTEMPT ? bankScore : (bankScore * QUESTIONS_PER_ATTEMPT + bankSize / 2) / bankSize;
+    }
+
+    public QuestionBank getQuestionBank() {
+        QuestionBank bank = questionBank;
+        if (bank == null) {
+            bank = new QuestionBank(questions);
+            questionBank = bank;
+        }
+        return bank;
+    }
+
+    // The paper for a student's attempt; the same attempt always gets the same paper
+    public ExamPaper drawPaper(Student student, int attempt) {
+        return drawPaper(student, attempt, questions.size());
+    }
+
+    /**
+     * The paper an attempt got when the bank held its first bankSize questions (see AttemptLog.getBankSize).
+     * Questions are only ever appended, so that is the bank the paper was drawn from.
+     */
+    public ExamPaper drawPaper(Student student, int attempt, int bankSize) {
+        QuestionBank bank = bankSize == questions.size() ? getQuestionBank() : new QuestionBank(questions.subList(0, bankSize));
+        return bank.draw(QuestionBank.paperSeed(examId, student.getStudentNumber(), attempt), Math.min(bankSize, QUESTIONS_PER_ATTEMPT));
+    }
+}
@@ -0,0 +1,69 @@
+package bootcamp;
+
+import java.io.PrintStream;
+
+/**
+ * The questions of one attempt, as indexes into the bank, and the order each question's options are shown in.
+ * Answers are given and recorded as the bank's option indexes, so they compare directly with
+ * Question.getCorrectOptionIndex whatever order the options were shown in.
+ */
+class ExamPaper {
+    private final QuestionBank bank;
+    private final int[] questionIndexes;
+    private final byte[] optionOrder; // optionOrder[i * stride + shown] = bank option index
+    private final int stride;
+
+    ExamPaper(QuestionBank bank, int[] questionIndexes, byte[] optionOrder, int stride) {
+        this.bank = bank;
+        this.questionIndexes = questionIndexes;
+        this.optionOrder = optionOrder;
+        this.stride = stride;
+    }
+
+    public int size() {
+        return questionIndexes.length;
+    }
+
+    public Question getQuestion(int i) {
+        return bank.getQuestion(questionIndexes[i]);
+    }
+
+    public int getBankIndex(int i) {
+        return questionIndexes[i];
+    }
+
+    // Converts the 0-indexed position an option was shown at into the bank's option index
+    public int toBankOption(int i, int shown) {
+        return optionOrder[i * stride + shown];
+    }
+
+    public int toShownOption(int i, int bankOption) {
+        int base = i * stride;
+        for (int shown = 0; shown < stride; shown++) {
+            if (optionOrder[base + shown] == bankOption) {
+                return shown;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Displays a question with its options in this paper's order.
+     * @param out The stream of the session taking the exam.
+     */
+    public void displayQuestion(int i, PrintStream out) {
+        getQuestion(i).writeTo(out, optionOrder, i * stride);
+    }
+
+
+    // Scores answers given as bank option indexes, one per question of this paper
+    public int grade(int[] answers) {
+        int score = 0;
+        for (int i = 0; i < questionIndexes.length; i++) {
+            if (answers[i] == getQuestion(i).getCorrectOptionIndex()) {
+                score++;
+            }
+        }
+        return score;
+    }
+}
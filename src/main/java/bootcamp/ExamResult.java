@@ -0,0 +1,76 @@
+package bootcamp;
+
+/**
+ * One student's result for one subject, as shown in result reports.
+ * Built once from the catalog and rebuilt only when the score, the exam or the subject changes.
+ */
+class ExamResult {
+    static final double PASS_RATIO = 0.6; // e.g. 3 out of 5 questions
+
+    private final int subjectId;
+    private final String subjectName;
+    private final int score;
+    private final int maxScore;
+    private final int percentage;
+    private final boolean passed;
+
+    private ExamResult(int subjectId, String subjectName, int score, int maxScore) {
+        this.subjectId = subjectId;
+        this.subjectName = subjectName;
+        this.score = score;
+        this.maxScore = maxScore;
+        this.percentage = percentage(score, maxScore);
+        this.passed = isPass(score, maxScore);
+    }
+
+    static boolean isPass(int score, int maxScore) {
+        return score >= maxScore * PASS_RATIO;
+    }
+
+    static int percentage(int score, int maxScore) {
+        return maxScore > 0 ? score * 100 / maxScore : 0;
+    }
+
+    static int maxScore(Catalog catalog, int subjectId) {
+        Exam exam = catalog.getExamForSubject(subjectId);
+        return exam != null ? exam.getQuestionsPerAttempt() : 0; // 0 if no exam found for this subject
+    }
+
+    static ExamResult of(Catalog catalog, int subjectId, int score) {
+        Subject subject = catalog.getSubject(subjectId);
+        return new ExamResult(subjectId, subject != null ? subject.getSubjectName() : "Unknown Subject", score,
+                maxScore(catalog, subjectId));
+    }
+
+    ExamResult withScore(int newScore) {
+        return new ExamResult(subjectId, subjectName, newScore, maxScore);
+    }
+
+    public String getSubjectId() {
+        return Ids.format(Ids.SUBJECT, subjectId);
+    }
+
+    public int getSubjectNumber() {
+        return subjectId;
+    }
+
+    public String getSubjectName() {
+        return subjectName;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getMaxScore() {
+        return maxScore;
+    }
+
+    public int getPercentage() {
+        return percentage;
+    }
+
+    public boolean isPassed() {
+        return passed;
+    }
+}
@@ -0,0 +1,50 @@
+package bootcamp;
+
+/**
+ * Prefixed display form of the numeric IDs kept by students, courses, subjects and exams.
+ * The model stores plain ints; the "STU1000"-style text is only built for display and storage
+ * and parsed back where an ID is typed in or read from a file.
+ */
+class Ids {
+    static final String STUDENT = "STU";
+    static final String COURSE = "COU";
+    static final String SUBJECT = "SUB";
+    static final String EXAM = "EXAM";
+
+    private Ids() {
+    }
+
+    static String format(String prefix, int number) {
+        return prefix + number;
+    }
+
+    /**
+     * Parses a prefixed ID, ignoring the case of the prefix.
+     * @return The ID number, or -1 if the text is not a valid ID with that prefix.
+     */
+    static int parse(String prefix, String text) {
+        int length = text.length();
+        int start = prefix.length();
+        if (length <= start || length - start > 9 || !text.regionMatches(true, 0, prefix, 0, start)) {
+            return -1; // At most 9 digits, so the number always fits in an int
+        }
+        int number = 0;
+        for (int i = start; i < length; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            number = number * 10 + digit;
+        }
+        return number;
+    }
+
+    // For IDs read back from storage, where a malformed ID means the data is damaged
+    static int parseOrThrow(String prefix, String text) {
+        int number = parse(prefix, text);
+        if (number < 0) {
+            throw new IllegalArgumentException("Invalid ID: " + text);
+        }
+        return number;
+    }
+}
@@ -0,0 +1,143 @@
+package bootcamp;
+
+import java.util.Arrays;
+
+/**
+ * Insertion-ordered map from int keys to int values, stored as one int array with no boxing.
+ * Maps with more than a few entries also get an open-addressing index for constant-time lookups.
+ * Writers are serialized on the map; readers take no lock and see every entry whose put
+ * completed before their read began. Entries cannot be removed.
+ */
+class IntIntMap {
+    static final int MISSING = Integer.MIN_VALUE; // Returned by get for absent keys
+    private static final int SCAN_LIMIT = 8; // Up to this size a linear scan beats hashing
+    private static final int[] NO_ENTRIES = new int[0];
+
+    /** Receives entries from forEach. */
+    interface EntryConsumer {
+        void accept(int key, int value);
+    }
+
+    private volatile int[] entries = NO_ENTRIES; // key, value, key, value, ... in insertion order
+    private volatile int[] slots; // Entry index + 1 per hash slot, 0 = empty; null while the map is small
+    private volatile int size;
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsKey(int key) {
+        int count = size;
+        return indexOf(key, count, entries) >= 0;
+    }
+
+    public int get(int key) {
+        int count = size; // Read first: entries and slots are always at least this current
+        int[] table = entries;
+        int index = indexOf(key, count, table);
+        return index >= 0 ? table[2 * index + 1] : MISSING;
+    }
+
+    // Sets the value for a key, adding the key at the end if it is new
+    public synchronized void put(int key, int value) {
+        int count = size;
+        int index = indexOf(key, count, entries);
+        if (index >= 0) {
+            entries[2 * index + 1] = value;
+            size = count; // Volatile write publishes the new value
+        } else {
+            append(key, value, count);
+        }
+    }
+
+    /**
+     * Adds the key with the given value unless it is already present.
+     * @return true if added, false if the key was already present.
+     */
+    public synchronized boolean putIfAbsent(int key, int value) {
+        int count = size;
+        if (indexOf(key, count, entries) >= 0) {
+            return false;
+        }
+        append(key, value, count);
+        return true;
+    }
+
+    public void forEach(EntryConsumer consumer) {
+        int count = size;
+        int[] table = entries;
+        for (int i = 0; i < count; i++) {
+            consumer.accept(table[2 * i], table[2 * i + 1]);
+        }
+    }
+
+    public int keyAt(int index) {
+        return entries[2 * index];
+    }
+
+    public int valueAt(int index) {
+        return entries[2 * index + 1];
+    }
+
+    private int indexOf(int key, int count, int[] table) {
+        int[] index = slots;
+        if (index == null) {
+            for (int i = 0; i < count; i++) {
+                if (table[2 * i] == key) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        int mask = index.length - 1;
+        for (int slot = mix(key) & mask; index[slot] != 0; slot = (slot + 1) & mask) {
+            int i = index[slot] - 1;
+            if (i < count && table[2 * i] == key) { // Entries added after our size read are ignored
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void append(int key, int value, int count) {
+        int[] table = entries;
+        if (2 * count == table.length) {
+            table = Arrays.copyOf(table, Math.max(8, table.length * 2));
+        }
+        table[2 * count] = key;
+        table[2 * count + 1] = value;
+        entries = table;
+        if (count + 1 > SCAN_LIMIT) {
+            int[] index = slots;
+            if (index == null || (count + 1) * 2 > index.length) {
+                index = new int[Integer.highestOneBit(count + 1) * 4]; // Keeps the index at most half full
+                for (int i = 0; i < count; i++) {
+                    insertSlot(index, table[2 * i], i);
+                }
+                insertSlot(index, key, count);
+                slots = index;
+            } else {
+                insertSlot(index, key, count);
+            }
+        }
+        size = count + 1; // Published last, so readers never see a half-added entry
+    }
+
+    private static void insertSlot(int[] index, int key, int entryIndex) {
+        int mask = index.length - 1;
+        int slot = mix(key) & mask;
+        while (index[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        index[slot] = entryIndex + 1;
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9; // IDs are sequential; spread them over the table
+        return h ^ (h >>> 16);
+    }
+}
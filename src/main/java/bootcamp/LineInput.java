@@ -0,0 +1,168 @@
+package bootcamp;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Line-oriented input for a session. Bytes are buffered and split into lines, and numbers are parsed
+ * straight from the buffered bytes: a line that is not a number gives NOT_A_NUMBER instead of an exception.
+ * Subclasses supply the bytes: StreamLineInput reads a blocking stream such as the console, and
+ * ChannelLineInput reads a connection that SessionServer's selector watches.
+ */
+abstract class LineInput {
+    static final int NOT_A_NUMBER = Integer.MIN_VALUE;
+    private static final int MAX_LINE_BYTES = 64 * 1024; // Longer lines end the session
+
+    private byte[] buffer = new byte[4096];
+    private int start; // Unread bytes are buffer[start, end)
+    private int end;
+    private boolean ended;
+    private long waitNanos; // Time spent waiting for input
+
+    /** Total time spent waiting for input so far. */
+    public long waitNanos() {
+        return waitNanos;
+    }
+
+    /** Input read from a String, for scripted sessions. */
+    static LineInput of(String text) {
+        return new StreamLineInput(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Reads the next line, without its line ending.
+     * @throws NoSuchElementException At the end of the input.
+     */
+    public String readLine() {
+        int lineEnd = nextLineEnd();
+        String line = new String(buffer, start, textEnd(lineEnd) - start, StandardCharsets.UTF_8);
+        start = lineEnd < end ? lineEnd + 1 : end;
+        return line;
+    }
+
+    /**
+     * Reads the next line as a whole number, ignoring spaces around it.
+     * @return The number, or NOT_A_NUMBER if the line is not one.
+     * @throws NoSuchElementException At the end of the input.
+     */
+    public int readInt() {
+        int lineEnd = nextLineEnd();
+        int number = parseInt(buffer, start, textEnd(lineEnd));
+        start = lineEnd < end ? lineEnd + 1 : end;
+        return number;
+    }
+
+    /**
+     * Parses a whole number from text[from, to), ignoring spaces around it.
+     * @return The number, or NOT_A_NUMBER if the text is not one or does not fit in an int.
+     */
+    static int parseInt(CharSequence text, int from, int to) {
+        while (from < to && isSpace(text.charAt(from))) {
+            from++;
+        }
+        while (to > from && isSpace(text.charAt(to - 1))) {
+            to--;
+        }
+        boolean negative = from < to && text.charAt(from) == '-';
+        if (from < to && (negative || text.charAt(from) == '+')) {
+            from++;
+        }
+        if (from == to || to - from > 10) {
+            return NOT_A_NUMBER;
+        }
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return NOT_A_NUMBER;
+            }
+            value = value * 10 + digit;
+        }
+        return toInt(negative ? -value : value);
+    }
+
+    private static int parseInt(byte[] bytes, int from, int to) {
+        while (from < to && isSpace(bytes[from])) {
+            from++;
+        }
+        while (to > from && isSpace(bytes[to - 1])) {
+            to--;
+        }
+        boolean negative = from < to && bytes[from] == '-';
+        if (from < to && (negative || bytes[from] == '+')) {
+            from++;
+        }
+        if (from == to || to - from > 10) {
+            return NOT_A_NUMBER;
+        }
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return NOT_A_NUMBER;
+            }
+            value = value * 10 + digit;
+        }
+        return toInt(negative ? -value : value);
+    }
+
+    private static int toInt(long value) {
+        return value > Integer.MIN_VALUE && value <= Integer.MAX_VALUE ? (int) value : NOT_A_NUMBER;
+    }
+
+    private static boolean isSpace(int c) {
+        return c == ' ' || c == '\t';
+    }
+
+    // Drops a '\r' before the line's '\n'
+    private int textEnd(int lineEnd) {
+        return lineEnd > start && buffer[lineEnd - 1] == '\r' ? lineEnd - 1 : lineEnd;
+    }
+
+    // Index of the next line's '\n', or the end of the buffered bytes if the input ends without one
+    private int nextLineEnd() {
+        int scanned = start;
+        while (true) {
+            for (int i = scanned; i < end; i++) {
+                if (buffer[i] == '\n') {
+                    return i;
+                }
+            }
+            scanned = end;
+            if (ended) {
+                if (start == end) {
+                    throw new NoSuchElementException("No line found");
+                }
+                return end;
+            }
+            if (end == buffer.length) {
+                if (start > 0) { // Move the partial line to the front
+                    System.arraycopy(buffer, start, buffer, 0, end - start);
+                    scanned -= start;
+                    end -= start;
+                    start = 0;
+                } else if (buffer.length < MAX_LINE_BYTES) {
+                    buffer = Arrays.copyOf(buffer, Math.min(buffer.length * 2, MAX_LINE_BYTES));
+                } else {
+                    throw new NoSuchElementException("Line too long");
+                }
+            }
+            long waitStart = System.nanoTime();
+            int read = read(buffer, end, buffer.length - end);
+            waitNanos += System.nanoTime() - waitStart;
+            if (read < 0) {
+                ended = true;
+            } else {
+                end += read;
+            }
+        }
+    }
+
+    /**
+     * Reads at least one byte into into[offset, offset + length), waiting for input if there is none yet.
+     * @return The number of bytes read, or -1 at the end of the input.
+     */
+    protected abstract int read(byte[] into, int offset, int length);
+}
@@ -0,0 +1,46 @@
+package bootcamp;
+
+import java.io.PrintStream;
+
+/**
+ * Renders listings into a reusable StringBuilder and writes it to the session's stream in large blocks.
+ * The session's PrintStream locks and flushes on every print call, which dominates the cost of
+ * printing thousands of lines one field at a time.
+ */
+class ListingWriter {
+    private static final int BLOCK_SIZE = 32 * 1024; // Characters collected before a write
+
+    private final PrintStream out;
+    private final StringBuilder text = new StringBuilder(BLOCK_SIZE + 1024);
+
+    public ListingWriter(PrintStream out) {
+        this.out = out;
+    }
+
+    // The buffer to render into; call endLine or flush after each line
+    public StringBuilder text() {
+        return text;
+    }
+
+    public ListingWriter line(String line) {
+        text.append(line);
+        return endLine();
+    }
+
+    public ListingWriter endLine() {
+        text.append('\n');
+        if (text.length() >= BLOCK_SIZE) {
+            flush();
+        }
+        return this;
+    }
+
+    // Writes everything rendered so far, e.g. before prompting for input
+    public void flush() {
+        if (text.length() > 0) {
+            out.append(text);
+            text.setLength(0);
+        }
+        out.flush();
+    }
+}
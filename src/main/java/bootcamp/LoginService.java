@@ -0,0 +1,219 @@
+package bootcamp;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Verifies passwords on a small, bounded pool of worker threads, so a login storm queues up instead of
+ * taking every core from running sessions. Waiting logins are bounded too: a login that cannot get a
+ * place within ADMISSION_TIMEOUT_MILLIS is turned away as busy.
+ * A successful login returns a session token, which resumes a session through resume() without a password
+ * and without hashing, until the token expires.
+ */
+class LoginService {
+    static final long TOKEN_LIFETIME_MILLIS = 30 * 60 * 1000L;
+    static final long ADMISSION_TIMEOUT_MILLIS = 5_000;
+    private static final int MAX_TOKENS = 100_000;
+
+    /** How a login ended. */
+    enum Outcome { ACCEPTED, REJECTED, BUSY }
+
+    /** Result of a login: the user and a session token when accepted. */
+    static final class Result {
+        final Outcome outcome;
+        final User user;
+        final String token;
+        final String newCredential; // Hash to store in place of an outdated credential, or null
+        final String checkedCredential; // The stored credential the password was checked against, when newCredential is set
+
+        Result(Outcome outcome, User user, String token, String newCredential, String checkedCredential) {
+            this.outcome = outcome;
+            this.user = user;
+            this.token = token;
+            this.newCredential = newCredential;
+            this.checkedCredential = checkedCredential;
+        }
+    }
+
+    // Hashed on first use; unknown usernames are checked against it so they take as long as a wrong password
+    private static final class UnknownUser {
+        static final String CREDENTIAL = Credentials.hash("unknown user");
+    }
+
+    private static final Result REJECTED = new Result(Outcome.REJECTED, null, null, null, null);
+    private static final Result BUSY = new Result(Outcome.BUSY, null, null, null, null);
+
+    private static final class Token {
+        final User user;
+        final long expiresAt;
+
+        Token(User user, long expiresAt) {
+            this.user = user;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final ExecutorService workers;
+    private final Semaphore places; // Running plus queued verifications
+    private final Map<String, Token> tokens = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+
+    LoginService() {
+        this(Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+    }
+
+    // Queues about ADMISSION_TIMEOUT_MILLIS of hashing per worker, so a queued login is rarely kept waiting longer
+    LoginService(int workerCount) {
+        this(workerCount, 32);
+    }
+
+    LoginService(int workerCount, int queueCapacity) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workerCount + queueCapacity), task -> { // Room for every place, so only places limit admission
+                    Thread thread = new Thread(task, "login-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.places = new Semaphore(workerCount + queueCapacity);
+    }
+
+    /**
+     * Checks a user's password. Blocks the calling session until a worker has checked it.
+     * @param user The user with that username, or null if there is none.
+     */
+    public Result login(User user, String password) {
+        Result result = run(() -> {
+            if (user == null) {
+                Credentials.verify(password, UnknownUser.CREDENTIAL);
+                return REJECTED;
+            }
+            String credential = user.getCredential();
+            if (!Credentials.verify(password, credential)) {
+                return REJECTED;
+            }
+            String newCredential = Credentials.needsRehash(credential) ? Credentials.hash(password) : null;
+            return new Result(Outcome.ACCEPTED, user, issueToken(user), newCredential, newCredential != null ? credential : null);
+        }, true);
+        return result != null ? result : BUSY;
+    }
+
+    /**
+     * Resumes a session with the token from an earlier login, checked against the token cache without hashing.
+     * @return The token's user, or REJECTED if the token is unknown or has expired.
+     */
+    public Result resume(String token) {
+        Token found = tokens.get(token);
+        if (found == null) {
+            return REJECTED;
+        }
+        if (found.expiresAt <= System.currentTimeMillis()) {
+            tokens.remove(token, found);
+            return REJECTED;
+        }
+        return new Result(Outcome.ACCEPTED, found.user, token, null, null);
+    }
+
+    /**
+     * Replaces each user's plaintext credential with a hash, hashing on the workers in parallel.
+     * Waits for places instead of turning the work away, since it is not run for a waiting person.
+     * @throws IllegalStateException If interrupted or closed before every password is hashed.
+     */
+    public void hashPasswords(List<? extends User> users) {
+        List<Future<?>> hashed = new ArrayList<>(users.size());
+        for (User user : users) {
+            Future<?> future = submit(() -> {
+                user.setCredential(Credentials.hash(user.getCredential()));
+                return null;
+            }, false);
+            if (future == null) {
+                throw new IllegalStateException("Passwords were not hashed: interrupted or the login service is closed");
+            }
+            hashed.add(future);
+        }
+        for (Future<?> done : hashed) {
+            await(done);
+            if (!done.isDone()) {
+                throw new IllegalStateException("Passwords were not hashed: interrupted while waiting");
+            }
+        }
+    }
+
+    // Issues a token for the user, or returns null if the cache is full of unexpired tokens
+    String issueToken(User user) {
+        long now = System.currentTimeMillis();
+        if (tokens.size() >= MAX_TOKENS) {
+            tokens.values().removeIf(token -> token.expiresAt <= now);
+            if (tokens.size() >= MAX_TOKENS) {
+                return null;
+            }
+        }
+        byte[] bytes = new byte[24];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        tokens.put(token, new Token(user, now + TOKEN_LIFETIME_MILLIS));
+        return token;
+    }
+
+    public void close() {
+        workers.shutdown();
+    }
+
+    private <T> T run(Callable<T> task, boolean mayRefuse) {
+        Future<T> future = submit(task, mayRefuse);
+        return future != null ? await(future) : null;
+    }
+
+    // Submits a task once a place is free; null if mayRefuse and none freed up within the admission timeout
+    private <T> Future<T> submit(Callable<T> task, boolean mayRefuse) {
+        try {
+            if (mayRefuse) {
+                if (!places.tryAcquire(ADMISSION_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    return null;
+                }
+            } else {
+                places.acquire();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        try {
+            return workers.submit(() -> {
+                try {
+                    return task.call();
+                } finally {
+                    places.release();
+                }
+            });
+        } catch (RejectedExecutionException e) { // Shut down
+            places.release();
+            return null;
+        }
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password check failed", e.getCause());
+        }
+    }
+}
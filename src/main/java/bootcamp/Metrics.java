@@ -0,0 +1,175 @@
+package bootcamp;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.ReflectionException;
+
+/**
+ * Calls and service times of the menu actions, and gauges for the size of the data. An action's service
+ * time is how long it took minus the time it spent waiting for the user's input. Recording allocates
+ * nothing, so it can stay on in production. Readable over JMX as bootcamp:type=Metrics, and as text
+ * (see render), which the system dumps to metrics.txt in its data directory.
+ */
+class Metrics implements DynamicMBean {
+    static final String OBJECT_NAME = "bootcamp:type=Metrics";
+
+    /** The instrumented actions, named after their methods. */
+    enum Operation {
+        LOGIN("loginUser"),
+        RESUME_SESSION("resumeSession"),
+        REGISTER("registerNewStudent"),
+        ADD_COURSE("addCourse"),
+        MANAGE_COURSE_SUBJECTS("manageCourseSubjects"),
+        VIEW_ALL_STUDENTS("viewAllRegisteredStudents"),
+        VIEW_STUDENT_RESULTS("viewStudentExamResults"),
+        VIEW_SCORE_STATISTICS("viewScoreStatistics"),
+        VIEW_AVAILABLE_COURSES("viewAvailableCourses"),
+        TAKE_EXAM("takeExam"),
+        VIEW_MY_RESULT("viewMyExamResult"),
+        SELECT_COURSE_AND_SUBJECTS("studentSelectCourseAndSubjects"),
+        SEARCH_STUDENTS("searchStudents");
+
+        final String methodName;
+
+        Operation(String methodName) {
+            this.methodName = methodName;
+        }
+    }
+
+    private final LongAdder[] calls = new LongAdder[Operation.values().length];
+    private final LatencyHistogram[] serviceTimes = new LatencyHistogram[Operation.values().length];
+    private final LongAdder[] inputWaits = new LongAdder[Operation.values().length];
+    private final Map<String, LongSupplier> gauges = new LinkedHashMap<>();
+    private final Map<String, LongSupplier> attributes = new LinkedHashMap<>(); // JMX attributes, in MBeanInfo order
+
+    Metrics() {
+        for (Operation operation : Operation.values()) {
+            int i = operation.ordinal();
+            calls[i] = new LongAdder();
+            serviceTimes[i] = new LatencyHistogram();
+            inputWaits[i] = new LongAdder();
+            String name = Character.toUpperCase(operation.methodName.charAt(0)) + operation.methodName.substring(1);
+            attributes.put(name + "Calls", calls[i]::sum);
+            attributes.put(name + "P50Micros", () -> serviceTimes[i].percentile(0.5) / 1_000);
+            attributes.put(name + "P99Micros", () -> serviceTimes[i].percentile(0.99) / 1_000);
+            attributes.put(name + "P999Micros", () -> serviceTimes[i].percentile(0.999) / 1_000);
+            attributes.put(name + "MaxMicros", () -> serviceTimes[i].max() / 1_000);
+            attributes.put(name + "InputWaitMillis", () -> inputWaits[i].sum() / 1_000_000);
+        }
+    }
+
+    /**
+     * Adds a gauge, read whenever the metrics are. Add gauges before the metrics are published.
+     */
+    void addGauge(String name, LongSupplier value) {
+        gauges.put(name, value);
+        attributes.put(Character.toUpperCase(name.charAt(0)) + name.substring(1), value);
+    }
+
+    /**
+     * Records one call of an action.
+     * @param startNanos System.nanoTime() when the action started.
+     * @param inputWaitNanos Time the action spent waiting for input, left out of its service time.
+     */
+    public void record(Operation operation, long startNanos, long inputWaitNanos) {
+        int i = operation.ordinal();
+        calls[i].increment();
+        serviceTimes[i].record(System.nanoTime() - startNanos - inputWaitNanos);
+        inputWaits[i].add(inputWaitNanos);
+    }
+
+    public long calls(Operation operation) {
+        return calls[operation.ordinal()].sum();
+    }
+
+    public LatencyHistogram serviceTime(Operation operation) {
+        return serviceTimes[operation.ordinal()];
+    }
+
+    /**
+     * Renders every gauge and action as text: one "name value" line per gauge, then a table of actions.
+     */
+    public String render() {
+        StringBuilder text = new StringBuilder();
+        text.append("# Student Management System metrics at ").append(java.time.Instant.now()).append('\n');
+        gauges.forEach((name, value) -> text.append(name).append(' ').append(value.getAsLong()).append('\n'));
+        text.append(String.format("%n%-32s %10s %10s %10s %10s %10s %14s%n",
+                "action", "calls", "p50 us", "p99 us", "p99.9 us", "max us", "input wait ms"));
+        for (Operation operation : Operation.values()) {
+            int i = operation.ordinal();
+            LatencyHistogram histogram = serviceTimes[i];
+            text.append(String.format("%-32s %10d %10d %10d %10d %10d %14d%n", operation.methodName, calls[i].sum(),
+                    histogram.percentile(0.5) / 1_000, histogram.percentile(0.99) / 1_000, histogram.percentile(0.999) / 1_000,
+                    histogram.max() / 1_000, inputWaits[i].sum() / 1_000_000));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Writes the rendered metrics to a file, replacing it in one step so readers never see half a dump.
+     */
+    public void writeTo(Path file) throws IOException {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temporary, render().getBytes(StandardCharsets.UTF_8));
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+        LongSupplier value = attributes.get(attribute);
+        if (value == null) {
+            throw new AttributeNotFoundException(attribute);
+        }
+        return value.getAsLong();
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] names) {
+        AttributeList list = new AttributeList();
+        for (String name : names) {
+            LongSupplier value = attributes.get(name);
+            if (value != null) {
+                list.add(new Attribute(name, value.getAsLong()));
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException("Metrics are read-only: " + attribute.getName());
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList list) {
+        return new AttributeList(); // Read-only: nothing set
+    }
+
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) throws ReflectionException {
+        throw new ReflectionException(new NoSuchMethodException(actionName));
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        MBeanAttributeInfo[] infos = new MBeanAttributeInfo[attributes.size()];
+        int i = 0;
+        for (String name : attributes.keySet()) {
+            infos[i++] = new MBeanAttributeInfo(name, "long", name, true, false, false);
+        }
+        return new MBeanInfo(Metrics.class.getName(), "Student Management System metrics", infos, null, null, null);
+    }
+}
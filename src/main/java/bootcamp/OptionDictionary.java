@@ -0,0 +1,52 @@
+package bootcamp;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Flyweight store of answer options: each distinct option text is kept once, already encoded as the
+ * UTF-8 line written when it is displayed. The lines are held in an open-addressing table, so an entry
+ * costs its bytes and one slot. Entries are never removed; banks reuse a small set of options
+ * ("True", "False", common distractors), so the dictionary stays small.
+ */
+class OptionDictionary {
+    private byte[][] lines = new byte[64][]; // Open-addressing table, null = empty slot
+    private int size;
+
+    // Returns the shared line for the text (UTF-8 text and a newline), adding it if it is new
+    public synchronized byte[] intern(String text) {
+        byte[] line = (text + "\n").getBytes(StandardCharsets.UTF_8);
+        int mask = lines.length - 1;
+        int slot = Arrays.hashCode(line) & mask;
+        for (byte[] stored = lines[slot]; stored != null; stored = lines[slot]) {
+            if (Arrays.equals(stored, line)) {
+                return stored;
+            }
+            slot = (slot + 1) & mask;
+        }
+        lines[slot] = line;
+        if (++size * 2 > lines.length) {
+            grow();
+        }
+        return line;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private void grow() {
+        byte[][] old = lines;
+        lines = new byte[old.length * 2][];
+        int mask = lines.length - 1;
+        for (byte[] line : old) {
+            if (line != null) {
+                int slot = Arrays.hashCode(line) & mask;
+                while (lines[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                lines[slot] = line;
+            }
+        }
+    }
+}
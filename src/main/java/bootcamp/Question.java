@@ -0,0 +1,102 @@
+package bootcamp;
+
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+class Question {
+    // Shared by all questions, so an option such as "True" is stored once however many questions offer it
+    private static final OptionDictionary OPTIONS = new OptionDictionary();
+
+    private final byte[] textLine; // Question text and a newline, UTF-8, as written when displaying
+    private final byte[][] options; // Shared lines from OPTIONS, UTF-8 text and a newline
+    private int correctOptionIndex; // 0-indexed, corresponding to the options list
+
+   
+    public Question(String questionText, List<String> options, int correctOptionIndex) {
+        this.textLine = (questionText + "\n").getBytes(StandardCharsets.UTF_8);
+        this.options = new byte[options.size()][];
+        for (int i = 0; i < this.options.length; i++) {
+            this.options[i] = OPTIONS.intern(options.get(i));
+        }
+        this.correctOptionIndex = correctOptionIndex;
+    }
+
+    // Getter methods for question properties
+    public String getQuestionText() {
+        return new String(textLine, 0, textLine.length - 1, StandardCharsets.UTF_8);
+    }
+
+    // Returns a new read-only list of the option texts; use getOptionCount and getOption on hot paths
+    public List<String> getOptions() {
+        String[] texts = new String[options.length];
+        for (int i = 0; i < texts.length; i++) {
+            texts[i] = getOption(i);
+        }
+        return Collections.unmodifiableList(Arrays.asList(texts));
+    }
+
+    public int getOptionCount() {
+        return options.length;
+    }
+
+    public String getOption(int index) {
+        return new String(options[index], 0, options[index].length - 1, StandardCharsets.UTF_8);
+    }
+
+    public int getCorrectOptionIndex() {
+        return correctOptionIndex;
+    }
+
+    /**
+     * Displays the question text and its options.
+     * @param out The stream of the session taking the exam.
+     */
+    public void displayQuestion(PrintStream out) {
+        writeTo(out, null, 0);
+    }
+
+    /**
+     * Writes the question and its options, numbered from 1, to the stream in one write of UTF-8 bytes
+     * copied from the stored lines, so displaying a question builds no strings.
+     * @param order Option index to show at each position, from orderStart; null for the stored order.
+     */
+    void writeTo(PrintStream out, byte[] order, int orderStart) {
+        int length = textLine.length;
+        for (int shown = 0; shown < options.length; shown++) {
+            length += numberLength(shown + 1) + 2 + options[shown].length;
+        }
+        byte[] block = new byte[length];
+        System.arraycopy(textLine, 0, block, 0, textLine.length);
+        int at = textLine.length;
+        for (int shown = 0; shown < options.length; shown++) {
+            at = writeNumber(block, at, shown + 1); // Display options as 1-indexed for user
+            block[at++] = '.';
+            block[at++] = ' ';
+            byte[] line = options[order != null ? order[orderStart + shown] : shown];
+            System.arraycopy(line, 0, block, at, line.length);
+            at += line.length;
+        }
+        out.write(block, 0, length);
+    }
+
+    private static int numberLength(int number) {
+        int length = 1;
+        while (number >= 10) {
+            number /= 10;
+            length++;
+        }
+        return length;
+    }
+
+    private static int writeNumber(byte[] block, int at, int number) {
+        int end = at + numberLength(number);
+        for (int i = end - 1; i >= at; i--) {
+            block[i] = (byte) ('0' + number % 10);
+            number /= 10;
+        }
+        return end;
+    }
+}
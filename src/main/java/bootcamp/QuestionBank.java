@@ -0,0 +1,116 @@
+package bootcamp;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * All questions set for a subject, from which each attempt draws its own paper: a seeded sample of
+ * questions in random order, with each question's options shuffled. The same seed always gives the
+ * same paper, so an attempt can be regenerated for regrading. Drawing reads the bank in place.
+ */
+class QuestionBank {
+    private static final long GAMMA = 0x9E3779B97F4A7C15L; // SplitMix64 step
+
+    private final List<Question> questions;
+    private final int maxOptions; // Option count of the widest question
+
+    QuestionBank(List<Question> questions) {
+        this.questions = questions;
+        int widest = 0;
+        for (Question question : questions) {
+            widest = Math.max(widest, question.getOptionCount());
+        }
+        this.maxOptions = widest;
+    }
+
+    // Seed of the paper for one student's attempt at an exam (attempts count from 0)
+    static long paperSeed(int examNumber, int studentNumber, int attempt) {
+        return mix(mix(((long) examNumber << 32) | (studentNumber & 0xFFFFFFFFL)) + attempt);
+    }
+
+    public int size() {
+        return questions.size();
+    }
+
+    public Question getQuestion(int index) {
+        return questions.get(index);
+    }
+
+    /**
+     * Draws a paper of the given number of questions, or of the whole bank if it is smaller.
+     */
+    public ExamPaper draw(long seed, int count) {
+        int bankSize = questions.size();
+        int paperSize = Math.min(count, bankSize);
+        long state = seed;
+        int[] picked;
+        if (paperSize * 4 >= bankSize) { // Most of the bank: shuffle every index and keep the first ones
+            picked = new int[bankSize];
+            for (int i = 0; i < bankSize; i++) {
+                picked[i] = i;
+            }
+            for (int i = 0; i < paperSize; i++) {
+                state += GAMMA;
+                swap(picked, i, i + below(mix(state), bankSize - i));
+            }
+            if (paperSize < bankSize) {
+                picked = Arrays.copyOf(picked, paperSize);
+            }
+        } else { // Floyd's sampling: distinct indexes without an array the size of the bank
+            picked = new int[paperSize];
+            int chosen = 0;
+            for (int j = bankSize - paperSize; j < bankSize; j++) {
+                state += GAMMA;
+                int candidate = below(mix(state), j + 1);
+                picked[chosen] = contains(picked, chosen, candidate) ? j : candidate;
+                chosen++;
+            }
+            for (int i = paperSize - 1; i > 0; i--) { // Floyd's picks come out partly ordered
+                state += GAMMA;
+                swap(picked, i, below(mix(state), i + 1));
+            }
+        }
+        byte[] optionOrder = new byte[paperSize * maxOptions];
+        for (int i = 0; i < paperSize; i++) {
+            int base = i * maxOptions;
+            int optionCount = questions.get(picked[i]).getOptionCount();
+            for (int option = 0; option < optionCount; option++) {
+                optionOrder[base + option] = (byte) option;
+            }
+            for (int option = optionCount - 1; option > 0; option--) {
+                state += GAMMA;
+                int other = base + below(mix(state), option + 1);
+                byte shown = optionOrder[base + option];
+                optionOrder[base + option] = optionOrder[other];
+                optionOrder[other] = shown;
+            }
+        }
+        return new ExamPaper(this, picked, optionOrder, maxOptions);
+    }
+
+    private static boolean contains(int[] values, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void swap(int[] values, int i, int j) {
+        int value = values[i];
+        values[i] = values[j];
+        values[j] = value;
+    }
+
+    // A number in [0, bound) from the high bits of a random long
+    private static int below(long random, int bound) {
+        return (int) (((random >>> 32) * bound) >>> 32);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,443 @@
+package bootcamp;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Streams students, enrollments or exam results to a CSV or JSONL file, one row at a time.
+ * Students are visited in registration order, and those whose state is still in the snapshot are read
+ * from it without being restored, so memory use stays flat whatever the number of rows.
+ * Rows are encoded straight into a direct buffer written to a file channel; a file name ending in ".gz"
+ * (such as "results.csv.gz") is gzip-compressed on the way out.
+ *
+ * CSV files start with a header naming the columns; JSONL files hold one flat JSON object per line.
+ * Columns (or keys) per kind:
+ *   students:    student, name, age, email, username
+ *   enrollments: student, type (course or subject), id, name
+ *   results:     student, subject, subject_name, score, max_score, percentage, status (PASS or FAIL)
+ */
+class ReportExporter {
+    private static final int BUFFER_SIZE = 256 * 1024;
+    private static final String[] STUDENT_COLUMNS = {"student", "name", "age", "email", "username"};
+    private static final String[] ENROLLMENT_COLUMNS = {"student", "type", "id", "name"};
+    private static final String[] RESULT_COLUMNS =
+            {"student", "subject", "subject_name", "score", "max_score", "percentage", "status"};
+
+    private final Catalog catalog;
+    private final UserDirectory users;
+    private final PrintStream out;
+
+    ReportExporter(Catalog catalog, UserDirectory users, PrintStream out) {
+        this.catalog = catalog;
+        this.users = users;
+        this.out = out;
+    }
+
+    /**
+     * Exports one kind of row to a file, replacing it, and prints the row count and throughput.
+     * @param kind One of students, enrollments or results.
+     * @return The number of rows written.
+     */
+    public long exportFile(String kind, Path file) {
+        String[] columns;
+        switch (kind.toLowerCase(Locale.ROOT)) {
+            case "students":
+                columns = STUDENT_COLUMNS;
+                break;
+            case "enrollments":
+                columns = ENROLLMENT_COLUMNS;
+                break;
+            case "results":
+                columns = RESULT_COLUMNS;
+                break;
+            default:
+                out.println("Unknown export kind '" + kind + "'. Use students, enrollments or results.");
+                return 0;
+        }
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        boolean gzip = name.endsWith(".gz");
+        boolean json = (gzip ? name.substring(0, name.length() - 3) : name).endsWith(".jsonl");
+
+        out.println("Exporting " + kind + " to " + file + "...");
+        long start = System.nanoTime();
+        try (RowWriter writer = new RowWriter(FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE), columns, json, gzip)) {
+            if (columns == STUDENT_COLUMNS) {
+                writeStudents(writer);
+            } else {
+                SnapshotImage.StateVisitor rows = columns == ENROLLMENT_COLUMNS
+                        ? new EnrollmentRows(writer) : new ResultRows(writer);
+                for (Student student : users.getStudents()) {
+                    writer.studentNumber = student.getStudentNumber();
+                    student.visitState(rows);
+                }
+            }
+            writer.finish();
+            double seconds = (System.nanoTime() - start) / 1e9;
+            out.printf("Exported %d %s rows (%.1f MB) in %.2f s, %.0f rows/s.%n", writer.rows, kind,
+                    writer.bytesWritten / 1e6, seconds, writer.rows / Math.max(seconds, 1e-9));
+            return writer.rows;
+        } catch (IOException | UncheckedIOException e) {
+            out.println("Export stopped: cannot write " + file + " (" + e.getMessage() + ").");
+            return 0;
+        }
+    }
+
+    private void writeStudents(RowWriter writer) {
+        for (Student student : users.getStudents()) {
+            writer.id(Ids.STUDENT, student.getStudentNumber());
+            writer.field(student.getName());
+            writer.field(student.getAge());
+            writer.field(student.getEmail());
+            writer.field(student.getUsername());
+            writer.endRow();
+        }
+    }
+
+    // One row per course and subject the current student is enrolled in
+    private static final class EnrollmentRows implements SnapshotImage.StateVisitor {
+        private final RowWriter writer;
+
+        EnrollmentRows(RowWriter writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void course(Course course) {
+            row("course", Ids.COURSE, course.getCourseNumber(), course.getCourseName());
+        }
+
+        @Override
+        public void subject(Subject subject) {
+            row("subject", Ids.SUBJECT, subject.getSubjectNumber(), subject.getSubjectName());
+        }
+
+        @Override
+        public void score(int subjectNumber, int score) {
+        }
+
+        private void row(String type, String prefix, int number, String name) {
+            writer.id(Ids.STUDENT, writer.studentNumber);
+            writer.field(type);
+            writer.id(prefix, number);
+            writer.field(name);
+            writer.endRow();
+        }
+    }
+
+    // One row per exam score of the current student, graded as ExamResult grades it
+    private final class ResultRows implements SnapshotImage.StateVisitor {
+        private final RowWriter writer;
+
+        ResultRows(RowWriter writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void course(Course course) {
+        }
+
+        @Override
+        public void subject(Subject subject) {
+        }
+
+        @Override
+        public void score(int subjectNumber, int score) {
+            Subject subject = catalog.getSubject(subjectNumber);
+            int maxScore = ExamResult.maxScore(catalog, subjectNumber);
+            writer.id(Ids.STUDENT, writer.studentNumber);
+            writer.id(Ids.SUBJECT, subjectNumber);
+            writer.field(subject != null ? subject.getSubjectName() : "Unknown Subject");
+            writer.field(score);
+            writer.field(maxScore);
+            writer.field(ExamResult.percentage(score, maxScore));
+            writer.field(ExamResult.isPass(score, maxScore) ? "PASS" : "FAIL");
+            writer.endRow();
+        }
+    }
+
+    /**
+     * Encodes rows as UTF-8 into a direct buffer and writes it to the channel whenever it fills up,
+     * through a raw deflater wrapped in a gzip header and trailer when compressing.
+     * Write errors surface as UncheckedIOException, since rows are written from visitors.
+     */
+    private static final class RowWriter implements Closeable {
+        private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+        private static final int MAX_CHAR_BYTES = 6; // The longest JSON escape, used for control characters
+        private static final byte[] NO_INPUT = new byte[0];
+
+        private final FileChannel channel;
+        private final String[] columns;
+        private final boolean json;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private final Deflater deflater; // Null unless compressing
+        private final ByteBuffer compressed;
+        private final CRC32 crc;
+        private int column; // Next column of the current row
+        private boolean closed;
+        int studentNumber; // The student whose state is being visited
+        long rows;
+        long bytesWritten; // To the file, after compression
+
+        RowWriter(FileChannel channel, String[] columns, boolean json, boolean gzip) {
+            this.channel = channel;
+            this.columns = columns;
+            this.json = json;
+            if (gzip) {
+                deflater = new Deflater(Deflater.BEST_SPEED, true);
+                compressed = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+                compressed.put(GZIP_HEADER);
+                crc = new CRC32();
+            } else {
+                deflater = null;
+                compressed = null;
+                crc = null;
+            }
+            if (!json) {
+                for (String name : columns) {
+                    field(name);
+                }
+                put('\n');
+                column = 0;
+            }
+        }
+
+        void field(String value) {
+            startField();
+            if (value == null) {
+                if (json) {
+                    putAscii("null");
+                }
+            } else if (json) {
+                putJsonString(value);
+            } else {
+                putCsv(value);
+            }
+        }
+
+        void field(int value) {
+            startField();
+            putNumber(value);
+        }
+
+        // Writes a prefixed ID such as STU1000 without building its string
+        void id(String prefix, int number) {
+            startField();
+            if (json) {
+                put('"');
+            }
+            putAscii(prefix);
+            putNumber(number);
+            if (json) {
+                put('"');
+            }
+        }
+
+        void endRow() {
+            if (json) {
+                put('}');
+            }
+            put('\n');
+            column = 0;
+            rows++;
+        }
+
+        private void startField() {
+            if (json) {
+                put(column == 0 ? '{' : ',');
+                put('"');
+                putAscii(columns[column]);
+                put('"');
+                put(':');
+            } else if (column > 0) {
+                put(',');
+            }
+            column++;
+        }
+
+        private void putCsv(String value) {
+            boolean quoted = false;
+            for (int i = 0; i < value.length() && !quoted; i++) {
+                char c = value.charAt(i);
+                quoted = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (quoted) {
+                put('"');
+            }
+            for (int i = 0; i < value.length(); i++) {
+                if (value.charAt(i) == '"') {
+                    put('"'); // Quotes are doubled inside a quoted field
+                }
+                i = putUtf8(value, i);
+            }
+            if (quoted) {
+                put('"');
+            }
+        }
+
+        private void putJsonString(String value) {
+            put('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"' || c == '\\') {
+                    put('\\');
+                    put(c);
+                } else if (c == '\n') {
+                    putAscii("\\n");
+                } else if (c == '\r') {
+                    putAscii("\\r");
+                } else if (c == '\t') {
+                    putAscii("\\t");
+                } else if (c < 0x20) {
+                    putAscii("\\u00");
+                    put(Character.forDigit(c >> 4, 16));
+                    put(Character.forDigit(c & 0xF, 16));
+                } else {
+                    i = putUtf8(value, i);
+                }
+            }
+            put('"');
+        }
+
+        // Writes the character at i, or the surrogate pair starting there; returns the index of its last char
+        private int putUtf8(String value, int i) {
+            ensureRoom(MAX_CHAR_BYTES);
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | c >> 6));
+                buffer.put((byte) (0x80 | c & 0x3F));
+            } else if (!Character.isSurrogate(c)) {
+                buffer.put((byte) (0xE0 | c >> 12));
+                buffer.put((byte) (0x80 | c >> 6 & 0x3F));
+                buffer.put((byte) (0x80 | c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer.put((byte) (0xF0 | codePoint >> 18));
+                buffer.put((byte) (0x80 | codePoint >> 12 & 0x3F));
+                buffer.put((byte) (0x80 | codePoint >> 6 & 0x3F));
+                buffer.put((byte) (0x80 | codePoint & 0x3F));
+            } else {
+                buffer.put((byte) '?'); // A lone surrogate, as String.getBytes replaces it
+            }
+            return i;
+        }
+
+        private void putNumber(int value) {
+            ensureRoom(11);
+            long remaining = value;
+            if (remaining < 0) {
+                buffer.put((byte) '-');
+                remaining = -remaining;
+            }
+            int digits = 1;
+            for (long power = 10; power <= remaining; power *= 10) {
+                digits++;
+            }
+            int end = buffer.position() + digits;
+            for (int at = end - 1; at >= end - digits; at--) {
+                buffer.put(at, (byte) ('0' + remaining % 10));
+                remaining /= 10;
+            }
+            buffer.position(end);
+        }
+
+        // For column names, prefixes and escapes, which are always ASCII
+        private void putAscii(String text) {
+            ensureRoom(text.length());
+            for (int i = 0; i < text.length(); i++) {
+                buffer.put((byte) text.charAt(i));
+            }
+        }
+
+        private void put(char c) {
+            ensureRoom(1);
+            buffer.put((byte) c);
+        }
+
+        private void ensureRoom(int bytes) {
+            if (buffer.remaining() < bytes) {
+                try {
+                    drain();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+
+        // Writes out the buffered rows, compressing them first if needed
+        private void drain() throws IOException {
+            buffer.flip();
+            if (deflater == null) {
+                while (buffer.hasRemaining()) {
+                    bytesWritten += channel.write(buffer);
+                }
+            } else {
+                crc.update(buffer.duplicate());
+                deflater.setInput(buffer);
+                while (!deflater.needsInput()) {
+                    deflate();
+                }
+                deflater.setInput(NO_INPUT); // The deflater reads its input buffer lazily, so let go of it before refilling
+            }
+            buffer.clear();
+        }
+
+        private void deflate() throws IOException {
+            deflater.deflate(compressed);
+            if (!compressed.hasRemaining()) {
+                writeCompressed();
+            }
+        }
+
+        private void writeCompressed() throws IOException {
+            compressed.flip();
+            while (compressed.hasRemaining()) {
+                bytesWritten += channel.write(compressed);
+            }
+            compressed.clear();
+        }
+
+        // Writes out what is buffered and, when compressing, the gzip trailer; rows and bytesWritten are then final
+        void finish() throws IOException {
+            drain();
+            if (deflater != null) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    deflate();
+                }
+                if (compressed.remaining() < 8) {
+                    writeCompressed();
+                }
+                compressed.putInt((int) crc.getValue());
+                compressed.putInt((int) deflater.getBytesRead()); // Uncompressed size modulo 2^32
+                writeCompressed();
+            }
+        }
+
+        // Releases the file without finishing it, so a failed export is left visibly incomplete
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (deflater != null) {
+                deflater.end();
+            }
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,544 @@
+package bootcamp;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Compressed set of non-negative ints in the Roaring layout: values are grouped by their high 16 bits,
+ * and each group keeps its low 16 bits as a sorted char array while it has at most 4096 values, or as a
+ * 65536-bit bitmap once it has more. A sparse group so costs 2 bytes per value and a dense one at most
+ * 8 KB, and set operations work a group at a time, a word at a time where both groups are bitmaps.
+ * The in-place operations follow java.util.BitSet. Not safe for concurrent use; owners guard it.
+ */
+class RoaringBitmap {
+    private static final int ARRAY_LIMIT = 4096; // Above this a group is smaller as a bitmap
+    private static final int BITMAP_WORDS = 1 << 10;
+    private static final char[] NO_KEYS = new char[0];
+    private static final Object[] NO_CONTAINERS = new Object[0];
+    private static final int[] NO_COUNTS = new int[0];
+
+    private char[] keys = NO_KEYS; // High 16 bits of each group, ascending
+    private Object[] containers = NO_CONTAINERS; // Per group: char[] of sorted low bits, or long[BITMAP_WORDS]
+    private int[] counts = NO_COUNTS; // Values in each group; bitmaps always hold more than ARRAY_LIMIT
+    private int groups;
+    private int cardinality;
+
+    /**
+     * Adds a value.
+     * @return true if added, false if already present.
+     */
+    public boolean add(int value) {
+        char high = (char) (value >>> 16);
+        char low = (char) value;
+        int group = findGroup(high);
+        if (group < 0) {
+            group = -group - 1;
+            insertGroup(group, high, new char[4], 0);
+        }
+        Object container = containers[group];
+        int count = counts[group];
+        if (container instanceof long[]) {
+            long[] words = (long[]) container;
+            if ((words[low >>> 6] & (1L << low)) != 0) {
+                return false;
+            }
+            words[low >>> 6] |= 1L << low;
+        } else {
+            char[] values = (char[]) container;
+            int at = Arrays.binarySearch(values, 0, count, low);
+            if (at >= 0) {
+                return false;
+            }
+            at = -at - 1;
+            if (count == ARRAY_LIMIT) {
+                long[] words = toWords(values, count);
+                words[low >>> 6] |= 1L << low;
+                containers[group] = words;
+            } else {
+                if (count == values.length) {
+                    values = Arrays.copyOf(values, Math.min(ARRAY_LIMIT, count * 2));
+                    containers[group] = values;
+                }
+                System.arraycopy(values, at, values, at + 1, count - at);
+                values[at] = low;
+            }
+        }
+        counts[group] = count + 1;
+        cardinality++;
+        return true;
+    }
+
+    /**
+     * Removes a value.
+     * @return true if removed, false if it was not present.
+     */
+    public boolean remove(int value) {
+        int group = findGroup((char) (value >>> 16));
+        if (group < 0) {
+            return false;
+        }
+        char low = (char) value;
+        Object container = containers[group];
+        int count = counts[group];
+        if (container instanceof long[]) {
+            long[] words = (long[]) container;
+            if ((words[low >>> 6] & (1L << low)) == 0) {
+                return false;
+            }
+            words[low >>> 6] &= ~(1L << low);
+            if (count - 1 == ARRAY_LIMIT) {
+                containers[group] = toValues(words, count - 1);
+            }
+        } else {
+            char[] values = (char[]) container;
+            int at = Arrays.binarySearch(values, 0, count, low);
+            if (at < 0) {
+                return false;
+            }
+            System.arraycopy(values, at + 1, values, at, count - at - 1);
+        }
+        cardinality--;
+        if (count == 1) {
+            removeGroup(group);
+        } else {
+            counts[group] = count - 1;
+        }
+        return true;
+    }
+
+    public boolean contains(int value) {
+        int group = findGroup((char) (value >>> 16));
+        if (group < 0) {
+            return false;
+        }
+        char low = (char) value;
+        Object container = containers[group];
+        if (container instanceof long[]) {
+            return (((long[]) container)[low >>> 6] & (1L << low)) != 0;
+        }
+        return Arrays.binarySearch((char[]) container, 0, counts[group], low) >= 0;
+    }
+
+    /**
+     * Builds a bitmap from bits in the layout of BitSet.toLongArray: value v is bit v % 64 of words[v / 64].
+     */
+    static RoaringBitmap of(long[] words) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        for (int from = 0; from < words.length; from += BITMAP_WORDS) {
+            long[] group = Arrays.copyOfRange(words, from, from + BITMAP_WORDS); // Zero-padded past the end
+            bitmap.appendGroup((char) (from / BITMAP_WORDS), shrink(group, countBits(group)));
+        }
+        return bitmap;
+    }
+
+    public int cardinality() {
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return cardinality == 0;
+    }
+
+    public RoaringBitmap copy() {
+        RoaringBitmap copy = new RoaringBitmap();
+        copy.keys = Arrays.copyOf(keys, groups);
+        copy.counts = Arrays.copyOf(counts, groups);
+        copy.containers = new Object[groups];
+        for (int i = 0; i < groups; i++) {
+            Object container = containers[i];
+            copy.containers[i] = container instanceof long[] ? ((long[]) container).clone() : Arrays.copyOf((char[]) container, counts[i]);
+        }
+        copy.groups = groups;
+        copy.cardinality = cardinality;
+        return copy;
+    }
+
+    // Keeps only the values also in other
+    public void and(RoaringBitmap other) {
+        RoaringBitmap result = new RoaringBitmap();
+        for (int i = 0, j = 0; i < groups && j < other.groups; ) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                result.appendGroup(keys[i], and(containers[i], counts[i], other.containers[j], other.counts[j]));
+                i++;
+                j++;
+            }
+        }
+        replaceWith(result);
+    }
+
+    // Adds every value of other
+    public void or(RoaringBitmap other) {
+        RoaringBitmap result = new RoaringBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < groups || j < other.groups) {
+            if (j == other.groups || i < groups && keys[i] < other.keys[j]) {
+                result.appendGroup(keys[i], containers[i], counts[i]);
+                i++;
+            } else if (i == groups || keys[i] > other.keys[j]) {
+                result.appendGroup(other.keys[j], copyOf(other.containers[j], other.counts[j]), other.counts[j]);
+                j++;
+            } else {
+                result.appendGroup(keys[i], or(containers[i], counts[i], other.containers[j], other.counts[j]));
+                i++;
+                j++;
+            }
+        }
+        replaceWith(result);
+    }
+
+    // Removes every value of other
+    public void andNot(RoaringBitmap other) {
+        RoaringBitmap result = new RoaringBitmap();
+        for (int i = 0, j = 0; i < groups; i++) {
+            while (j < other.groups && other.keys[j] < keys[i]) {
+                j++;
+            }
+            if (j < other.groups && other.keys[j] == keys[i]) {
+                result.appendGroup(keys[i], andNot(containers[i], counts[i], other.containers[j], other.counts[j]));
+            } else {
+                result.appendGroup(keys[i], containers[i], counts[i]);
+            }
+        }
+        replaceWith(result);
+    }
+
+    /**
+     * Counts the values in both bitmaps without building their intersection.
+     */
+    public int andCardinality(RoaringBitmap other) {
+        int total = 0;
+        for (int i = 0, j = 0; i < groups && j < other.groups; ) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                total += andCount(containers[i], counts[i], other.containers[j], other.counts[j]);
+                i++;
+                j++;
+            }
+        }
+        return total;
+    }
+
+    public void forEach(IntConsumer action) {
+        forEach(0, Integer.MAX_VALUE, action);
+    }
+
+    /**
+     * Passes up to limit values to the action in ascending order, skipping the first offset.
+     * Whole groups, and whole words of bitmaps, are skipped by their counts.
+     */
+    public void forEach(int offset, int limit, IntConsumer action) {
+        int skip = offset;
+        int left = limit;
+        for (int i = 0; i < groups && left > 0; i++) {
+            int count = counts[i];
+            if (skip >= count) {
+                skip -= count;
+                continue;
+            }
+            int high = keys[i] << 16;
+            Object container = containers[i];
+            if (container instanceof char[]) {
+                char[] values = (char[]) container;
+                for (int k = skip; k < count && left > 0; k++, left--) {
+                    action.accept(high | values[k]);
+                }
+            } else {
+                long[] words = (long[]) container;
+                for (int w = 0; w < BITMAP_WORDS && left > 0; w++) {
+                    long word = words[w];
+                    int bits = Long.bitCount(word);
+                    if (skip >= bits) {
+                        skip -= bits;
+                        continue;
+                    }
+                    for (; word != 0 && left > 0; word &= word - 1) {
+                        if (skip > 0) {
+                            skip--;
+                        } else {
+                            action.accept(high | w << 6 | Long.numberOfTrailingZeros(word));
+                            left--;
+                        }
+                    }
+                }
+            }
+            skip = 0;
+        }
+    }
+
+    // Approximate heap size, for comparing layouts
+    public long sizeInBytes() {
+        long size = 40 + 16 + 2L * keys.length + 16 + 4L * containers.length + 16 + 4L * counts.length;
+        for (int i = 0; i < groups; i++) {
+            Object container = containers[i];
+            size += container instanceof long[] ? 16 + 8L * BITMAP_WORDS : 16 + 2L * ((char[]) container).length;
+        }
+        return size;
+    }
+
+    private int findGroup(char high) {
+        int low = 0;
+        int top = groups - 1;
+        if (top >= 0 && keys[top] == high) {
+            return top; // IDs are handed out in sequence, so most adds go to the last group
+        }
+        while (low <= top) {
+            int mid = (low + top) >>> 1;
+            if (keys[mid] < high) {
+                low = mid + 1;
+            } else if (keys[mid] > high) {
+                top = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private void insertGroup(int at, char high, Object container, int count) {
+        if (groups == keys.length) {
+            int capacity = Math.max(4, groups * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+            counts = Arrays.copyOf(counts, capacity);
+        }
+        System.arraycopy(keys, at, keys, at + 1, groups - at);
+        System.arraycopy(containers, at, containers, at + 1, groups - at);
+        System.arraycopy(counts, at, counts, at + 1, groups - at);
+        keys[at] = high;
+        containers[at] = container;
+        counts[at] = count;
+        groups++;
+    }
+
+    private void removeGroup(int at) {
+        System.arraycopy(keys, at + 1, keys, at, groups - at - 1);
+        System.arraycopy(containers, at + 1, containers, at, groups - at - 1);
+        System.arraycopy(counts, at + 1, counts, at, groups - at - 1);
+        groups--;
+        containers[groups] = null;
+    }
+
+    // Adds a group after the last one; results of the set operations come here, exactly sized
+    private void appendGroup(char high, Object container) {
+        if (container != null) {
+            appendGroup(high, container, container instanceof char[] ? ((char[]) container).length : countBits((long[]) container));
+        }
+    }
+
+    private void appendGroup(char high, Object container, int count) {
+        insertGroup(groups, high, container, count);
+        cardinality += count;
+    }
+
+    private void replaceWith(RoaringBitmap result) {
+        keys = result.keys;
+        containers = result.containers;
+        counts = result.counts;
+        groups = result.groups;
+        cardinality = result.cardinality;
+    }
+
+    // --- Operations on one group's containers; results are null when empty ---
+    // The first container belongs to the bitmap being changed: a bitmap there is updated in place.
+
+    private static Object and(Object a, int countA, Object b, int countB) {
+        if (a instanceof long[] && b instanceof long[]) {
+            long[] words = (long[]) a;
+            long[] others = (long[]) b;
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                words[w] &= others[w];
+            }
+            return shrink(words, countBits(words));
+        }
+        if (a instanceof long[]) { // Filter the array through the bitmap
+            return and(b, countB, a, countA);
+        }
+        char[] values = (char[]) a;
+        char[] result = new char[Math.min(countA, countB)];
+        int n = 0;
+        if (b instanceof long[]) {
+            long[] words = (long[]) b;
+            for (int i = 0; i < countA; i++) {
+                if ((words[values[i] >>> 6] & (1L << values[i])) != 0) {
+                    result[n++] = values[i];
+                }
+            }
+        } else {
+            char[] others = (char[]) b;
+            for (int i = 0, j = 0; i < countA && j < countB; ) {
+                if (values[i] < others[j]) {
+                    i++;
+                } else if (values[i] > others[j]) {
+                    j++;
+                } else {
+                    result[n++] = values[i];
+                    i++;
+                    j++;
+                }
+            }
+        }
+        return n == 0 ? null : Arrays.copyOf(result, n);
+    }
+
+    private static Object or(Object a, int countA, Object b, int countB) {
+        if (a instanceof char[] && b instanceof char[]) {
+            char[] values = (char[]) a;
+            char[] others = (char[]) b;
+            char[] result = new char[countA + countB];
+            int n = 0;
+            int i = 0;
+            int j = 0;
+            while (i < countA || j < countB) {
+                if (j == countB || i < countA && values[i] < others[j]) {
+                    result[n++] = values[i++];
+                } else if (i == countA || values[i] > others[j]) {
+                    result[n++] = others[j++];
+                } else {
+                    result[n++] = values[i++];
+                    j++;
+                }
+            }
+            return n > ARRAY_LIMIT ? toWords(result, n) : Arrays.copyOf(result, n);
+        }
+        long[] words = a instanceof long[] ? (long[]) a : ((long[]) b).clone();
+        Object added = a instanceof long[] ? b : a;
+        if (added instanceof long[]) {
+            long[] others = (long[]) added;
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                words[w] |= others[w];
+            }
+        } else {
+            char[] values = (char[]) added;
+            int count = a instanceof long[] ? countB : countA;
+            for (int i = 0; i < count; i++) {
+                words[values[i] >>> 6] |= 1L << values[i];
+            }
+        }
+        return words; // Holds at least a bitmap's values, so more than ARRAY_LIMIT
+    }
+
+    private static Object andNot(Object a, int countA, Object b, int countB) {
+        if (a instanceof long[]) {
+            long[] words = (long[]) a;
+            if (b instanceof long[]) {
+                long[] others = (long[]) b;
+                for (int w = 0; w < BITMAP_WORDS; w++) {
+                    words[w] &= ~others[w];
+                }
+            } else {
+                char[] values = (char[]) b;
+                for (int i = 0; i < countB; i++) {
+                    words[values[i] >>> 6] &= ~(1L << values[i]);
+                }
+            }
+            return shrink(words, countBits(words));
+        }
+        char[] values = (char[]) a;
+        char[] result = new char[countA];
+        int n = 0;
+        if (b instanceof long[]) {
+            long[] words = (long[]) b;
+            for (int i = 0; i < countA; i++) {
+                if ((words[values[i] >>> 6] & (1L << values[i])) == 0) {
+                    result[n++] = values[i];
+                }
+            }
+        } else {
+            char[] others = (char[]) b;
+            int j = 0;
+            for (int i = 0; i < countA; i++) {
+                while (j < countB && others[j] < values[i]) {
+                    j++;
+                }
+                if (j == countB || others[j] != values[i]) {
+                    result[n++] = values[i];
+                }
+            }
+        }
+        return n == 0 ? null : Arrays.copyOf(result, n);
+    }
+
+    private static int andCount(Object a, int countA, Object b, int countB) {
+        if (a instanceof long[] && b instanceof long[]) {
+            long[] wordsA = (long[]) a;
+            long[] wordsB = (long[]) b;
+            int count = 0;
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                count += Long.bitCount(wordsA[w] & wordsB[w]);
+            }
+            return count;
+        }
+        if (a instanceof long[]) {
+            return andCount(b, countB, a, countA);
+        }
+        char[] values = (char[]) a;
+        int count = 0;
+        if (b instanceof long[]) {
+            long[] words = (long[]) b;
+            for (int i = 0; i < countA; i++) {
+                count += (int) (words[values[i] >>> 6] >>> values[i]) & 1;
+            }
+            return count;
+        }
+        char[] others = (char[]) b;
+        for (int i = 0, j = 0; i < countA && j < countB; ) {
+            if (values[i] < others[j]) {
+                i++;
+            } else if (values[i] > others[j]) {
+                j++;
+            } else {
+                count++;
+                i++;
+                j++;
+            }
+        }
+        return count;
+    }
+
+    private static Object copyOf(Object container, int count) {
+        return container instanceof long[] ? ((long[]) container).clone() : Arrays.copyOf((char[]) container, count);
+    }
+
+    // A bitmap result as the smaller layout, or null if empty
+    private static Object shrink(long[] words, int count) {
+        if (count == 0) {
+            return null;
+        }
+        return count > ARRAY_LIMIT ? words : toValues(words, count);
+    }
+
+    private static long[] toWords(char[] values, int count) {
+        long[] words = new long[BITMAP_WORDS];
+        for (int i = 0; i < count; i++) {
+            words[values[i] >>> 6] |= 1L << values[i];
+        }
+        return words;
+    }
+
+    private static char[] toValues(long[] words, int count) {
+        char[] values = new char[count];
+        int n = 0;
+        for (int w = 0; w < BITMAP_WORDS; w++) {
+            for (long word = words[w]; word != 0; word &= word - 1) {
+                values[n++] = (char) (w << 6 | Long.numberOfTrailingZeros(word));
+            }
+        }
+        return values;
+    }
+
+    private static int countBits(long[] words) {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+}
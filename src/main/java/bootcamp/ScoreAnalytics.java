@@ -0,0 +1,171 @@
+package bootcamp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Score statistics per subject and per course, kept current as scores are recorded, so
+ * admin queries cost the same whatever the number of students.
+ * Each subject keeps an exact histogram over its possible scores (scores are small whole numbers),
+ * which gives count, sum, mean, median and pass rate directly, and the students grouped by score
+ * for the top-N list. Scores of students restored from a snapshot are counted on the first query;
+ * after that every score change goes through recordScore, which applies the old-to-new difference.
+ */
+class ScoreAnalytics {
+    static final int TOP_N = 5;
+
+    private final Catalog catalog;
+    private final UserDirectory users;
+    private final Map<Integer, SubjectScores> scoresBySubject = new ConcurrentHashMap<>();
+    // Score changes share this lock; the first fill takes it exclusively so no change is counted twice or missed
+    private final ReentrantReadWriteLock fillLock = new ReentrantReadWriteLock();
+    private volatile boolean filled;
+
+    ScoreAnalytics(Catalog catalog, UserDirectory users) {
+        this.catalog = catalog;
+        this.users = users;
+    }
+
+    /**
+     * Sets a student's exam score and updates the statistics.
+     * Callers hold the student's monitor, so two changes to one student cannot interleave.
+     */
+    public void recordScore(Student student, int subjectNumber, int score) {
+        fillLock.readLock().lock();
+        try {
+            int previous = student.getExamScore(subjectNumber);
+            student.setExamScore(subjectNumber, score);
+            if (filled) {
+                subjectScores(subjectNumber).replace(student, previous, score);
+            }
+        } finally {
+            fillLock.readLock().unlock();
+        }
+    }
+
+    public ScoreStatistics getSubjectStatistics(Subject subject) {
+        ensureFilled();
+        return ScoreStatistics.combine(subject.getSubjectName(), Collections.singletonList(summarize(subject)));
+    }
+
+    public ScoreStatistics getCourseStatistics(Course course) {
+        ensureFilled();
+        List<SubjectSummary> summaries = new ArrayList<>();
+        for (Subject subject : course.getSubjects()) {
+            summaries.add(summarize(subject));
+        }
+        return ScoreStatistics.combine(course.getCourseName(), summaries);
+    }
+
+    private SubjectSummary summarize(Subject subject) {
+        Exam exam = catalog.getExamForSubject(subject.getSubjectNumber());
+        int maxScore = exam != null ? exam.getQuestionsPerAttempt() : 0;
+        return subjectScores(subject.getSubjectNumber()).summarize(subject.getSubjectName(), maxScore);
+    }
+
+    private SubjectScores subjectScores(int subjectNumber) {
+        return scoresBySubject.computeIfAbsent(subjectNumber, id -> new SubjectScores());
+    }
+
+    // Counts every score recorded so far. As in EnrollmentTable, students are restored before the lock is taken:
+    // scores are recorded while holding the student's monitor, so the other order could deadlock. A student not
+    // restored by then was added meanwhile and has no scores yet; recordScore counts the ones it gets later.
+    private void ensureFilled() {
+        if (!filled) {
+            synchronized (this) {
+                if (!filled) {
+                    users.getStudents().forEach(Student::getExamScores);
+                    fillLock.writeLock().lock();
+                    try {
+                        for (Student student : users.getStudents()) {
+                            IntIntMap scores = student.getLoadedExamScores();
+                            if (scores != null) {
+                                scores.forEach((subjectNumber, score) ->
+                                        subjectScores(subjectNumber).replace(student, IntIntMap.MISSING, score));
+                            }
+                        }
+                        filled = true;
+                    } finally {
+                        fillLock.writeLock().unlock();
+                    }
+                }
+            }
+        }
+    }
+
+    // Scores recorded for one subject
+    private static class SubjectScores {
+        private int[] histogram = new int[8]; // histogram[s] = number of students with score s
+        private final List<Set<Student>> studentsByScore = new ArrayList<>();
+        private long count;
+        private long sum;
+
+        // previous is IntIntMap.MISSING if the student had no score for the subject
+        synchronized void replace(Student student, int previous, int score) {
+            if (previous != IntIntMap.MISSING) {
+                histogram[previous]--;
+                studentsByScore.get(previous).remove(student);
+                count--;
+                sum -= previous;
+            }
+            if (score >= histogram.length) {
+                histogram = Arrays.copyOf(histogram, Math.max(score + 1, histogram.length * 2));
+            }
+            while (studentsByScore.size() <= score) {
+                studentsByScore.add(new LinkedHashSet<>());
+            }
+            histogram[score]++;
+            studentsByScore.get(score).add(student);
+            count++;
+            sum += score;
+        }
+
+        synchronized SubjectSummary summarize(String subjectName, int maxScore) {
+            List<Student> top = new ArrayList<>(TOP_N);
+            List<Integer> topScores = new ArrayList<>(TOP_N);
+            for (int score = studentsByScore.size() - 1; score >= 0 && top.size() < TOP_N; score--) {
+                for (Student student : studentsByScore.get(score)) {
+                    if (top.size() == TOP_N) {
+                        break;
+                    }
+                    top.add(student);
+                    topScores.add(score);
+                }
+            }
+            return new SubjectSummary(subjectName, maxScore, histogram.clone(), count, sum, top, topScores);
+        }
+    }
+
+    // A consistent copy of one subject's statistics, with the exam's current maximum score
+    static class SubjectSummary {
+        final String subjectName;
+        final int maxScore;
+        final int[] histogram;
+        final long count;
+        final long sum;
+        final List<Student> topStudents;
+        final List<Integer> topScores;
+
+        SubjectSummary(String subjectName, int maxScore, int[] histogram, long count, long sum,
+                       List<Student> topStudents, List<Integer> topScores) {
+            this.subjectName = subjectName;
+            this.maxScore = maxScore;
+            this.histogram = histogram;
+            this.count = count;
+            this.sum = sum;
+            this.topStudents = topStudents;
+            this.topScores = topScores;
+        }
+
+        double percentOf(int score) {
+            return maxScore > 0 ? score * 100.0 / maxScore : 0;
+        }
+    }
+}
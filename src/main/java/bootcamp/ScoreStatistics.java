@@ -0,0 +1,137 @@
+package bootcamp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Statistics of one subject or one course, on a percentage scale so subjects with different
+ * maximum scores can be combined. Built from per-subject histograms, so building one costs
+ * a few operations per possible score, not per student.
+ */
+class ScoreStatistics {
+    static final int BUCKETS = 10; // Histogram buckets of 10 percentage points; 100% falls in the last one
+
+    private final String title;
+    private final long count;
+    private final double meanPercent;
+    private final double medianPercent;
+    private final double passRate;
+    private final long[] buckets;
+    private final List<String> topScores;
+
+    private ScoreStatistics(String title, long count, double meanPercent, double medianPercent, double passRate,
+                            long[] buckets, List<String> topScores) {
+        this.title = title;
+        this.count = count;
+        this.meanPercent = meanPercent;
+        this.medianPercent = medianPercent;
+        this.passRate = passRate;
+        this.buckets = buckets;
+        this.topScores = topScores;
+    }
+
+    static ScoreStatistics combine(String title, List<ScoreAnalytics.SubjectSummary> subjects) {
+        long count = 0;
+        double percentSum = 0;
+        long passed = 0;
+        long[] buckets = new long[BUCKETS];
+        List<double[]> values = new ArrayList<>(); // {percent, number of scores}, for the median
+        for (ScoreAnalytics.SubjectSummary subject : subjects) {
+            count += subject.count;
+            percentSum += subject.maxScore > 0 ? subject.sum * 100.0 / subject.maxScore : 0;
+            for (int score = 0; score < subject.histogram.length; score++) {
+                int students = subject.histogram[score];
+                if (students == 0) {
+                    continue;
+                }
+                double percent = subject.percentOf(score);
+                if (score >= subject.maxScore * ExamResult.PASS_RATIO) {
+                    passed += students;
+                }
+                buckets[Math.min(BUCKETS - 1, (int) (percent / (100 / BUCKETS)))] += students;
+                values.add(new double[] {percent, students});
+            }
+        }
+        values.sort((a, b) -> Double.compare(a[0], b[0]));
+        double median = 0;
+        long seen = 0;
+        for (double[] value : values) {
+            seen += (long) value[1];
+            if (seen * 2 >= count) { // Lower median
+                median = value[0];
+                break;
+            }
+        }
+
+        // Highest percentages first, across all subjects
+        List<Object[]> candidates = new ArrayList<>(); // {percent, line}
+        for (ScoreAnalytics.SubjectSummary subject : subjects) {
+            for (int i = 0; i < subject.topStudents.size(); i++) {
+                Student student = subject.topStudents.get(i);
+                int score = subject.topScores.get(i);
+                candidates.add(new Object[] {subject.percentOf(score), student.getName() + " (ID: " + student.getStudentId() + ") - "
+                        + subject.subjectName + ": " + score + "/" + subject.maxScore});
+            }
+        }
+        candidates.sort((a, b) -> Double.compare((Double) b[0], (Double) a[0]));
+        List<String> top = new ArrayList<>();
+        for (int i = 0; i < candidates.size() && i < ScoreAnalytics.TOP_N; i++) {
+            top.add((String) candidates.get(i)[1]);
+        }
+        return new ScoreStatistics(title, count, count > 0 ? percentSum / count : 0, median,
+                count > 0 ? passed * 100.0 / count : 0, buckets, top);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMeanPercent() {
+        return meanPercent;
+    }
+
+    public double getMedianPercent() {
+        return medianPercent;
+    }
+
+    public double getPassRate() {
+        return passRate;
+    }
+
+    public long[] getBuckets() {
+        return buckets.clone();
+    }
+
+    public List<String> getTopScores() {
+        return topScores;
+    }
+
+    // Renders the statistics as report lines; the caller flushes the listing
+    public void render(ListingWriter listing) {
+        StringBuilder text = listing.text();
+        listing.line("\n--- Score Statistics for " + title + " ---");
+        if (count == 0) {
+            listing.line("No exam results yet.");
+            return;
+        }
+        text.append(String.format("Scores: %d, Mean: %.1f%%, Median: %.1f%%, Pass Rate: %.1f%%", count, meanPercent, medianPercent, passRate));
+        listing.endLine();
+        long largest = Arrays.stream(buckets).max().orElse(1);
+        for (int i = 0; i < BUCKETS; i++) {
+            int low = i * (100 / BUCKETS);
+            int high = i == BUCKETS - 1 ? 100 : low + 100 / BUCKETS - 1;
+            text.append(String.format("  %8s | ", low + "-" + high + "%"));
+            for (long bar = buckets[i] * 40 / Math.max(largest, 1); bar > 0; bar--) {
+                text.append('#');
+            }
+            text.append(' ').append(buckets[i]);
+            listing.endLine();
+        }
+        listing.line("Top " + topScores.size() + ":");
+        for (int i = 0; i < topScores.size(); i++) {
+            text.append("  ").append(i + 1).append(". ").append(topScores.get(i));
+            listing.endLine();
+        }
+    }
+}
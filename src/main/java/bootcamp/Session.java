@@ -0,0 +1,48 @@
+package bootcamp;
+
+import java.io.PrintStream;
+
+/**
+ * A Session is one person's conversation with the system: its own input, output and logged-in user.
+ * The console runs a single session; server mode runs one session per connection.
+ */
+class Session {
+
+    private final LineInput input;
+    private final PrintStream out;
+    private User loggedInUser; // Tracks the user logged in on this session, or null
+    private ListingWriter listing; // Created on the first listing and reused by later ones
+
+    public Session(LineInput input, PrintStream out) {
+        this.input = input;
+        this.out = out;
+    }
+
+    public ListingWriter getListing() {
+        if (listing == null) {
+            listing = new ListingWriter(out);
+        }
+        return listing;
+    }
+
+    public LineInput getInput() {
+        return input;
+    }
+
+    // Time this session has spent waiting for its user, so actions can be timed without it
+    public long inputWaitNanos() {
+        return input.waitNanos();
+    }
+
+    public PrintStream getOut() {
+        return out;
+    }
+
+    public User getLoggedInUser() {
+        return loggedInUser;
+    }
+
+    public void setLoggedInUser(User loggedInUser) {
+        this.loggedInUser = loggedInUser;
+    }
+}
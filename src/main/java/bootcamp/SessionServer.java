@@ -0,0 +1,173 @@
+package bootcamp;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves the system over TCP. Every connection gets its own Session running the normal menus.
+ * Sessions run on virtual threads when the runtime supports them (Java 21+), otherwise on a
+ * cached thread pool. A single selector thread accepts connections and watches them all for input,
+ * waking a session only when a line it waits for may have arrived (see ChannelLineInput).
+ */
+class SessionServer {
+    private final StudentManagementSystem system;
+    private final ServerSocketChannel serverChannel;
+    private final Selector selector;
+    private final ExecutorService sessionExecutor;
+
+    public SessionServer(StudentManagementSystem system, int port) throws IOException {
+        this.system = system;
+        this.serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(port), 1024); // Room for a burst of connections while the selector catches up
+        serverChannel.configureBlocking(false);
+        this.selector = Selector.open();
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        this.sessionExecutor = newSessionExecutor();
+    }
+
+    private static ExecutorService newSessionExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(); // Virtual threads are not available on this runtime
+        }
+    }
+
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * Accepts connections and watches them for input until the server is closed.
+     */
+    public void serve() {
+        try (selector) {
+            while (serverChannel.isOpen()) {
+                selector.select();
+                for (Iterator<SelectionKey> keys = selector.selectedKeys().iterator(); keys.hasNext(); ) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else if (key.isReadable() || key.isWritable()) {
+                        key.interestOps(0); // Until the session has read or written and asks again
+                        ((ChannelLineInput) key.attachment()).wakeUp();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("The server stopped with an error: " + e.getMessage());
+        }
+    }
+
+    private void accept() {
+        while (true) {
+            SocketChannel channel;
+            try {
+                channel = serverChannel.accept();
+                if (channel == null) {
+                    return;
+                }
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true); // Prompts are small writes; don't hold them back
+            } catch (IOException e) {
+                System.out.println("Failed to accept a connection: " + e.getMessage());
+                return;
+            }
+            try {
+                SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+                ChannelLineInput input = new ChannelLineInput(channel, key);
+                key.attach(input);
+                sessionExecutor.execute(() -> handleConnection(channel, input));
+            } catch (IOException | RejectedExecutionException e) { // Closing down
+                closeQuietly(channel);
+            }
+        }
+    }
+
+    private void handleConnection(SocketChannel channel, ChannelLineInput input) {
+        try {
+            PrintStream out = new PrintStream(new ChannelOutputStream(channel, input), true, StandardCharsets.UTF_8);
+            system.runSession(new Session(input, out));
+        } catch (NoSuchElementException e) {
+            // The client disconnected in the middle of a menu
+        } finally {
+            closeQuietly(channel);
+        }
+    }
+
+    public void close() {
+        closeQuietly(serverChannel);
+        selector.wakeup();
+        sessionExecutor.shutdownNow();
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            // Already closed
+        }
+    }
+
+    // Writes to a non-blocking channel, waiting on the selector while the client's receive window is full
+    private static final class ChannelOutputStream extends OutputStream {
+        private static final long WRITE_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(30); // Then the client is dropped
+
+        private final SocketChannel channel;
+        private final ChannelLineInput input; // Owns the selection key the session waits on
+
+        ChannelOutputStream(SocketChannel channel, ChannelLineInput input) {
+            this.channel = channel;
+            this.input = input;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            ByteBuffer source = ByteBuffer.wrap(bytes, offset, length);
+            while (source.hasRemaining()) {
+                if (channel.write(source) == 0) {
+                    boolean writable;
+                    try {
+                        writable = input.awaitWritable(WRITE_TIMEOUT_NANOS);
+                    } catch (InterruptedException e) { // The server is shutting down
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException();
+                    } catch (CancelledKeyException e) {
+                        throw new IOException("The connection is closed.");
+                    }
+                    if (!writable) {
+                        channel.close(); // The session ends at its next read
+                        throw new IOException("The client stopped reading for " + WRITE_TIMEOUT_NANOS / 1_000_000_000 + " s.");
+                    }
+                }
+            }
+        }
+    }
+}
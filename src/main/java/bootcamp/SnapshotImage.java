@@ -0,0 +1,162 @@
+package bootcamp;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A snapshot file mapped into memory. Startup reads it sequentially, while each
+ * student's enrollments and scores are read later, on first access, from their offset.
+ */
+class SnapshotImage {
+    private final MappedByteBuffer buffer;
+    private final Catalog catalog;
+    private final Map<Integer, Subject> detachedSubjects; // Removed subjects still held by students, shared by ID
+    private final AtomicInteger attachedStudents = new AtomicInteger(); // Students whose state is still read from here
+    private int position; // Read position used while loading at startup
+
+    public SnapshotImage(MappedByteBuffer buffer, Catalog catalog) {
+        this.buffer = buffer;
+        this.catalog = catalog;
+        this.detachedSubjects = new ConcurrentHashMap<>();
+    }
+
+    public int readInt() {
+        int value = buffer.getInt(position);
+        position += 4;
+        return value;
+    }
+
+    public String readString() {
+        String value = stringAt(position);
+        position += 2 + (buffer.getShort(position) & 0xFFFF);
+        return value;
+    }
+
+    void attach() {
+        attachedStudents.incrementAndGet();
+    }
+
+    void release() {
+        attachedStudents.decrementAndGet();
+    }
+
+    // True once every attached student has been restored, so the file is no longer read
+    boolean isReleased() {
+        return attachedStudents.get() == 0;
+    }
+
+    // Skips over a student's stored state and returns the offset it starts at
+    public int skipStudentState() {
+        int offset = position;
+        position += 4 + buffer.getInt(position);
+        return offset;
+    }
+
+    private String stringAt(int offset) {
+        byte[] bytes = new byte[buffer.getShort(offset) & 0xFFFF];
+        buffer.get(offset + 2, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Reads a stored ID such as "SUB10001" as its number, without building the string
+    private int idNumberAt(int offset, String prefix) {
+        int length = buffer.getShort(offset) & 0xFFFF;
+        if (length <= prefix.length() || length - prefix.length() > 9) {
+            throw new IllegalArgumentException("Invalid ID in snapshot: " + stringAt(offset));
+        }
+        int number = 0;
+        for (int i = offset + 2 + prefix.length(); i < offset + 2 + length; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new IllegalArgumentException("Invalid ID in snapshot: " + stringAt(offset));
+            }
+            number = number * 10 + digit;
+        }
+        return number;
+    }
+
+    /** Receives a student's enrollments and scores, in the order they were stored. */
+    interface StateVisitor {
+        void course(Course course);
+
+        void subject(Subject subject);
+
+        void score(int subjectNumber, int score);
+    }
+
+    /**
+     * Reads a student's enrollments and scores from the given offset into the given collections.
+     * Only absolute reads are used, so students can be restored from several threads at once.
+     */
+    public void restoreStudentState(int offset, Collection<Course> enrolledCourses, Collection<Subject> enrolledSubjects,
+                                    IntIntMap examScores) {
+        visitStudentState(offset, new StateVisitor() {
+            @Override
+            public void course(Course course) {
+                enrolledCourses.add(course);
+            }
+
+            @Override
+            public void subject(Subject subject) {
+                enrolledSubjects.add(subject);
+            }
+
+            @Override
+            public void score(int subjectNumber, int score) {
+                examScores.put(subjectNumber, score);
+            }
+        });
+    }
+
+    /**
+     * Passes a student's stored enrollments and scores to the visitor without keeping them.
+     * Courses no longer in the catalog are skipped, as on restore.
+     */
+    public void visitStudentState(int offset, StateVisitor visitor) {
+        int at = offset + 4; // Skip the state length
+        int courseCount = buffer.getInt(at);
+        at += 4;
+        for (int i = 0; i < courseCount; i++) {
+            Course course = catalog.getCourse(idNumberAt(at, Ids.COURSE));
+            at += 2 + (buffer.getShort(at) & 0xFFFF);
+            if (course != null) {
+                visitor.course(course);
+            }
+        }
+        int subjectCount = buffer.getInt(at);
+        at += 4;
+        for (int i = 0; i < subjectCount; i++) {
+            int subjectNumber = idNumberAt(at, Ids.SUBJECT);
+            at += 2 + (buffer.getShort(at) & 0xFFFF);
+            int nameAt = at;
+            at += 2 + (buffer.getShort(at) & 0xFFFF);
+            Subject subject = catalog.getSubject(subjectNumber);
+            if (subject == null) {
+                subject = detachedSubjects.computeIfAbsent(subjectNumber,
+                        id -> new Subject(Ids.format(Ids.SUBJECT, id), stringAt(nameAt)));
+            }
+            visitor.subject(subject);
+        }
+        int scoreCount = buffer.getInt(at);
+        at += 4;
+        for (int i = 0; i < scoreCount; i++) {
+            int subjectNumber = idNumberAt(at, Ids.SUBJECT);
+            at += 2 + (buffer.getShort(at) & 0xFFFF);
+            visitor.score(subjectNumber, buffer.getInt(at));
+            at += 4;
+        }
+    }
+
+    // Copies a student's stored state, including its length prefix, unchanged into a new snapshot
+    public void copyStudentState(int offset, DataOutputStream out) throws IOException {
+        byte[] bytes = new byte[4 + buffer.getInt(offset)];
+        buffer.get(offset, bytes);
+        out.write(bytes);
+    }
+}
@@ -0,0 +1,24 @@
+package bootcamp;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Line input from a blocking stream, such as the console.
+ */
+class StreamLineInput extends LineInput {
+    private final InputStream in;
+
+    StreamLineInput(InputStream in) {
+        this.in = in;
+    }
+
+    @Override
+    protected int read(byte[] into, int offset, int length) {
+        try {
+            return in.read(into, offset, length);
+        } catch (IOException e) {
+            return -1; // Treated like the end of the input
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package bootcamp;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger; // For generating unique IDs
+
+class Student extends User {
+    private final int studentId; // Shown as "STU" + number, see Ids
+    private String email;
+    private int age;
+    // Enrollments and scores are safe to read and update from several sessions at once
+    private EnrollmentSet<Course> enrolledCourses;
+    private EnrollmentSet<Subject> enrolledSubjects;
+    private IntIntMap examScores; // Stores exam scores: key = subject ID number, value = score
+    private volatile ConcurrentHashMap<Integer, ExamResult> examResults; // Result records, created on first view
+    private volatile int resultsCatalogVersion = -1; // Catalog version examResults were built against
+    private SnapshotImage storedImage; // Snapshot still holding this student's enrollments and scores, or null
+    private int storedOffset; // Where this student's state starts in storedImage
+    private volatile boolean loaded; // True once the collections above are created and filled
+
+    // Static counter to generate unique student IDs
+    private static final AtomicInteger idCounter = new AtomicInteger(1000);
+
+   
+    public Student(String username, String credential, String name, int age, String email) {
+        super(username, credential, name);
+        this.studentId = idCounter.getAndIncrement(); // Generate a unique ID
+        this.age = age;
+        this.email = email;
+        this.enrolledCourses = new EnrollmentSet<>(Course::getCourseNumber);
+        this.enrolledSubjects = new EnrollmentSet<>(Subject::getSubjectNumber);
+        this.examScores = new IntIntMap();
+        this.loaded = true;
+    }
+
+    /**
+     * Constructor used when restoring a student from storage with its original ID.
+     * Enrollments and scores are created on first access (see ensureLoaded).
+     */
+    Student(String studentId, String username, String credential, String name, int age, String email) {
+        super(username, credential, name);
+        this.studentId = Ids.parseOrThrow(Ids.STUDENT, studentId);
+        this.age = age;
+        this.email = email;
+        resumeIdsFrom(this.studentId + 1); // Never hand out a restored ID again
+    }
+
+    // ID counter access for storage, so IDs resume where they stopped after a restart
+    static int peekNextId() {
+        return idCounter.get();
+    }
+
+    static void resumeIdsFrom(int nextId) {
+        idCounter.accumulateAndGet(nextId, Math::max);
+    }
+
+    // Leaves this student's enrollments and scores in the mapped snapshot until they are first needed
+    void attachStoredState(SnapshotImage image, int offset) {
+        image.attach();
+        this.storedImage = image;
+        this.storedOffset = offset;
+    }
+
+    SnapshotImage getStoredImage() {
+        return storedImage;
+    }
+
+    int getStoredOffset() {
+        return storedOffset;
+    }
+
+    /**
+     * Passes the student's enrollments and scores to the visitor without restoring them: a student whose
+     * state is still in the snapshot is read from it, so visiting every student keeps memory flat.
+     */
+    void visitState(SnapshotImage.StateVisitor visitor) {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    if (storedImage != null) {
+                        storedImage.visitStudentState(storedOffset, visitor);
+                    }
+                    return;
+                }
+            }
+        }
+        enrolledCourses.forEach(visitor::course);
+        enrolledSubjects.forEach(visitor::subject);
+        examScores.forEach(visitor::score);
+    }
+
+    // Creates the enrollment and score collections on first access, reading them from the snapshot if attached.
+    // The volatile write of 'loaded' publishes the filled collections to other threads.
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    EnrollmentSet<Course> courses = new EnrollmentSet<>(Course::getCourseNumber);
+                    EnrollmentSet<Subject> subjects = new EnrollmentSet<>(Subject::getSubjectNumber);
+                    IntIntMap scores = new IntIntMap();
+                    if (storedImage != null) {
+                        storedImage.restoreStudentState(storedOffset, courses, subjects, scores);
+                        storedImage.release();
+                        storedImage = null;
+                    }
+                    enrolledCourses = courses;
+                    enrolledSubjects = subjects;
+                    examScores = scores;
+                    loaded = true;
+                }
+            }
+        }
+    }
+
+    
+    public String getStudentId() {
+        return Ids.format(Ids.STUDENT, studentId);
+    }
+
+    public int getStudentNumber() {
+        return studentId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public int getAge() {
+        return age;
+    }
+
+    public Collection<Course> getEnrolledCourses() {
+        ensureLoaded();
+        return enrolledCourses;
+    }
+
+    public Collection<Subject> getEnrolledSubjects() {
+        ensureLoaded();
+        return enrolledSubjects;
+    }
+
+    public boolean isEnrolledInCourse(int courseNumber) {
+        ensureLoaded();
+        return enrolledCourses.containsId(courseNumber);
+    }
+
+    public boolean isEnrolledInSubject(int subjectNumber) {
+        ensureLoaded();
+        return enrolledSubjects.containsId(subjectNumber);
+    }
+
+    /**
+     * Returns the student's exam scores, keyed by subject ID number, in the order they were first recorded.
+     */
+    public IntIntMap getExamScores() {
+        ensureLoaded();
+        return examScores;
+    }
+
+    // The scores if the student has been restored, otherwise null; unlike getExamScores it never takes the monitor
+    IntIntMap getLoadedExamScores() {
+        return loaded ? examScores : null;
+    }
+
+    // The score for a subject, or IntIntMap.MISSING if the student has not taken its exam
+    public int getExamScore(int subjectNumber) {
+        ensureLoaded();
+        return examScores.get(subjectNumber);
+    }
+
+  
+    /**
+     * Enrolls the student in a course.
+     * @return true if enrolled, false if the student was already enrolled in it.
+     */
+    public boolean enrollCourse(Course course) {
+        ensureLoaded();
+        return enrolledCourses.add(course); // Atomic constant-time check-and-add by course ID
+    }
+
+    
+    /**
+     * Enrolls the student in a subject.
+     * @return true if enrolled, false if the student was already enrolled in it.
+     */
+    public boolean enrollSubject(Subject subject) {
+        ensureLoaded();
+        return enrolledSubjects.add(subject); // Atomic constant-time check-and-add by subject ID
+    }
+
+   
+    public void setExamScore(int subjectNumber, int score) {
+        ensureLoaded();
+        examScores.put(subjectNumber, score);
+        ConcurrentHashMap<Integer, ExamResult> results = examResults;
+        if (results != null) {
+            results.computeIfPresent(subjectNumber, (id, result) -> result.withScore(score)); // Keep a built record current
+        }
+    }
+
+    /**
+     * Returns a result record per exam score, in the order of getExamScores().
+     * Records are built on first view and reused until a score or the catalog changes.
+     */
+    public List<ExamResult> getExamResults(Catalog catalog) {
+        ensureLoaded();
+        ConcurrentHashMap<Integer, ExamResult> built = examResults;
+        if (built == null) {
+            synchronized (this) {
+                if (examResults == null) {
+                    examResults = new ConcurrentHashMap<>();
+                }
+                built = examResults;
+            }
+        }
+        int catalogVersion = catalog.getVersion();
+        if (catalogVersion != resultsCatalogVersion) { // An exam or subject changed: names and maximums may be stale
+            built.clear();
+            resultsCatalogVersion = catalogVersion;
+        }
+        List<ExamResult> results = new ArrayList<>(examScores.size());
+        ConcurrentHashMap<Integer, ExamResult> records = built;
+        examScores.forEach((subjectNumber, unused) -> {
+            // The score is read inside computeIfAbsent, so it cannot overtake a concurrent setExamScore
+            ExamResult result = records.computeIfAbsent(subjectNumber, id -> {
+                int score = examScores.get(id);
+                return score != IntIntMap.MISSING ? ExamResult.of(catalog, id, score) : null;
+            });
+            if (result != null) {
+                results.add(result);
+            }
+        });
+        return results;
+    }
+
+    
+    @Override
+    public void showMenu(Session session, StudentManagementSystem system) {
+        LineInput input = session.getInput();
+        PrintStream out = session.getOut();
+        while (true) {
+            out.println("\n--- Student Menu ---");
+            out.println("Hello, " + getName() + " (ID: " + getStudentId() + ")!");
+            out.println("1. View Available Courses");
+            out.println("2. Select Course and Choose Subjects");
+            out.println("3. Take Exam");
+            out.println("4. View My Exam Result");
+            out.println("5. Logout");
+            out.print("Enter your choice: ");
+
+            int choice = input.readInt();
+            if (choice == LineInput.NOT_A_NUMBER) {
+                out.println("Invalid input. Please enter a number (1-5).");
+                continue; // Continue to the next iteration of the loop
+            }
+
+            switch (choice) {
+                case 1:
+                    system.viewAvailableCourses(session);
+                    break;
+                case 2:
+                    system.studentSelectCourseAndSubjects(session, this); // Pass current student instance
+                    break;
+                case 3:
+                    system.takeExam(session, this); // Pass current student instance
+                    break;
+                case 4:
+                    system.viewMyExamResult(session, this); // Pass current student instance
+                    break;
+                case 5:
+                    out.println("Student logged out successfully.");
+                    return; // Exit student menu
+                default:
+                    out.println("Invalid choice. Please try again.");
+            }
+        }
+    }
+
+    
+    @Override
+    public String toString() {
+        return appendTo(new StringBuilder(96)).toString();
+    }
+
+    // Appends the same text as toString, for listings that render many students into one buffer
+    public StringBuilder appendTo(StringBuilder text) {
+        return text.append("ID: ").append(Ids.STUDENT).append(studentId).append(", Name: ").append(getName()).append(", Age: ").append(age)
+                .append(", Email: ").append(email).append(", Username: ").append(getUsername());
+    }
+}
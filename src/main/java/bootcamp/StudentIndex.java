@@ -0,0 +1,376 @@
+package bootcamp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Secondary indexes over students for admin searches: a radix trie over the words of names, a map of
+ * emails, a sorted map of ages to students, and per subject a bitmap of the students at each exam score;
+ * subject enrollment comes from the EnrollmentTable. Bitmaps hold student ID numbers, so each criterion
+ * of a StudentQuery becomes a RoaringBitmap, the bitmaps are intersected, and results are paged off the
+ * intersection without reading students that do not match.
+ * Pass and fail are the scores at or above, and below, the pass mark of the exam's current maximum,
+ * so changing an exam needs no rebuild.
+ * Like EnrollmentTable, the indexes are filled from all students on the first query and kept
+ * current by record calls. Records are idempotent, so one racing with the fill is harmless.
+ */
+class StudentIndex {
+    private final UserDirectory users;
+    private final Catalog catalog;
+    private final EnrollmentTable enrollments;
+    private final NameTrie names = new NameTrie();
+    private final Map<String, int[]> studentsByEmail = new HashMap<>(); // key = lower-cased email
+    private final TreeMap<Integer, RoaringBitmap> studentsByAge = new TreeMap<>();
+    private final Map<Integer, ScoreBits> subjects = new HashMap<>();
+    private final RoaringBitmap indexed = new RoaringBitmap(); // Students already in the name, email and age indexes
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock(); // Queries share it, records and the fill own it
+    private volatile boolean filled;
+
+    StudentIndex(UserDirectory users, Catalog catalog, EnrollmentTable enrollments) {
+        this.users = users;
+        this.catalog = catalog;
+        this.enrollments = enrollments;
+    }
+
+    // Called after a student is registered
+    public void recordStudent(Student student) {
+        lock.writeLock().lock();
+        try {
+            addStudent(student);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Called after a student's exam score is set, holding the student's monitor
+    public void recordScore(Student student, int subjectNumber, int score) {
+        lock.writeLock().lock();
+        try {
+            scoreBits(subjectNumber).setScore(student.getStudentNumber(), score);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the students matching a query.
+     * @return The matches in registration order.
+     */
+    public Result query(StudentQuery query) {
+        ensureFilled();
+        lock.readLock().lock();
+        RoaringBitmap matches;
+        try {
+            matches = candidates(query);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new Result(matches);
+    }
+
+    // Intersects the bitmap of each criterion that is set, most selective first
+    private RoaringBitmap candidates(StudentQuery query) {
+        RoaringBitmap matches = null;
+        if (query.email != null) {
+            matches = new RoaringBitmap();
+            for (int studentNumber : studentsByEmail.getOrDefault(query.email, new int[0])) {
+                matches.add(studentNumber);
+            }
+        }
+        if (query.subjectNumber >= 0) {
+            matches = intersect(matches, enrollments.studentsInSubject(query.subjectNumber));
+            if (query.examStatus != StudentQuery.ExamStatus.ANY) {
+                ScoreBits bits = subjects.get(query.subjectNumber);
+                matches.and(bits != null ? bits.withStatus(query.examStatus, ExamResult.maxScore(catalog, query.subjectNumber)) : new RoaringBitmap());
+            }
+        } else if (query.examStatus != StudentQuery.ExamStatus.ANY) {
+            RoaringBitmap anySubject = new RoaringBitmap();
+            subjects.forEach((subjectNumber, bits) -> anySubject.or(bits.withStatus(query.examStatus, ExamResult.maxScore(catalog, subjectNumber))));
+            matches = intersect(matches, anySubject);
+        }
+        if (query.minAge != Integer.MIN_VALUE || query.maxAge != Integer.MAX_VALUE) {
+            RoaringBitmap ages = new RoaringBitmap();
+            if (query.minAge <= query.maxAge) {
+                studentsByAge.subMap(query.minAge, true, query.maxAge, true).values().forEach(ages::or);
+            }
+            matches = intersect(matches, ages);
+        }
+        if (query.namePrefix != null) {
+            matches = intersect(matches, names.collect(query.namePrefix));
+        }
+        return matches != null ? matches : indexed.copy();
+    }
+
+    // Returns the matches so far ANDed with a criterion's bitmap, or the criterion's bitmap if it is the first
+    private static RoaringBitmap intersect(RoaringBitmap matches, RoaringBitmap criterion) {
+        if (matches == null) {
+            return criterion; // Always built for this query, so free to change
+        }
+        matches.and(criterion);
+        return matches;
+    }
+
+    /**
+     * Returns the students with an exam score in any of the subjects, e.g. to find those in a course
+     * who have not taken an exam yet.
+     */
+    public RoaringBitmap studentsWithScore(Collection<Subject> subjectsToCheck) {
+        ensureFilled();
+        lock.readLock().lock();
+        try {
+            RoaringBitmap scored = new RoaringBitmap();
+            for (Subject subject : subjectsToCheck) {
+                ScoreBits bits = subjects.get(subject.getSubjectNumber());
+                if (bits != null) {
+                    scored.or(bits.scored);
+                }
+            }
+            return scored;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Must be called holding the write lock
+    private void addStudent(Student student) {
+        int studentNumber = student.getStudentNumber();
+        if (!indexed.add(studentNumber)) {
+            return;
+        }
+        for (String key : nameKeys(student.getName())) {
+            names.add(key, studentNumber);
+        }
+        studentsByEmail.merge(student.getEmail().toLowerCase(Locale.ROOT), new int[] {studentNumber}, (existing, added) -> {
+            int[] both = Arrays.copyOf(existing, existing.length + 1);
+            both[existing.length] = studentNumber;
+            return both;
+        });
+        studentsByAge.computeIfAbsent(student.getAge(), age -> new RoaringBitmap()).add(studentNumber);
+    }
+
+    private ScoreBits scoreBits(int subjectNumber) {
+        return subjects.computeIfAbsent(subjectNumber, id -> new ScoreBits());
+    }
+
+    // Indexes every student. As in EnrollmentTable, a student is restored before the lock is taken;
+    // its scores are then read under the lock, so a score recorded meanwhile is either read or applied after.
+    private void ensureFilled() {
+        if (!filled) {
+            synchronized (this) {
+                if (!filled) {
+                    for (Student student : users.getStudents()) {
+                        IntIntMap scores = student.getExamScores();
+                        int studentNumber = student.getStudentNumber();
+                        lock.writeLock().lock();
+                        try {
+                            addStudent(student);
+                            scores.forEach((subjectNumber, score) -> scoreBits(subjectNumber).setScore(studentNumber, score));
+                        } finally {
+                            lock.writeLock().unlock();
+                        }
+                    }
+                    filled = true;
+                }
+            }
+        }
+    }
+
+    // Lower-cases a name or prefix and collapses its whitespace to single spaces
+    static String normalize(String name) {
+        return String.join(" ", name.trim().toLowerCase(Locale.ROOT).split("\\s+"));
+    }
+
+    // The normalized name from the start of each of its words: "Alice Smith" gives "alice smith" and "smith"
+    static List<String> nameKeys(String name) {
+        String normalized = normalize(name);
+        List<String> keys = new ArrayList<>(2);
+        keys.add(normalized);
+        for (int space = normalized.indexOf(' '); space >= 0; space = normalized.indexOf(' ', space + 1)) {
+            keys.add(normalized.substring(space + 1));
+        }
+        return keys;
+    }
+
+
+    // The students at each exam score in one subject
+    private static final class ScoreBits {
+        final List<RoaringBitmap> byScore = new ArrayList<>();
+        final RoaringBitmap scored = new RoaringBitmap(); // At any score
+
+        // Moves the student to the score's bitmap; setting the same score twice changes nothing
+        void setScore(int studentNumber, int score) {
+            scored.add(studentNumber);
+            for (RoaringBitmap students : byScore) {
+                students.remove(studentNumber);
+            }
+            while (byScore.size() <= score) {
+                byScore.add(new RoaringBitmap());
+            }
+            byScore.get(score).add(studentNumber);
+        }
+
+        RoaringBitmap withStatus(StudentQuery.ExamStatus status, int maxScore) {
+            RoaringBitmap students = new RoaringBitmap();
+            for (int score = 0; score < byScore.size(); score++) {
+                if (ExamResult.isPass(score, maxScore) == (status == StudentQuery.ExamStatus.PASSED)) {
+                    students.or(byScore.get(score));
+                }
+            }
+            return students;
+        }
+    }
+
+    /**
+     * Radix trie from name keys to student ID numbers. Each edge holds a run of characters, so a key
+     * adds at most two nodes, and a prefix search walks only the nodes under the prefix.
+     */
+    private static final class NameTrie {
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private static final int[] NO_IDS = new int[0];
+
+        private static final class Node {
+            String edge; // Characters from the parent to this node
+            Node[] children = NO_CHILDREN; // Sorted by the first character of their edge
+            int[] ids = NO_IDS; // Students whose key ends here
+            int idCount;
+
+            Node(String edge) {
+                this.edge = edge;
+            }
+
+            void addId(int id) {
+                if (idCount == ids.length) {
+                    ids = Arrays.copyOf(ids, Math.max(1, idCount * 2));
+                }
+                ids[idCount++] = id;
+            }
+
+            // Index of the child whose edge starts with c, or -(insertion point) - 1
+            int find(char c) {
+                int low = 0;
+                int high = children.length - 1;
+                while (low <= high) {
+                    int mid = (low + high) >>> 1;
+                    char first = children[mid].edge.charAt(0);
+                    if (first < c) {
+                        low = mid + 1;
+                    } else if (first > c) {
+                        high = mid - 1;
+                    } else {
+                        return mid;
+                    }
+                }
+                return -(low + 1);
+            }
+        }
+
+        private final Node root = new Node("");
+
+        void add(String key, int id) {
+            Node node = root;
+            int at = 0;
+            while (at < key.length()) {
+                int index = node.find(key.charAt(at));
+                if (index < 0) {
+                    Node leaf = new Node(key.substring(at));
+                    leaf.addId(id);
+                    int insertAt = -index - 1;
+                    Node[] children = new Node[node.children.length + 1];
+                    System.arraycopy(node.children, 0, children, 0, insertAt);
+                    children[insertAt] = leaf;
+                    System.arraycopy(node.children, insertAt, children, insertAt + 1, node.children.length - insertAt);
+                    node.children = children;
+                    return;
+                }
+                Node child = node.children[index];
+                int common = commonLength(child.edge, key, at);
+                if (common < child.edge.length()) { // Split the edge where the key leaves it
+                    Node middle = new Node(child.edge.substring(0, common));
+                    child.edge = child.edge.substring(common);
+                    middle.children = new Node[] {child};
+                    node.children[index] = middle;
+                    child = middle;
+                }
+                node = child;
+                at += common;
+            }
+            node.addId(id);
+        }
+
+        // Returns every student with a key starting with the prefix
+        RoaringBitmap collect(String prefix) {
+            Node node = root;
+            int at = 0;
+            while (at < prefix.length()) {
+                int index = node.find(prefix.charAt(at));
+                if (index < 0) {
+                    return new RoaringBitmap();
+                }
+                Node child = node.children[index];
+                int common = commonLength(child.edge, prefix, at);
+                if (at + common == prefix.length()) { // The prefix ends on or inside this edge
+                    node = child;
+                    break;
+                }
+                if (common < child.edge.length()) {
+                    return new RoaringBitmap();
+                }
+                node = child;
+                at += common;
+            }
+            BitSet found = new BitSet(); // IDs come in trie order; the bitmap is built from them in one pass
+            List<Node> pending = new ArrayList<>();
+            pending.add(node);
+            while (!pending.isEmpty()) {
+                Node next = pending.remove(pending.size() - 1);
+                for (int i = 0; i < next.idCount; i++) {
+                    found.set(next.ids[i]);
+                }
+                Collections.addAll(pending, next.children);
+            }
+            return RoaringBitmap.of(found.toLongArray());
+        }
+
+        private static int commonLength(String edge, String key, int from) {
+            int limit = Math.min(edge.length(), key.length() - from);
+            int length = 0;
+            while (length < limit && edge.charAt(length) == key.charAt(from + length)) {
+                length++;
+            }
+            return length;
+        }
+    }
+
+    /**
+     * Students matching a query, read a page at a time in registration order.
+     */
+    final class Result {
+        private final RoaringBitmap matches;
+
+        private Result(RoaringBitmap matches) {
+            this.matches = matches;
+        }
+
+        public int count() {
+            return matches.cardinality();
+        }
+
+        /**
+         * Returns up to limit matches, skipping the first offset without reading them.
+         */
+        public List<Student> page(int offset, int limit) {
+            List<Student> students = new ArrayList<>(Math.min(limit, Math.max(0, count() - offset)));
+            matches.forEach(offset, limit, studentNumber -> students.add(users.findStudentById(studentNumber)));
+            return students;
+        }
+    }
+}
@@ -0,0 +1,1418 @@
+package bootcamp;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+public class StudentManagementSystem {
+    private Catalog catalog; // Stores all available courses, subjects and exams
+    private UserDirectory userDirectory; // Stores all registered users (Admins and Students)
+    private EnrollmentTable enrollments; // Students in each subject and course
+    private StudentIndex studentIndex; // Students by name, email, age, subject and exam result, for searches
+    private ScoreAnalytics analytics; // Score statistics per subject and course
+    private AttemptLog attempts; // Every exam attempt, including those a retake replaced
+    private DataStore store; // Persists every change when a data directory is configured, otherwise null
+    private LoginService logins; // Checks passwords on a bounded pool, away from the session threads
+    private TimingWheel examTimer; // Fires the time limits of every exam in progress
+    private ExecutorService examHandoff; // Shows and submits the exams whose time ran out, off the timer thread
+    private Metrics metrics; // Calls and service times of the menu actions
+    private ScheduledExecutorService metricsDump; // Rewrites metrics.txt in the data directory, or null
+    private Path metricsFile; // Where metricsDump writes, or null
+    private boolean metricsPublished; // Whether metrics are registered with the platform MBean server
+    private volatile long examTimeLimitMillis = 30 * 60_000L; // Whole exam; 0 for no limit
+    private volatile long questionTimeLimitMillis = 2 * 60_000L; // Each question; 0 for no limit
+
+    // Changes and their journal entries are made under the read (shared) lock, so many sessions can change
+    // state at once; snapshots take the write (exclusive) lock so they never miss or split a change.
+    // Listings and lookups take no lock: the catalog, users and students use concurrent collections.
+    private final ReentrantReadWriteLock snapshotLock = new ReentrantReadWriteLock();
+
+    private static final int PAGE_SIZE = 100; // Students per page in long listings
+
+    
+    public StudentManagementSystem() {
+        this(null);
+    }
+
+    /**
+     * Creates the system, restoring its state from a data directory if one is given.
+     * @param dataDirectory Directory holding the snapshot and journal, or null to keep everything in memory.
+     */
+    public StudentManagementSystem(Path dataDirectory) {
+        catalog = new Catalog();
+        userDirectory = new UserDirectory();
+        enrollments = new EnrollmentTable(userDirectory);
+        studentIndex = new StudentIndex(userDirectory, catalog, enrollments);
+        analytics = new ScoreAnalytics(catalog, userDirectory);
+        attempts = dataDirectory != null ? new AttemptLog(dataDirectory.resolve("attempts.log")) : new AttemptLog();
+        logins = new LoginService();
+        examTimer = new TimingWheel("exam-timer", 100);
+        examHandoff = TimedExam.newHandoffExecutor();
+        metrics = newMetrics();
+        publishMetrics(dataDirectory);
+
+        if (dataDirectory != null) {
+            DataStore dataStore = new DataStore(dataDirectory);
+            if (dataStore.hasSnapshot()) {
+                int replayed = dataStore.load(catalog, userDirectory);
+                store = dataStore;
+                System.out.println("System Restored from " + dataDirectory + ": " + userDirectory.getStudentCount() + " students, "
+                        + catalog.getCourses().size() + " courses (" + replayed + " journal entries replayed).");
+                return;
+            }
+            seedDefaultData();
+            dataStore.writeSnapshot(catalog, userDirectory); // First start: persist the default data
+            store = dataStore;
+            return;
+        }
+        seedDefaultData();
+    }
+
+    /**
+     * Creates an in-memory system over existing data, without default data (used by benchmarks).
+     */
+    StudentManagementSystem(Catalog catalog, UserDirectory userDirectory) {
+        this.catalog = catalog;
+        this.userDirectory = userDirectory;
+        this.enrollments = new EnrollmentTable(userDirectory);
+        this.studentIndex = new StudentIndex(userDirectory, catalog, enrollments);
+        this.analytics = new ScoreAnalytics(catalog, userDirectory);
+        this.attempts = new AttemptLog();
+        this.logins = new LoginService();
+        this.examTimer = new TimingWheel("exam-timer", 100);
+        this.examHandoff = TimedExam.newHandoffExecutor();
+        this.metrics = newMetrics();
+    }
+
+    private Metrics newMetrics() {
+        Metrics metrics = new Metrics();
+        metrics.addGauge("students", userDirectory::getStudentCount);
+        metrics.addGauge("courses", () -> catalog.getCourses().size());
+        metrics.addGauge("exams", () -> catalog.getExams().size());
+        return metrics;
+    }
+
+    /**
+     * Registers the metrics over JMX and, with a data directory, dumps them to metrics.txt every minute.
+     * Metrics are optional: a failure is reported and the system carries on without them.
+     */
+    private void publishMetrics(Path dataDirectory) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, new ObjectName(Metrics.OBJECT_NAME));
+            metricsPublished = true;
+        } catch (InstanceAlreadyExistsException e) {
+            // Another system in this JVM published first
+        } catch (JMException e) {
+            System.out.println("Metrics not available over JMX: " + e.getMessage());
+        }
+        if (dataDirectory == null) {
+            return;
+        }
+        metricsFile = dataDirectory.resolve("metrics.txt");
+        metricsDump = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "metrics-dump");
+            thread.setDaemon(true);
+            return thread;
+        });
+        metricsDump.scheduleWithFixedDelay(this::dumpMetrics, 60, 60, TimeUnit.SECONDS);
+    }
+
+    private void dumpMetrics() {
+        try {
+            metrics.writeTo(metricsFile);
+        } catch (IOException e) {
+            System.out.println("Could not write " + metricsFile + ": " + e.getMessage());
+        }
+    }
+
+    private void seedDefaultData() {
+        // --- Initialize Dummy Data ---
+        // 1. Default Admin User
+        Admin defaultAdmin = new Admin("admin", "admin123");
+        userDirectory.addUser(defaultAdmin);
+        System.out.println("System Initialized: Default Admin (username: admin, password: admin123) created.");
+
+        // 2. Dummy Courses and Subjects
+        Course javaCourse = new Course("Java Programming");
+        Subject coreJava = new Subject("Core Java");
+        Subject advancedJava = new Subject("Advanced Java");
+        catalog.addCourse(javaCourse);
+        addSubjectToCourse(System.out, javaCourse, coreJava);
+        addSubjectToCourse(System.out, javaCourse, advancedJava);
+
+        Course pythonCourse = new Course("Python for Data Science");
+        Subject examSubject = new Subject("Python Basics");
+        Subject dataAnalysis = new Subject("Data Analysis with Python");
+        catalog.addCourse(pythonCourse);
+        addSubjectToCourse(System.out, pythonCourse, examSubject);
+        addSubjectToCourse(System.out, pythonCourse, dataAnalysis);
+
+        Course webDevCourse = new Course("Web Development");
+        Subject htmlCss = new Subject("HTML/CSS Fundamentals");
+        Subject javascript = new Subject("JavaScript Essentials");
+        catalog.addCourse(webDevCourse);
+        addSubjectToCourse(System.out, webDevCourse, htmlCss);
+        addSubjectToCourse(System.out, webDevCourse, javascript);
+
+        // 3. Dummy Students
+        Student student1 = new Student("alice", "pass123", "Alice Smith", 20, "alice@example.com");
+        userDirectory.addUser(student1); // Register for login and student listings
+        enrollStudentInCourse(System.out, student1, javaCourse);
+        enrollStudentInSubject(System.out, student1, coreJava);
+        enrollStudentInSubject(System.out, student1, advancedJava);
+
+        Student student2 = new Student("bob", "pass456", "Bob Johnson", 22, "bob@example.com");
+        userDirectory.addUser(student2); // Register for login and student listings
+        enrollStudentInCourse(System.out, student2, pythonCourse);
+        enrollStudentInSubject(System.out, student2, examSubject);
+        enrollStudentInSubject(System.out, student2, dataAnalysis);
+
+        Student student3 = new Student("charlie", "cpass", "Charlie Brown", 19, "charlie@example.com");
+        userDirectory.addUser(student3); // Register for login and student listings
+        enrollStudentInCourse(System.out, student3, webDevCourse);
+        enrollStudentInSubject(System.out, student3, htmlCss);
+        logins.hashPasswords(List.of(defaultAdmin, student1, student2, student3)); // Stored as hashes like any registration
+
+        // 4. Dummy Exams (minimum 5 MCQs per exam)
+        // Exam for Core Java (5 questions)
+        List<Question> coreJavaQuestions = new ArrayList<>();
+        coreJavaQuestions.add(new Question("What is the main purpose of encapsulation in OOP?", List.of("To hide implementation details", "To allow multiple inheritance", "To enable polymorphism", "To define interfaces"), 0));
+        coreJavaQuestions.add(new Question("Which keyword is used to prevent a class from being inherited?", List.of("static", "final", "abstract", "private"), 1));
+        coreJavaQuestions.add(new Question("What is the default value of an instance variable of type 'int' in Java?", List.of("null", "0", "false", "undefined"), 1));
+        coreJavaQuestions.add(new Question("Which of these is a checked exception in Java?", List.of("NullPointerException", "ArrayIndexOutOfBoundsException", "IOException", "ArithmeticException"), 2));
+        coreJavaQuestions.add(new Question("Which Java concept allows a class to take on multiple forms?", List.of("Inheritance", "Abstraction", "Polymorphism", "Encapsulation"), 2));
+        catalog.addExam(new Exam(coreJava.getSubjectNumber(), coreJava.getSubjectName(), coreJavaQuestions));
+
+        // Exam for Python Basics (5 questions)
+        List<Question> pythonQuestions = new ArrayList<>();
+        pythonQuestions.add(new Question("Which symbol is used for single-line comments in Python?", List.of("//", "#", "/*", "<!--"), 1));
+        pythonQuestions.add(new Question("What is the output of '2 ** 3' in Python?", List.of("6", "8", "9", "23"), 1));
+        pythonQuestions.add(new Question("Which function converts a string to an integer in Python?", List.of("str_to_int()", "int()", "convert_to_int()", "parse_int()"), 1));
+        pythonQuestions.add(new Question("What is PEP 8?", List.of("A Python package manager", "A Python web framework", "A style guide for Python code", "A Python testing library"), 2));
+        pythonQuestions.add(new Question("Which of these data types is immutable in Python?", List.of("list", "dictionary", "set", "tuple"), 3));
+        catalog.addExam(new Exam(examSubject.getSubjectNumber(), examSubject.getSubjectName(), pythonQuestions));
+
+        // Exam for HTML/CSS Fundamentals (5 questions)
+        List<Question> htmlCssQuestions = new ArrayList<>();
+        htmlCssQuestions.add(new Question("Which HTML tag is used to define an internal style sheet?", List.of("<script>", "<css>", "<style>", "<link>"), 2));
+        htmlCssQuestions.add(new Question("What does CSS stand for?", List.of("Creative Style Sheets", "Cascading Style Sheets", "Computer Style Sheets", "Colorful Style Sheets"), 1));
+        htmlCssQuestions.add(new Question("Which property is used to change the background color of an element?", List.of("color", "bgcolor", "background-color", "background"), 2));
+        htmlCssQuestions.add(new Question("Which HTML element is used to specify a footer for a document or section?", List.of("<bottom>", "<footer>", "<end>", "<section>"), 1));
+        htmlCssQuestions.add(new Question("In CSS, how do you select an element with id 'demo'?", List.of(".demo", "#demo", "element.demo", "*demo"), 1));
+        catalog.addExam(new Exam(htmlCss.getSubjectNumber(), htmlCss.getSubjectName(), htmlCssQuestions));
+    }
+
+    
+    /**
+     * Starts the application on the console, or as a server with "--server <port>".
+     * @param args [--server port] [--exam-time seconds] [--question-time seconds] [dataDirectory];
+     *             when a data directory is given, all changes are saved there and restored on the next start.
+     *             Exams default to 30 minutes, and 2 minutes per question; a time of 0 means no limit.
+     */
+    public static void main(String[] args) throws IOException {
+        int serverPort = -1;
+        Path dataDirectory = null;
+        List<String[]> imports = new ArrayList<>(); // Pairs of kind and file, run in order
+        List<String[]> exports = new ArrayList<>(); // Likewise, run after the imports
+        long examSeconds = -1; // -1 keeps the default time limit
+        long questionSeconds = -1;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--server") && i + 1 < args.length) {
+                serverPort = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--import") && i + 2 < args.length) {
+                imports.add(new String[] {args[++i], args[++i]});
+            } else if (args[i].equals("--export") && i + 2 < args.length) {
+                exports.add(new String[] {args[++i], args[++i]});
+            } else if (args[i].equals("--exam-time") && i + 1 < args.length) {
+                examSeconds = Long.parseLong(args[++i]);
+            } else if (args[i].equals("--question-time") && i + 1 < args.length) {
+                questionSeconds = Long.parseLong(args[++i]);
+            } else {
+                dataDirectory = Paths.get(args[i]);
+            }
+        }
+        StudentManagementSystem system = new StudentManagementSystem(dataDirectory);
+        system.setExamTimeLimits(examSeconds >= 0 ? examSeconds * 1000 : system.examTimeLimitMillis,
+                questionSeconds >= 0 ? questionSeconds * 1000 : system.questionTimeLimitMillis);
+        if (!imports.isEmpty() || !exports.isEmpty()) { // Import and export, then exit
+            BulkImporter importer = new BulkImporter(system, system.catalog, system.userDirectory, System.out);
+            for (String[] fileImport : imports) {
+                importer.importFile(fileImport[0], Paths.get(fileImport[1]));
+            }
+            ReportExporter exporter = new ReportExporter(system.catalog, system.userDirectory, System.out);
+            for (String[] fileExport : exports) {
+                exporter.exportFile(fileExport[0], Paths.get(fileExport[1]));
+            }
+            system.shutdown();
+            return;
+        }
+        if (serverPort < 0) {
+            system.run();
+            return;
+        }
+        SessionServer server = new SessionServer(system, serverPort);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            system.shutdown();
+        }));
+        System.out.println("Server listening on port " + server.getPort() + ".");
+        server.serve();
+    }
+
+    /**
+     * Sets the time limits for exams started from now on.
+     * @param examMillis Time for a whole exam, or 0 for no limit.
+     * @param questionMillis Time for each question, or 0 for no limit.
+     */
+    public void setExamTimeLimits(long examMillis, long questionMillis) {
+        this.examTimeLimitMillis = examMillis;
+        this.questionTimeLimitMillis = questionMillis;
+    }
+
+    Metrics getMetrics() {
+        return metrics;
+    }
+
+    StudentIndex getStudentIndex() {
+        return studentIndex;
+    }
+
+    Catalog getCatalog() {
+        return catalog;
+    }
+
+    UserDirectory getUserDirectory() {
+        return userDirectory;
+    }
+
+    EnrollmentTable getEnrollments() {
+        return enrollments;
+    }
+
+    /**
+     * Runs a single session on the console and shuts the system down when the user exits.
+     */
+    public void run() {
+        runSession(new Session(new StreamLineInput(System.in), System.out));
+        shutdown();
+    }
+
+    /**
+     * Runs the main menu for one session until the user chooses to exit.
+     * Many sessions can run at the same time, each on its own thread.
+     * @param session The session's input, output and logged-in user.
+     */
+    public void runSession(Session session) {
+        LineInput input = session.getInput();
+        PrintStream out = session.getOut();
+        while (true) {
+            out.println("\n--- Welcome to Student Management System ---");
+            out.println("1. Login");
+            out.println("2. Register Student");
+            out.println("3. Resume Session (with a session token)");
+            out.println("4. Exit");
+            out.print("Enter your choice: ");
+
+            int choice = input.readInt();
+            if (choice == LineInput.NOT_A_NUMBER) {
+                out.println("Invalid input. Please enter a number (1-4).");
+                continue; // Restart the loop to ask for valid input
+            }
+
+            switch (choice) {
+                case 1:
+                    loginUser(session);
+                    break;
+                case 2:
+                    registerNewStudent(session);
+                    break;
+                case 3:
+                    resumeSession(session);
+                    break;
+                case 4:
+                    out.println("Exiting Student Management System. Goodbye!");
+                    return; // End this session
+                default:
+                    out.println("Invalid choice. Please enter 1, 2, 3 or 4.");
+            }
+        }
+    }
+
+    /**
+     * Writes a final compacted snapshot when persistence is enabled, so the next start has no journal to replay.
+     */
+    public void shutdown() {
+        examTimer.close(); // Exams still in progress are not submitted
+        examHandoff.shutdownNow();
+        if (metricsDump != null) {
+            metricsDump.shutdownNow();
+            dumpMetrics(); // Final figures
+            metricsDump = null;
+        }
+        if (metricsPublished) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(new ObjectName(Metrics.OBJECT_NAME));
+            } catch (JMException e) {
+                // Already gone
+            }
+            metricsPublished = false;
+        }
+        snapshotLock.writeLock().lock();
+        try {
+            if (store != null) {
+                store.writeSnapshot(catalog, userDirectory);
+                store.close();
+                store = null;
+            }
+            attempts.close();
+            logins.close();
+        } finally {
+            snapshotLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Runs a change and its journal entry while holding the snapshot lock in shared mode,
+     * then writes a new snapshot if the journal has grown too long.
+     * @return The change's result.
+     */
+    private <T> T mutate(Supplier<T> change) {
+        T result;
+        snapshotLock.readLock().lock();
+        try {
+            result = change.get();
+        } finally {
+            snapshotLock.readLock().unlock();
+        }
+        DataStore dataStore = store;
+        if (dataStore != null && dataStore.shouldCompact()) {
+            snapshotLock.writeLock().lock();
+            try {
+                if (store != null && store.shouldCompact()) { // Another session may have compacted already
+                    store.writeSnapshot(catalog, userDirectory);
+                }
+            } finally {
+                snapshotLock.writeLock().unlock();
+            }
+        }
+        return result;
+    }
+
+    // Appends a mutation to the journal if persistence is enabled. Must be called from within mutate.
+    private void journal(Consumer<DataStore> entry) {
+        if (store != null) {
+            entry.accept(store);
+        }
+    }
+
+    // --- Mutations shared by the menus; each one is journaled ---
+    // Changes to one student (or course) are made while holding its monitor, so its
+    // journal entries are written in the same order as the changes were applied.
+    // The enrollment and score mutations are package-private so ConcurrencyStressTest can race them.
+
+    void enrollStudentInCourse(PrintStream out, Student student, Course course) {
+        boolean enrolled = mutate(() -> {
+            synchronized (student) {
+                boolean added = student.enrollCourse(course);
+                if (added) {
+                    enrollments.recordCourseEnrollment(student, course);
+                    journal(s -> s.logCourseEnrollment(student, course));
+                }
+                return added;
+            }
+        });
+        if (enrolled) {
+            out.println(student.getName() + " successfully enrolled in " + course.getCourseName() + ".");
+        } else {
+            out.println(student.getName() + " is already enrolled in " + course.getCourseName() + ".");
+        }
+    }
+
+    void enrollStudentInSubject(PrintStream out, Student student, Subject subject) {
+        boolean enrolled = mutate(() -> {
+            synchronized (student) {
+                boolean added = student.enrollSubject(subject);
+                if (added) {
+                    enrollments.recordSubjectEnrollment(student, subject);
+                    journal(s -> s.logSubjectEnrollment(student, subject));
+                }
+                return added;
+            }
+        });
+        if (enrolled) {
+            out.println(student.getName() + " successfully enrolled in subject " + subject.getSubjectName() + ".");
+        } else {
+            out.println(student.getName() + " is already enrolled in subject " + subject.getSubjectName() + ".");
+        }
+    }
+
+    // Saves an attempt's score and adds the attempt to the history
+    private void recordExamAttempt(Student student, Exam exam, int[] answers, int score) {
+        recordExamScore(student, exam.getSubjectNumber(), score);
+        attempts.append(student, exam, answers, score);
+    }
+
+    void recordExamScore(Student student, int subjectNumber, int score) {
+        mutate(() -> {
+            synchronized (student) {
+                analytics.recordScore(student, subjectNumber, score);
+                studentIndex.recordScore(student, subjectNumber, score);
+                journal(s -> s.logExamScore(student, subjectNumber, score));
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Grades a batch of answer sheets and saves each score like an exam taken in a session.
+     * Sheets answer every question of the exam in order, as on a printed paper of the whole bank, so
+     * their score is out of the bank size; the attempt is logged as an answer sheet with that score, and
+     * the subject score is it scaled to one attempt's paper, as for an exam taken in a session.
+     * Sheets for unknown student IDs are skipped.
+     *
+     * @return The number of scores saved.
+     */
+    public int gradeAnswerSheets(AnswerSheetBatch batch) {
+        Exam exam = batch.getExam();
+        int[] scores = batch.grade();
+        int[] answers = new int[exam.getQuestions().size()];
+        int saved = 0;
+        for (int i = 0; i < scores.length; i++) {
+            Student student = userDirectory.findStudentById(batch.getStudentId(i));
+            if (student != null) {
+                batch.getAnswers(i, answers);
+                recordExamScore(student, exam.getSubjectNumber(), exam.toPaperScore(scores[i]));
+                attempts.appendAnswerSheet(student, exam, answers, scores[i]);
+                saved++;
+            }
+        }
+        return saved;
+    }
+
+    // Registers a student unless the username is taken. Must be called from within mutate.
+    private boolean addStudent(Student student) {
+        if (!userDirectory.addUser(student)) {
+            return false;
+        }
+        studentIndex.recordStudent(student);
+        journal(s -> s.logStudentRegistered(student));
+        return true;
+    }
+
+    // Adds a course unless its name is taken. Must be called from within mutate.
+    private boolean addNewCourse(Course course) {
+        if (!catalog.addCourse(course)) {
+            return false;
+        }
+        journal(s -> s.logCourseAdded(course));
+        return true;
+    }
+
+    // --- Bulk changes used by the importer ---
+    // Each batch takes the snapshot lock once and flushes the journal once.
+
+    private <T> T mutateBatch(Supplier<T> changes) {
+        return mutate(() -> {
+            journal(DataStore::beginBatch);
+            try {
+                return changes.get();
+            } finally {
+                journal(DataStore::endBatch);
+            }
+        });
+    }
+
+    /**
+     * Replaces the plaintext passwords of users not yet registered with hashes.
+     */
+    public void hashPasswords(List<? extends User> users) {
+        logins.hashPasswords(users);
+    }
+
+    /**
+     * Registers a batch of students.
+     * Passwords are stored as given, so hash them first with hashPasswords.
+     * @return For each student, whether it was registered (false if its username is taken).
+     */
+    public boolean[] registerStudents(List<Student> students) {
+        return mutateBatch(() -> {
+            boolean[] registered = new boolean[students.size()];
+            for (int i = 0; i < registered.length; i++) {
+                registered[i] = addStudent(students.get(i));
+            }
+            return registered;
+        });
+    }
+
+    /**
+     * Adds a batch of courses.
+     * @return For each course, whether it was added (false if its name is taken).
+     */
+    public boolean[] addCourses(List<Course> courses) {
+        return mutateBatch(() -> {
+            boolean[] added = new boolean[courses.size()];
+            for (int i = 0; i < added.length; i++) {
+                added[i] = addNewCourse(courses.get(i));
+            }
+            return added;
+        });
+    }
+
+    /**
+     * Adds a batch of subjects, each to the course at the same position.
+     * @return For each subject, whether it was added (false if its course already has a subject with that name).
+     */
+    public boolean[] addSubjects(List<Course> courses, List<Subject> subjects) {
+        return mutateBatch(() -> {
+            boolean[] added = new boolean[subjects.size()];
+            for (int i = 0; i < added.length; i++) {
+                Course course = courses.get(i);
+                Subject subject = subjects.get(i);
+                synchronized (course) {
+                    boolean nameTaken = false;
+                    for (Subject existing : course.getSubjects()) {
+                        nameTaken |= existing.getSubjectName().equalsIgnoreCase(subject.getSubjectName());
+                    }
+                    added[i] = !nameTaken && catalog.addSubject(course, subject);
+                    if (added[i]) {
+                        journal(s -> s.logSubjectAdded(course, subject));
+                    }
+                }
+            }
+            return added;
+        });
+    }
+
+    /**
+     * Appends questions to the exams of several subjects, creating an exam for subjects without one.
+     * An existing exam keeps its ID and gets the new questions after its previous ones (see Exam.withQuestionsAdded).
+     */
+    public void addQuestions(Map<Subject, List<Question>> questionsBySubject) {
+        mutateBatch(() -> {
+            for (Map.Entry<Subject, List<Question>> entry : questionsBySubject.entrySet()) {
+                Subject subject = entry.getKey();
+                synchronized (subject) { // Two imports for one subject must not lose each other's questions
+                    Exam current = catalog.getExamForSubject(subject.getSubjectNumber());
+                    Exam exam = current != null ? current.withQuestionsAdded(entry.getValue())
+                            : new Exam(subject.getSubjectNumber(), subject.getSubjectName(), new ArrayList<>(entry.getValue()));
+                    catalog.addExam(exam);
+                    journal(s -> s.logExamAdded(exam));
+                }
+            }
+            return null;
+        });
+    }
+
+    private void addSubjectToCourse(PrintStream out, Course course, Subject subject) {
+        boolean added = mutate(() -> {
+            synchronized (course) {
+                boolean subjectAdded = catalog.addSubject(course, subject);
+                if (subjectAdded) {
+                    journal(s -> s.logSubjectAdded(course, subject));
+                }
+                return subjectAdded;
+            }
+        });
+        if (added) {
+            out.println("Subject '" + subject.getSubjectName() + "' (ID: " + subject.getSubjectId() + ") added to course '" + course.getCourseName() + "'.");
+        } else {
+            out.println("Subject '" + subject.getSubjectName() + "' (ID: " + subject.getSubjectId() + ") already exists in course '" + course.getCourseName() + "'.");
+        }
+    }
+
+    private void removeSubjectFromCourse(PrintStream out, Course course, String subjectId) {
+        Subject removed = mutate(() -> {
+            synchronized (course) {
+                Subject removedSubject = catalog.removeSubject(course, Ids.parse(Ids.SUBJECT, subjectId));
+                if (removedSubject != null) {
+                    journal(s -> s.logSubjectRemoved(course, removedSubject));
+                }
+                return removedSubject;
+            }
+        });
+        if (removed != null) {
+            out.println("Subject '" + removed.getSubjectName() + "' removed from course '" + course.getCourseName() + "'.");
+        } else {
+            out.println("Subject with ID '" + subjectId + "' not found in course '" + course.getCourseName() + "'.");
+        }
+    }
+
+    
+    private void loginUser(Session session) {
+        LineInput input = session.getInput();
+        PrintStream out = session.getOut();
+        long start = System.nanoTime();
+        long waited = session.inputWaitNanos();
+        out.print("Enter username: ");
+        String username = input.readLine();
+        out.print("Enter password: ");
+        String password = input.readLine();
+
+        LoginService.Result result = login(username, password);
+        metrics.record(Metrics.Operation.LOGIN, start, session.inputWaitNanos() - waited); // Not the menus that follow
+
+        if (result.outcome == LoginService.Outcome.ACCEPTED) {
+            User foundUser = result.user;
+            session.setLoggedInUser(foundUser); // Set the session's logged-in user
+            out.println("Login successful!");
+            if (result.token != null) {
+                out.println("Session token (choose Resume Session and enter it to log in without your password for the next "
+                        + LoginService.TOKEN_LIFETIME_MILLIS / 60_000 + " minutes): " + result.token);
+            }
+            foundUser.showMenu(session, this); // Call the appropriate menu method based on user type
+            session.setLoggedInUser(null);
+        } else if (result.outcome == LoginService.Outcome.BUSY) {
+            out.println("The system is busy with other logins. Please try again in a moment.");
+        } else {
+            out.println("Invalid username or password. Please try again.");
+        }
+    }
+
+    // Logs in with the session token printed at an earlier password login
+    private void resumeSession(Session session) {
+        LineInput input = session.getInput();
+        PrintStream out = session.getOut();
+        long start = System.nanoTime();
+        long waited = session.inputWaitNanos();
+        out.print("Enter session token: ");
+        String token = input.readLine().trim();
+
+        LoginService.Result result = logins.resume(token);
+        metrics.record(Metrics.Operation.RESUME_SESSION, start, session.inputWaitNanos() - waited); // Not the menus that follow
+
+        if (result.outcome == LoginService.Outcome.ACCEPTED) {
+            session.setLoggedInUser(result.user);
+            out.println("Session resumed. Welcome back, " + result.user.getUsername() + "!");
+            result.user.showMenu(session, this);
+            session.setLoggedInUser(null);
+        } else {
+            out.println("Unknown or expired session token. Please log in with your password.");
+        }
+    }
+
+    /**
+     * Checks a username and password. A plaintext or outdated stored credential
+     * is replaced by a current hash once the password is confirmed.
+     */
+    LoginService.Result login(String username, String password) {
+        User user = userDirectory.findByUsername(username);
+        LoginService.Result result = logins.login(user, password);
+        if (result.newCredential != null) {
+            mutate(() -> {
+                synchronized (user) {
+                    if (user.getCredential().equals(result.checkedCredential)) { // Not changed since it was checked
+                        user.setCredential(result.newCredential);
+                        journal(s -> s.logCredentialChanged(user));
+                    }
+                    return null;
+                }
+            });
+        }
+        return result;
+    }
+
+    /**
+     * Checks a username and password.
+     * @return The user, or null if the username is unknown, the password does not match or the system is busy.
+     */
+    User authenticate(String username, String password) {
+        return login(username, password).user;
+    }
+
+    
+    private void registerNewStudent(Session session) {
+        long start = System.nanoTime();
+        long waited = session.inputWaitNanos();
+        try {
+            LineInput input = session.getInput();
+            PrintStream out = session.getOut();
+            out.print("Enter student's full name: ");
+            String name = input.readLine();
+
+            int age;
+            while (true) {
+                out.print("Enter student's age: ");
+                age = input.readInt();
+                if (age == LineInput.NOT_A_NUMBER) {
+                    out.println("Invalid input. Please enter a numerical value for age.");
+                } else if (age <= 0 || age > 100) { // Simple age validation
+                    out.println("Age must be a positive number and less than 100.");
+                } else {
+                    break; // Valid age entered, exit loop
+                }
+            }
+
+            out.print("Enter student's email address: ");
+            String email = input.readLine();
+
+            String username;
+            while (true) {
+                out.print("Choose a username: ");
+                username = input.readLine();
+                if (isUsernameTaken(username)) {
+                    out.println("That username is already taken. Please choose a different one.");
+                } else {
+                    break; // Unique username chosen, exit loop
+                }
+            }
+
+            out.print("Choose a password: ");
+            String password = input.readLine();
+
+            // Create a new Student object and add it to the directory
+            Student newStudent = new Student(username, password, name, age, email);
+            try {
+                logins.hashPasswords(List.of(newStudent)); // Before the student becomes visible, so only the hash is ever stored
+            } catch (IllegalStateException e) {
+                out.println("Registration failed: " + e.getMessage() + ". Please try again.");
+                return;
+            }
+            boolean registered = mutate(() -> addStudent(newStudent));
+            if (!registered) { // Another session took the username while this one was typing
+                out.println("That username was just taken by another registration. Please register again.");
+                return;
+            }
+            out.println("\nStudent '" + name + "' registered successfully!");
+            out.println("Your Student ID is: " + newStudent.getStudentId());
+            out.println("You can now login with username: " + newStudent.getUsername() + " and your chosen password.");
+        } finally {
+            metrics.record(Metrics.Operation.REGISTER, start, session.inputWaitNanos() - waited);
+        }
+    }
+
+    
+    boolean isUsernameTaken(String username) {
+        return userDirectory.isUsernameTaken(username);
+    }
+
+    
+    public void addCourse(Session session) {
+        long start = System.nanoTime();
+        long waited = session.inputWaitNanos();
+        try {
+            LineInput input = session.getInput();
+            PrintStream out = session.getOut();
+            out.print("Enter the name of the new course: ");
+            String courseName = input.readLine();
+
+            // Check for duplicate course names (case-insensitive)
+            if (catalog.isCourseNameTaken(courseName)) {
+                out.println("A course with the name '" + courseName + "' already exists. Please choose a different name.");
+                return;
+            }
+
+            Course newCourse = new Course(courseName);
+            boolean added = mutate(() -> addNewCourse(newCourse)); // False if another admin added the same name meanwhile
+            if (!added) {
+                out.println("A course with the name '" + courseName + "' already exists. Please choose a different name.");
+                return;
+            }
+            out.println("Course '" + courseName + "' (ID: " + newCourse.getCourseId() + ") added successfully.");
+        } finally {
+            metrics.record(Metrics.Operation.ADD_COURSE, start, session.inputWaitNanos() - waited);
+        }
+    }
+
+    
+    public void manageCourseSubjects(Session session) {
+        long start = System.nanoTime();
+        long waited = session.inputWaitNanos();
+        try {
+            LineInput input = session.getInput();
+            PrintStream out = session.getOut();
+            List<Course> courses = catalog.getCourses();
+            if (courses.isEmpty()) {
+                out.println("No courses are available to manage subjects. Please add a course first.");
+                return;
+            }
+
+            out.println("\n--- Available Courses for Subject Management ---");
+            for (int i = 0; i < courses.size(); i++) {
+                out.println((i + 1) + ". " + courses.get(i).getCourseName() + " (ID: " + courses.get(i).getCourseId() + ")");
+            }
+            out.print("Enter the number of the course to manage subjects for: ");
+
+            int courseChoice = input.readInt();
+            if (courseChoice == LineInput.NOT_A_NUMBER) {
+                out.println("Invalid input. Please enter a numerical value for course choice.");
+                return; // Exit function
+            }
+
+            Course selectedCourse = selectCourse(courseChoice);
+            if (selectedCourse == null) {
+                out.println("Invalid course selection. Please choose a number from the list.");
+                return;
+            }
+            out.println("\n--- Managing Subjects for: " + selectedCourse.getCourseName() + " ---");
+
+            while (true) {
+                out.println("\nSubject Management Options:");
+                out.println("1. Add Subject to " + selectedCourse.getCourseName());
+                out.println("2. Remove Subject from " + selectedCourse.getCourseName());
+                out.println("3. View All Subjects in " + selectedCourse.getCourseName());
+                out.println("4. View Students Enrolled in a Subject");
+                out.println("5. Back to Admin Menu");
+                out.print("Enter your choice: ");
+
+                int subjectActionChoice = input.readInt();
+                if (subjectActionChoice == LineInput.NOT_A_NUMBER) {
+                    out.println("Invalid input. Please enter a number (1-5).");
+                    continue; // Loop again for valid input
+                }
+
+                switch (subjectActionChoice) {
+                    case 1:
+                        out.print("Enter the name of the new subject to add: ");
+                        String subjectName = input.readLine();
+                        synchronized (selectedCourse) { // Check and add together, so two admins cannot add the same name
+                            // Check for duplicate subject names within THIS course
+                            boolean subjectExistsInCourse = false;
+                            for (Subject s : selectedCourse.getSubjects()) {
+                                if (s.getSubjectName().equalsIgnoreCase(subjectName)) {
+                                    subjectExistsInCourse = true;
+                                    out.println("Subject '" + subjectName + "' already exists in '" + selectedCourse.getCourseName() + "'.");
+                                    break;
+                                }
+                            }
+                            if (!subjectExistsInCourse) {
+                                addSubjectToCourse(out, selectedCourse, new Subject(subjectName));
+                            }
+                        }
+                        break;
+                    case 2:
+                        if (selectedCourse.getSubjects().isEmpty()) {
+                            out.println("There are no subjects in '" + selectedCourse.getCourseName() + "' to remove.");
+                            break;
+                        }
+                        out.println("\n--- Subjects in " + selectedCourse.getCourseName() + " ---");
+                        selectedCourse.getSubjects().forEach(out::println); // Print all subjects
+                        out.print("Enter the Subject ID to remove: ");
+                        String subIdToRemove = input.readLine();
+                        removeSubjectFromCourse(out, selectedCourse, subIdToRemove);
+                        break;
+                    case 3:
+                        if (selectedCourse.getSubjects().isEmpty()) {
+                            out.println("No subjects have been added to '" + selectedCourse.getCourseName() + "' yet.");
+                        } else {
+                            out.println("\n--- All Subjects in " + selectedCourse.getCourseName() + " ---");
+                            for (Subject subject : selectedCourse.getSubjects()) {
+                                out.println(subject + ", Enrolled Students: " + enrollments.countInSubject(subject.getSubjectNumber()));
+                            }
+                        }
+                        break;
+                    case 4:
+                        out.print("Enter the Subject ID to view enrolled students: ");
+                        String subjectId = input.readLine();
+                        Subject subject = selectedCourse.getSubject(Ids.parse(Ids.SUBJECT, subjectId));
+                        if (subject == null) {
+                            out.println("Subject with ID '" + subjectId + "' not found in '" + selectedCourse.getCourseName() + "'.");
+                            break;
+                        }
+                        Collection<Student> enrolled = enrollments.getStudentsInSubject(subject.getSubjectNumber());
+
+                        if (enrolled.isEmpty()) {
+                            out.println("No students are enrolled in " + subject.getSubjectName() + ".");
+                        } else {
+                            out.println("\n--- Students Enrolled in " + subject.getSubjectName() + " ---");
+                            enrolled.forEach(student -> out.println("ID: " + student.getStudentId() + ", Name: " + student.getName()));
+                        }
+                        break;
+                    case 5:
+                        return; // Go back to the main Admin menu
+                    default:
+                        out.println("Invalid choice. Please try again.");
+                }
+            }
+        } finally {
+            metrics.record(Metrics.Operation.MANAGE_COURSE_SUBJECTS, start, session.inputWaitNanos() - waited);
+        }
+    }
+
+    /**
+     * Allows an Admin to view a list of all registered students with their details.
+     * Long lists are shown a page at a time.
+     */
+    public void viewAllRegisteredStudents(Session session) {
+        long start = System.nanoTime();
+        long waited = session.inputWaitNanos();
+        try {
+            PrintStream out = session.getOut();
+            int total = userDirectory.getStudentCount();
+            if (total == 0) {
+                out.println("No students are registered in the system yet.");
+                return;
+            }
+            ListingWriter listing = session.getListing();
+            listing.line("\n--- All Registered Students ---");
+            int shown = 0;
+            for (Student student : userDirectory.getStudents()) {
+                if (shown > 0 && shown % PAGE_SIZE == 0 && !continueListing(session, shown, total)) {
+                    return;
+                }
+                StringBuilder text = listing.text();
+                student.appendTo(text);
+                listing.endLine();
+                if (!student.getEnrolledCourses().isEmpty()) {
+                    text.append("  Enrolled Courses: ");
+                    for (Course c : student.getEnrolledCourses()) {
+                        text.append(c.getCourseName()).append(" (ID: ").append(Ids.COURSE).append(c.getCourseNumber()).append("); ");
+                    }
+                    listing.endLine();
+                }
+                if (!student.getEnrolledSubjects().isEmpty()) {
+                    text.append("  Enrolled Subjects: ");
+                    for (Subject s : student.getEnrolledSubjects()) {
+                        text.append(s.getSubjectName()).append(" (ID: ").append(Ids.SUBJECT).append(s.getSubjectNumber()).append("); ");
+                    }
+                    listing.endLine();
+                }
+                listing.line("--------------------------------------------------");
+                shown++;
+            }
+            listing.flush();
+        } finally {
+            metrics.record(Metrics.Operation.VIEW_ALL_STUDENTS, start, session.inputWaitNanos() - waited);
+        }
+    }
+
+    /**
+     * Allows an Admin to view exam results for a specific student or all students.
+     * @param session The session of the Admin, used for reading input and printing results.
+     */
+    public void viewStudentExamResults(Session session) {
+        long start = System.nanoTime();
+        long waited = session.inputWaitNanos();
+        try {
+            LineInput input = session.getInput();
+            PrintStream out = session.getOut();
+            int total = userDirectory.getStudentCount();
+            if (total == 0) {
+                out.println("No students registered to view exam results.");
+                return;
+            }
+
+            ListingWriter listing = session.getListing();
+            listing.line("\n--- Available Students for Result Viewing ---");
+            int shown = 0;
+            for (Student s : userDirectory.getStudents()) {
+                if (shown > 0 && shown % PAGE_SIZE == 0 && !continueListing(session, shown, total)) {
+                    break;
+                }
+                listing.text().append("ID: ").append(Ids.STUDENT).append(s.getStudentNumber()).append(", Name: ").append(s.getName());
+                listing.endLine();
+                shown++;
+            }
+            listing.flush();
+
+            out.print("Enter student ID to view results (or type 'all' to view results for all students): ");
+            String studentIdInput = input.readLine();
+
+            if (studentIdInput.equalsIgnoreCase("all")) {
+                shown = 0;
+                for (Student student : userDirectory.getStudents()) {
+                    if (shown > 0 && shown % PAGE_SIZE == 0 && !continueListing(session, shown, total)) {
+                        return;
+                    }
+                    displayStudentResults(listing, student);
+                    shown++;
+                }
+                listing.flush();
+            } else {
+                Student foundStudent = userDirectory.findStudentById(studentIdInput);
+                if (foundStudent != null) {
+                    displayStudentResults(listing, foundStudent);
+                    listing.flush();
+                } else {
+                    out.println("Student with ID '" + studentIdInput + "' not found.");
+                }
+            }
+        } finally {
+            metrics.record(Metrics.Operation.VIEW_STUDENT_RESULTS, start, session.inputWaitNanos() - waited);
+        }
+    }
+
+    /**
+     * Allows an Admin to view score statistics for a course and each of its subjects.
+     */
+    public void viewScoreStatistics(Session session) {
+        long start = System.nanoTime();
+        long waited = session.inputWaitNanos();
+        try {
+            LineInput input = session.getInput();
+            PrintStream out = session.getOut();
+            List<Course> courses = catalog.getCourses();
+            if (courses.isEmpty()) {
+                out.println("No courses are available in the system at the moment.");
+                return;
+            }
+            out.println("\n--- Courses ---");
+            for (int i = 0; i < courses.size(); i++) {
+                out.println((i + 1) + ". " + courses.get(i).getCourseName() + " (ID: " + courses.get(i).getCourseId() + ")");
+            }
+            out.print("Enter the number of the course to view statistics for: ");
+
+            int courseChoice = input.readInt();
+            if (courseChoice == LineInput.NOT_A_NUMBER) {
+                out.println("Invalid input. Please enter a numerical value for course choice.");
+                return;
+            }
+            Course course = selectCourse(courseChoice);
+            if (course == null) {
+                out.println("Invalid course selection. Please choose a number from the list.");
+                return;
+            }
+
+            ListingWriter listing = session.getListing();
+            analytics.getCourseStatistics(course).render(listing);
+            long weekAgo = System.currentTimeMillis() - 7L * 24 * 60 * 60 * 1000;
+            for (Subject subject : course.getSubjects()) {
+                analytics.getSubjectStatistics(subject).render(listing);
+                long[] scoreSum = new long[1];
+                int recent = attempts.scan(subject.getSubjectNumber(), weekAgo, Long.MAX_VALUE, (log, row) -> scoreSum[0] += log.getScore(row));
+                if (recent > 0) {
+                    listing.line(String.format("Attempts in the last 7 days: %d, mean score %.1f", recent, (double) scoreSum[0] / recent));
+                }
+            }
+            listing.flush();
+        } finally {
+            metrics.record(Metrics.Operation.VIEW_SCORE_STATISTICS, start, session.inputWaitNanos() - waited);
+        }
+    }
+
+    /**
+     * Allows an Admin to search students by name, email, age, subject and exam result.
+     * Every criterion can be skipped; matches are shown a page at a time.
+     */
+    public void searchStudents(Session session) {
+        long start = System.nanoTime();
+        long waited = session.inputWaitNanos();
+        try {
+            LineInput input = session.getInput();
+            PrintStream out = session.getOut();
+            StudentQuery query = new StudentQuery();
+            out.println("\n--- Search Students (press Enter to skip a question) ---");
+            out.print("Name starts with: ");
+            String name = input.readLine().trim();
+            if (!name.isEmpty()) {
+                query.nameStartsWith(name);
+            }
+            out.print("Email: ");
+            String email = input.readLine().trim();
+            if (!email.isEmpty()) {
+                query.email(email);
+            }
+            out.print("Minimum age: ");
+            String minAge = input.readLine();
+            out.print("Maximum age: ");
+            String maxAge = input.readLine();
+            if (!minAge.isBlank() || !maxAge.isBlank()) {
+                int min = minAge.isBlank() ? Integer.MIN_VALUE : LineInput.parseInt(minAge, 0, minAge.length());
+                int max = maxAge.isBlank() ? Integer.MAX_VALUE : LineInput.parseInt(maxAge, 0, maxAge.length());
+                if (min == LineInput.NOT_A_NUMBER || max == LineInput.NOT_A_NUMBER) {
+                    out.println("Invalid input. Please enter a numerical value for age.");
+                    return;
+                }
+                query.ageBetween(min, max);
+            }
+            out.print("Enrolled in subject ID: ");
+            String subjectId = input.readLine().trim();
+            if (!subjectId.isEmpty()) {
+                Subject subject = catalog.getSubject(subjectId);
+                if (subject == null) {
+                    out.println("Subject with ID '" + subjectId + "' not found.");
+                    return;
+                }
+                query.enrolledIn(subject.getSubjectNumber());
+            }
+            out.print(subjectId.isEmpty() ? "Exam result in any subject (pass/fail): " : "Exam result in that subject (pass/fail): ");
+            String status = input.readLine().trim();
+            if (status.equalsIgnoreCase("pass")) {
+                query.examStatus(StudentQuery.ExamStatus.PASSED);
+            } else if (status.equalsIgnoreCase("fail")) {
+                query.examStatus(StudentQuery.ExamStatus.FAILED);
+            } else if (!status.isEmpty()) {
+                out.println("Invalid input. Please enter 'pass' or 'fail'.");
+                return;
+            }
+
+            StudentIndex.Result result = studentIndex.query(query);
+            int total = result.count();
+            if (total == 0) {
+                out.println("No students match the search.");
+                return;
+            }
+            ListingWriter listing = session.getListing();
+            listing.line("\n--- " + total + (total == 1 ? " Matching Student ---" : " Matching Students ---"));
+            for (int shown = 0; shown < total; shown += PAGE_SIZE) {
+                if (shown > 0 && !continueListing(session, shown, total)) {
+                    return;
+                }
+                for (Student student : result.page(shown, PAGE_SIZE)) {
+                    student.appendTo(listing.text());
+                    listing.endLine();
+                }
+            }
+            listing.flush();
+        } finally {
+            metrics.record(Metrics.Operation.SEARCH_STUDENTS, start, session.inputWaitNanos() - waited);
+        }
+    }
+
+    // Between pages of a long listing: shows the progress and asks whether to go on
+    private boolean continueListing(Session session, int shown, int total) {
+        ListingWriter listing = session.getListing();
+        listing.text().append("-- Shown ").append(shown).append(" of ").append(total)
+                .append(". Press Enter for more, or type 'q' to stop: ");
+        listing.flush();
+        return !session.getInput().readLine().trim().equalsIgnoreCase("q");
+    }
+
+    // Renders one student's results; the caller flushes the listing
+    void displayStudentResults(ListingWriter listing, Student student) {
+        StringBuilder text = listing.text();
+        text.append("\n--- Exam Results for ").append(student.getName()).append(" (ID: ").append(student.getStudentId()).append(") ---");
+        listing.endLine();
+        if (student.getExamScores().isEmpty()) {
+            text.append("No exam results available for ").append(student.getName()).append(" yet.");
+            listing.endLine();
+            return;
+        }
+
+        for (ExamResult result : student.getExamResults(catalog)) { // Prebuilt name, maximum and pass/fail
+            text.append("Subject: ").append(result.getSubjectName()).append(" (ID: ").append(Ids.SUBJECT).append(result.getSubjectNumber()).append(')');
+            listing.endLine();
+            text.append("  Score: ").append(result.getScore()).append('/').append(result.getMaxScore());
+            listing.endLine();
+            listing.line(result.isPassed() ? "  Status: PASS" : "  Status: FAIL");
+        }
+        listing.line("--------------------------------------------------");
+    }
+
+    
+    String getSubjectNameById(String subjectId) {
+        Subject subject = catalog.getSubject(subjectId);
+        return subject != null ? subject.getSubjectName() : null;
+    }
+
+
+    
+    public void viewAvailableCourses(Session session) {
+        long start = System.nanoTime();
+        long waited = session.inputWaitNanos();
+        try {
+            PrintStream out = session.getOut();
+            List<Course> courses = catalog.getCourses();
+            if (courses.isEmpty()) {
+                out.println("No courses are available in the system at the moment.");
+                return;
+            }
+            out.println("\n--- All Available Courses ---");
+            for (int i = 0; i < courses.size(); i++) {
+                Course course = courses.get(i);
+                out.println((i + 1) + ". " + course.getCourseName() + " (ID: " + course.getCourseId() + ")");
+                if (!course.getSubjects().isEmpty()) {
+                    out.println("   Subjects offered:");
+                    for (Subject subject : course.getSubjects()) {
+                        out.println("     - " + subject.getSubjectName() + " (ID: " + subject.getSubjectId() + ")");
+                    }
+                } else {
+                    out.println("   No subjects are currently available for this course.");
+                }
+                out.println("--------------------------------------------------");
+            }
+        } finally {
+            metrics.record(Metrics.Operation.VIEW_AVAILABLE_COURSES, start, session.inputWaitNanos() - waited);
+        }
+    }
+
+    // Returns the course at a 1-based menu position, or null if the position is out of range
+    private Course selectCourse(int courseChoice) {
+        List<Course> courses = catalog.getCourses();
+        return courseChoice >= 1 && courseChoice <= courses.size() ? courses.get(courseChoice - 1) : null;
+    }
+
+    // Returns a copy of a course's subjects, so it can be shown and indexed while other sessions edit the course
+    private List<Subject> copySubjects(Course course) {
+        return new ArrayList<>(course.getSubjects());
+    }
+
+    
+    public void studentSelectCourseAndSubjects(Session session, Student currentStudent) {
+        long start = System.nanoTime();
+        long waited = session.inputWaitNanos();
+        try {
+            LineInput input = session.getInput();
+            PrintStream out = session.getOut();
+            if (catalog.getCourses().isEmpty()) {
+                out.println("No courses available to select. Please contact the admin to add courses.");
+                return;
+            }
+            viewAvailableCourses(session); // Show all courses for selection
+
+            out.print("Enter the number of the course you wish to enroll in: ");
+            int courseChoice = input.readInt();
+            if (courseChoice == LineInput.NOT_A_NUMBER) {
+                out.println("Invalid input. Please enter a numerical value for course choice.");
+                return;
+            }
+
+            Course selectedCourse = selectCourse(courseChoice);
+            if (selectedCourse == null) {
+                out.println("Invalid course selection. Please choose a number from the list.");
+                return;
+            }
+
+            enrollStudentInCourse(out, currentStudent, selectedCourse); // Enroll the student in the chosen course
+
+            if (copySubjects(selectedCourse).isEmpty()) {
+                out.println("The selected course '" + selectedCourse.getCourseName() + "' has no subjects yet. Cannot enroll in subjects.");
+                return;
+            }
+
+            while (true) {
+                List<Subject> subjects = copySubjects(selectedCourse); // The numbers below refer to this copy
+                out.println("\n--- Subjects Available in " + selectedCourse.getCourseName() + " ---");
+                for (int i = 0; i < subjects.size(); i++) {
+                    Subject subject = subjects.get(i);
+                    out.println((i + 1) + ". " + subject.getSubjectName() + " (ID: " + subject.getSubjectId() + ")");
+                }
+                out.println("Enter the numbers of subjects you want to enroll in (e.g., 1 3), or type '0' to finish selecting subjects: ");
+                String line = input.readLine();
+                if (line.equals("0")) {
+                    out.println("Finished subject selection.");
+                    break; // Exit subject selection loop
+                }
+
+                // Numbers separated by single spaces, taken in order up to the first that is not a number
+                for (int from = 0; from <= line.length(); ) {
+                    int to = line.indexOf(' ', from);
+                    if (to < 0) {
+                        to = line.length();
+                    }
+                    int choice = LineInput.parseInt(line, from, to);
+                    if (choice == LineInput.NOT_A_NUMBER) {
+                        out.println("Invalid input format. Please enter numbers separated by spaces, or '0'.");
+                        break;
+                    }
+                    int subIndex = choice - 1; // Convert to 0-indexed
+                    if (subIndex >= 0 && subIndex < subjects.size()) {
+                        enrollStudentInSubject(out, currentStudent, subjects.get(subIndex));
+                    } else {
+                        out.println("Warning: Invalid subject number '" + choice + "' ignored.");
+                    }
+                    from = to + 1;
+                }
+            }
+        } finally {
+            metrics.record(Metrics.Operation.SELECT_COURSE_AND_SUBJECTS, start, session.inputWaitNanos() - waited);
+        }
+    }
+
+   
+    public void takeExam(Session session, Student currentStudent) {
+        long start = System.nanoTime();
+        long waited = session.inputWaitNanos();
+        try {
+            LineInput input = session.getInput();
+            PrintStream out = session.getOut();
+            // Filter subjects that the student is enrolled in AND for which an exam exists
+            List<Subject> subjectsWithAvailableExams = new ArrayList<>();
+            for (Subject studentEnrolledSubject : currentStudent.getEnrolledSubjects()) {
+                if (catalog.getExamForSubject(studentEnrolledSubject.getSubjectNumber()) != null) {
+                    subjectsWithAvailableExams.add(studentEnrolledSubject);
+                }
+            }
+
+            if (subjectsWithAvailableExams.isEmpty()) {
+                out.println("You are not currently enrolled in any subjects that have an available exam.");
+                out.println("Please enroll in subjects, or wait for an exam to be set up by the admin.");
+                return;
+            }
+
+            out.println("\n--- Subjects You Can Take an Exam For ---");
+            for (int i = 0; i < subjectsWithAvailableExams.size(); i++) {
+                out.println((i + 1) + ". " + subjectsWithAvailableExams.get(i).getSubjectName());
+            }
+
+            out.print("Enter the number of the subject for which you want to take the exam: ");
+            int subjectChoice = input.readInt();
+            if (subjectChoice == LineInput.NOT_A_NUMBER) {
+                out.println("Invalid input. Please enter a numerical value for subject choice.");
+                return;
+            }
+
+            if (subjectChoice < 1 || subjectChoice > subjectsWithAvailableExams.size()) {
+                out.println("Invalid subject selection. Please choose a number from the list.");
+                return;
+            }
+
+            Subject selectedSubjectForExam = subjectsWithAvailableExams.get(subjectChoice - 1);
+            Exam examToTake = catalog.getExamForSubject(selectedSubjectForExam.getSubjectNumber());
+            int previousScore = currentStudent.getExamScore(selectedSubjectForExam.getSubjectNumber());
+
+            if (examToTake == null) {
+                out.println("Error: No exam found for '" + selectedSubjectForExam.getSubjectName() + "'. This should not happen if listed above.");
+                return;
+            }
+
+            // Check if student has already taken this exam
+            if (previousScore != IntIntMap.MISSING) {
+                out.println("You have already taken the exam for " + selectedSubjectForExam.getSubjectName() + ".");
+                out.println("Your previous score: " + previousScore + "/" + examToTake.getQuestionsPerAttempt());
+                out.print("Do you want to retake the exam? (yes/no): ");
+                String retakeChoice = input.readLine().trim().toLowerCase();
+                if (!retakeChoice.equals("yes")) {
+                    out.println("Exam retake cancelled.");
+                    return;
+                }
+            }
+
+            out.println("\n--- Starting Exam for " + selectedSubjectForExam.getSubjectName() + " ---");
+            // This attempt's own sample of questions and option order, reproducible from the attempt history
+            ExamPaper paper = examToTake.drawPaper(currentStudent, attempts.countAttempts(currentStudent, examToTake));
+            TimedExam timedExam = new TimedExam(paper, selectedSubjectForExam.getSubjectName(), out,
+                    (answers, score) -> recordExamAttempt(currentStudent, examToTake, answers, score)); // Save the score and the attempt
+            timedExam.start(examTimer, examHandoff, examTimeLimitMillis, questionTimeLimitMillis);
+            boolean over = false;
+            while (!over) { // Ends when every question is answered, or on the next line after the time ran out
+                over = timedExam.answer(input.readInt());
+            }
+        } finally {
+            metrics.record(Metrics.Operation.TAKE_EXAM, start, session.inputWaitNanos() - waited);
+        }
+    }
+
+    /**
+     * Allows a student to view their own exam results.
+     * Delegates to the shared `displayStudentResults` helper method.
+     * @param session The session of the student.
+     * @param currentStudent The Student object currently logged in.
+     */
+    public void viewMyExamResult(Session session, Student currentStudent) {
+        long start = System.nanoTime();
+        long waited = session.inputWaitNanos();
+        try {
+            ListingWriter listing = session.getListing();
+            displayStudentResults(listing, currentStudent);
+            listing.flush();
+        } finally {
+            metrics.record(Metrics.Operation.VIEW_MY_RESULT, start, session.inputWaitNanos() - waited);
+        }
+    }
+}
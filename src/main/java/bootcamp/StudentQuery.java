@@ -0,0 +1,75 @@
+package bootcamp;
+
+import java.util.Locale;
+
+/**
+ * Criteria of a student search. Criteria left unset match every student; a student must match all
+ * the criteria that are set. Names match by the start of any word, so "smi" finds "Alice Smith".
+ */
+class StudentQuery {
+    enum ExamStatus { ANY, PASSED, FAILED }
+
+    String namePrefix; // Lower-cased, single-spaced; null for any name
+    String email; // Lower-cased; null for any email
+    int minAge = Integer.MIN_VALUE;
+    int maxAge = Integer.MAX_VALUE;
+    int subjectNumber = -1; // -1 for any subject
+    ExamStatus examStatus = ExamStatus.ANY; // In the subject, or in any subject if none is set
+
+    public StudentQuery nameStartsWith(String prefix) {
+        this.namePrefix = StudentIndex.normalize(prefix);
+        return this;
+    }
+
+    public StudentQuery email(String email) {
+        this.email = email.trim().toLowerCase(Locale.ROOT);
+        return this;
+    }
+
+    public StudentQuery ageBetween(int minAge, int maxAge) {
+        this.minAge = minAge;
+        this.maxAge = maxAge;
+        return this;
+    }
+
+    public StudentQuery enrolledIn(int subjectNumber) {
+        this.subjectNumber = subjectNumber;
+        return this;
+    }
+
+    public StudentQuery examStatus(ExamStatus status) {
+        this.examStatus = status;
+        return this;
+    }
+
+    // Whether a student matches, checked directly; what the indexes must agree with
+    boolean matches(Student student, Catalog catalog) {
+        if (namePrefix != null && !StudentIndex.nameKeys(student.getName()).stream().anyMatch(key -> key.startsWith(namePrefix))) {
+            return false;
+        }
+        if (email != null && !email.equals(student.getEmail().toLowerCase(Locale.ROOT))) {
+            return false;
+        }
+        if (student.getAge() < minAge || student.getAge() > maxAge) {
+            return false;
+        }
+        if (subjectNumber >= 0 && !student.isEnrolledInSubject(subjectNumber)) {
+            return false;
+        }
+        if (examStatus == ExamStatus.ANY) {
+            return true;
+        }
+        boolean wanted = examStatus == ExamStatus.PASSED;
+        if (subjectNumber >= 0) {
+            int score = student.getExamScore(subjectNumber);
+            return score != IntIntMap.MISSING && ExamResult.isPass(score, ExamResult.maxScore(catalog, subjectNumber)) == wanted;
+        }
+        IntIntMap scores = student.getExamScores();
+        for (int i = 0; i < scores.size(); i++) {
+            if (ExamResult.isPass(scores.valueAt(i), ExamResult.maxScore(catalog, scores.keyAt(i))) == wanted) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,68 @@
+package bootcamp;
+
+import java.util.concurrent.atomic.AtomicInteger; // For generating unique IDs
+
+class Subject {
+    private final int subjectId; // Shown as "SUB" + number, see Ids
+    private String subjectName;
+
+    // Static counter to generate unique subject IDs
+    private static final AtomicInteger idCounter = new AtomicInteger(10000);
+
+    
+    public Subject(String subjectName) {
+        this.subjectId = idCounter.getAndIncrement();
+        this.subjectName = subjectName;
+    }
+
+    /**
+     * Constructor used when restoring a subject from storage with its original ID.
+     */
+    Subject(String subjectId, String subjectName) {
+        this.subjectId = Ids.parseOrThrow(Ids.SUBJECT, subjectId);
+        this.subjectName = subjectName;
+        resumeIdsFrom(this.subjectId + 1);
+    }
+
+    static int peekNextId() {
+        return idCounter.get();
+    }
+
+    static void resumeIdsFrom(int nextId) {
+        idCounter.accumulateAndGet(nextId, Math::max);
+    }
+
+    // Getter methods for subject properties
+    public String getSubjectId() {
+        return Ids.format(Ids.SUBJECT, subjectId);
+    }
+
+    public int getSubjectNumber() {
+        return subjectId;
+    }
+
+    public String getSubjectName() {
+        return subjectName;
+    }
+
+  
+    @Override
+    public String toString() {
+        return "ID: " + getSubjectId() + ", Name: " + subjectName;
+    }
+
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Subject subject = (Subject) o;
+        return subjectId == subject.subjectId; // Subjects are equal if their IDs are the same
+    }
+
+    
+    @Override
+    public int hashCode() {
+        return Integer.hashCode(subjectId);
+    }
+}
@@ -0,0 +1,202 @@
+package bootcamp;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One student's attempt at an exam paper, with a time limit for the whole exam and for each question.
+ * A question whose time runs out is left unanswered and the next one is shown; when the exam time runs out
+ * the attempt is submitted with the answers given so far, even while the session is still waiting for input.
+ * The exam timer only marks a deadline as passed and hands the attempt to an executor, which shows the next
+ * question or submits under this object's lock, so a slow client or a slow save never holds up the timer.
+ * An answer typed after a deadline passed is not taken, even if the executor has not got to it yet.
+ */
+class TimedExam {
+    /** Receives the answers (bank option indexes, -1 where unanswered) and the score when the attempt ends. */
+    interface Submission {
+        void submit(int[] answers, int score);
+    }
+
+    private final ExamPaper paper;
+    private final String subjectName;
+    private final PrintStream out;
+    private final Submission submission;
+    private final int[] answers;
+    private int score;
+    private int current; // The question being answered
+    private boolean finished;
+    private volatile boolean examTimedOut; // Set by the timer
+    private volatile int questionTimedOut = -1; // Set by the timer: the last question whose time ran out
+    private TimingWheel timer;
+    private Executor handoff;
+    private long questionLimitMillis;
+    private TimingWheel.Timeout examDeadline;
+    private TimingWheel.Timeout questionDeadline;
+
+    TimedExam(ExamPaper paper, String subjectName, PrintStream out, Submission submission) {
+        this.paper = paper;
+        this.subjectName = subjectName;
+        this.out = out;
+        this.submission = submission;
+        this.answers = new int[paper.size()];
+        Arrays.fill(answers, -1);
+    }
+
+    /**
+     * Creates the executor that shows and submits the attempts whose time ran out. It has a few threads, since a
+     * client that stops reading holds one until its socket write times out.
+     */
+    static ExecutorService newHandoffExecutor() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()), task -> {
+            Thread thread = new Thread(task, "exam-handoff-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts the clocks and shows the first question.
+     * @param handoff Runs the work of a deadline that has passed, away from the timer thread.
+     * @param examLimitMillis Time for the whole exam, or 0 for no limit.
+     * @param questionLimitMillis Time for each question, or 0 for no limit.
+     */
+    public synchronized void start(TimingWheel timer, Executor handoff, long examLimitMillis, long questionLimitMillis) {
+        this.timer = timer;
+        this.handoff = handoff;
+        this.questionLimitMillis = questionLimitMillis;
+        out.println("Total Questions: " + paper.size());
+        if (examLimitMillis > 0 && questionLimitMillis > 0) {
+            out.println("Time limit: " + describe(examLimitMillis) + " for the exam, " + describe(questionLimitMillis) + " per question.");
+        } else if (examLimitMillis > 0) {
+            out.println("Time limit: " + describe(examLimitMillis) + " for the exam.");
+        } else if (questionLimitMillis > 0) {
+            out.println("Time limit: " + describe(questionLimitMillis) + " per question.");
+        }
+        if (examLimitMillis > 0) {
+            examDeadline = timer.schedule(() -> {
+                examTimedOut = true;
+                handOff();
+            }, examLimitMillis);
+        }
+        nextQuestion(false);
+    }
+
+    /**
+     * Takes the answer typed for the current question.
+     * @param shownAnswer The 1-based option number as shown, or LineInput.NOT_A_NUMBER if the line was not a number.
+     * @return Whether the attempt is over: every question answered, or submitted when the time ran out.
+     */
+    public synchronized boolean answer(int shownAnswer) {
+        int question = current;
+        applyTimeouts(false);
+        if (finished || current != question) {
+            return finished; // Typed after the time ran out: the line is not taken
+        }
+        Question q = paper.getQuestion(current);
+        if (shownAnswer == LineInput.NOT_A_NUMBER) {
+            out.println("Invalid input. Please enter a numerical value.");
+            prompt(q);
+            return false;
+        }
+        if (shownAnswer < 1 || shownAnswer > q.getOptionCount()) {
+            out.println("Invalid option. Please enter a number within the valid range.");
+            prompt(q);
+            return false;
+        }
+
+        answers[current] = paper.toBankOption(current, shownAnswer - 1); // Convert user's 1-indexed answer to 0-indexed
+        if (answers[current] == q.getCorrectOptionIndex()) {
+            out.println("Correct Answer!");
+            score++;
+        } else {
+            int shown = paper.toShownOption(current, q.getCorrectOptionIndex());
+            out.println("Incorrect. The correct answer was: " + (shown + 1) + ". " + q.getOption(q.getCorrectOptionIndex()));
+        }
+        current++;
+        nextQuestion(false);
+        return finished;
+    }
+
+    // On the timer thread, after marking the deadline
+    private void handOff() {
+        try {
+            handoff.execute(this::timeUp);
+        } catch (RejectedExecutionException e) {
+            // Shutting down: exams still in progress are not submitted
+        }
+    }
+
+    private synchronized void timeUp() {
+        applyTimeouts(true);
+    }
+
+    // Moves on past the deadlines the timer has marked since the attempt last moved
+    private void applyTimeouts(boolean byTimer) {
+        if (finished) {
+            return;
+        }
+        if (examTimedOut) {
+            out.println("\nTime is up! Your exam has been submitted with the answers given so far.");
+            submit(byTimer);
+        } else if (questionTimedOut == current) {
+            out.println("\nTime is up for this question.");
+            current++;
+            nextQuestion(byTimer);
+        }
+    }
+
+    // Shows the current question, or submits if there are no more
+    private void nextQuestion(boolean byTimer) {
+        if (questionDeadline != null) {
+            questionDeadline.cancel();
+            questionDeadline = null;
+        }
+        if (current == paper.size()) {
+            submit(byTimer);
+            return;
+        }
+        out.println("\nQuestion " + (current + 1) + " of " + paper.size() + ":");
+        paper.displayQuestion(current, out);
+        if (questionLimitMillis > 0) {
+            int question = current;
+            questionDeadline = timer.schedule(() -> {
+                questionTimedOut = question;
+                handOff();
+            }, questionLimitMillis);
+        }
+        prompt(paper.getQuestion(current));
+    }
+
+    private void prompt(Question q) {
+        out.print("Enter your answer (1-" + q.getOptionCount() + "): ");
+        out.flush();
+    }
+
+    private void submit(boolean byTimer) {
+        finished = true;
+        if (examDeadline != null) {
+            examDeadline.cancel();
+        }
+        if (questionDeadline != null) {
+            questionDeadline.cancel();
+        }
+        out.println("\n--- Exam Completed! ---");
+        out.println("Your final score for " + subjectName + ": " + score + "/" + paper.size());
+        submission.submit(answers, score);
+        out.println("Your result has been saved.");
+        if (byTimer) {
+            out.println("Press Enter to return to the menu.");
+        }
+    }
+
+    private static String describe(long millis) {
+        long seconds = millis / 1000;
+        return seconds % 60 == 0 ? seconds / 60 + " minute" + (seconds == 60 ? "" : "s") : seconds + " seconds";
+    }
+}
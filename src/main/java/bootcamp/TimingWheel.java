@@ -0,0 +1,168 @@
+package bootcamp;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs tasks after a delay on a single thread, however many deadlines are pending. Deadlines are kept in a
+ * hierarchical timing wheel: LEVELS wheels of SLOTS slots, where a slot of level n spans SLOTS^n ticks.
+ * Scheduling and cancelling cost the same whatever the number of pending deadlines; every tick the thread
+ * moves the deadlines in the next slot of a coarser wheel down to finer ones as they come near, then runs
+ * the tasks whose slot has come. Deadlines are rounded up to whole ticks.
+ * Tasks run on the timer thread, so they must be quick.
+ */
+class TimingWheel {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int LEVELS = 4;
+    private static final long MAX_TICKS = (1L << (SLOT_BITS * LEVELS)) - 1; // About 19 days at 100 ms ticks; later deadlines wait at the top
+
+    /** A scheduled task. */
+    final class Timeout {
+        private final Runnable task;
+        private final long deadline; // In ticks
+        private volatile boolean cancelled;
+        private Timeout previous; // Neighbours in the slot; timer thread only
+        private Timeout next;
+        private int level = -1; // Where it is linked, or -1; timer thread only
+        private int slot;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /** Stops the task from running, if it has not run yet. */
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                cancellations.add(this);
+            }
+        }
+    }
+
+    private final Timeout[][] wheels = new Timeout[LEVELS][SLOTS]; // Heads of each slot's list; timer thread only
+    private final Queue<Timeout> additions = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancellations = new ConcurrentLinkedQueue<>();
+    private final long tickNanos;
+    private final long startNanos;
+    private final Thread thread;
+    private long tick; // Next tick to run; timer thread only
+    private volatile boolean closed;
+
+    TimingWheel(String name, long tickMillis) {
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.startNanos = System.nanoTime();
+        this.thread = new Thread(this::run, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Schedules a task to run once the delay has passed.
+     * @return The timeout, to cancel the task if it is no longer needed.
+     */
+    public Timeout schedule(Runnable task, long delayMillis) {
+        long elapsed = System.nanoTime() - startNanos + TimeUnit.MILLISECONDS.toNanos(Math.max(delayMillis, 0));
+        Timeout timeout = new Timeout(task, (elapsed + tickNanos - 1) / tickNanos);
+        additions.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Stops the timer thread and waits for it, so no task runs after this returns. Pending tasks never run.
+     */
+    public void close() {
+        closed = true;
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        while (!closed) {
+            long wait = startNanos + tick * tickNanos - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(this, wait);
+                continue;
+            }
+            for (Timeout timeout; (timeout = additions.poll()) != null; ) {
+                if (!timeout.cancelled) {
+                    link(timeout);
+                }
+            }
+            for (Timeout timeout; (timeout = cancellations.poll()) != null; ) {
+                if (timeout.level >= 0) {
+                    unlink(timeout);
+                }
+            }
+            int index = (int) (tick & (SLOTS - 1));
+            if (index == 0) { // A coarser slot starts: move its deadlines down, and the next level's if that wrapped too
+                for (int level = 1; level < LEVELS; level++) {
+                    int slot = (int) ((tick >>> (SLOT_BITS * level)) & (SLOTS - 1));
+                    for (Timeout timeout = wheels[level][slot]; timeout != null; ) {
+                        Timeout next = timeout.next;
+                        unlink(timeout);
+                        link(timeout);
+                        timeout = next;
+                    }
+                    if (slot != 0) {
+                        break;
+                    }
+                }
+            }
+            for (Timeout timeout = wheels[0][index]; timeout != null; ) {
+                Timeout next = timeout.next;
+                unlink(timeout);
+                if (!timeout.cancelled) {
+                    try {
+                        timeout.task.run();
+                    } catch (RuntimeException e) {
+                        System.out.println("A timed task failed: " + e);
+                    }
+                }
+                timeout = next;
+            }
+            tick++;
+        }
+    }
+
+    // Links a timeout into the finest wheel whose span reaches its deadline
+    private void link(Timeout timeout) {
+        long delta = Math.min(Math.max(timeout.deadline - tick, 0), MAX_TICKS);
+        long expires = tick + delta;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >>> (SLOT_BITS * (level + 1)) != 0) {
+            level++;
+        }
+        int slot = (int) ((expires >>> (SLOT_BITS * level)) & (SLOTS - 1));
+        Timeout head = wheels[level][slot];
+        timeout.previous = null;
+        timeout.next = head;
+        if (head != null) {
+            head.previous = timeout;
+        }
+        wheels[level][slot] = timeout;
+        timeout.level = level;
+        timeout.slot = slot;
+    }
+
+    private void unlink(Timeout timeout) {
+        if (timeout.previous != null) {
+            timeout.previous.next = timeout.next;
+        } else {
+            wheels[timeout.level][timeout.slot] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.previous = timeout.previous;
+        }
+        timeout.previous = null;
+        timeout.next = null;
+        timeout.level = -1;
+    }
+}
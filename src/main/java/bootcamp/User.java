@@ -0,0 +1,38 @@
+package bootcamp;
+
+abstract class User {
+    private String username;
+    private volatile String credential; // Password hash (see Credentials), or a plaintext password not yet hashed
+    private String name;
+
+
+    /**
+     * @param credential A password hash, or a plaintext password to be hashed (see LoginService.hashPasswords)
+     */
+    public User(String username, String credential, String name) {
+        this.username = username;
+        this.credential = credential;
+        this.name = name;
+    }
+
+  
+    public String getUsername() {
+        return username;
+    }
+
+    public String getCredential() {
+        return credential;
+    }
+
+    void setCredential(String credential) {
+        this.credential = credential;
+    }
+
+
+    public String getName() {
+        return name;
+    }
+
+
+    public abstract void showMenu(Session session, StudentManagementSystem system);
+}
@@ -0,0 +1,90 @@
+package bootcamp;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * The UserDirectory is the single store of all registered users (Admins and Students).
+ * Usernames are indexed case-insensitively and students by ID, so login, registration
+ * and student lookups do not have to scan every user. It is safe to use from many
+ * sessions at once; listings never block registrations.
+ */
+class UserDirectory {
+    private final Map<String, User> usersByUsername; // key = lower-cased username
+    private final Map<Integer, Student> studentsById; // key = student ID number
+    private final Collection<Student> studentsInOrder; // All students in registration order
+
+    public UserDirectory() {
+        this.usersByUsername = new ConcurrentHashMap<>();
+        this.studentsById = new ConcurrentHashMap<>();
+        this.studentsInOrder = new ConcurrentLinkedQueue<>();
+    }
+
+    private static String usernameKey(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Adds a user to the directory.
+     * @param user The user to add.
+     * @return true if the user was added, false if the username (ignoring case) is already taken.
+     */
+    public boolean addUser(User user) {
+        if (usersByUsername.putIfAbsent(usernameKey(user.getUsername()), user) != null) {
+            return false; // Atomic check-and-add, so two sessions can never register the same username
+        }
+        if (user instanceof Student) {
+            Student student = (Student) user;
+            studentsById.put(student.getStudentNumber(), student);
+            studentsInOrder.add(student);
+        }
+        return true;
+    }
+
+    /**
+     * Finds a user by their exact (case-sensitive) username, as used for login.
+     * @return The user, or null if no user has that username.
+     */
+    public User findByUsername(String username) {
+        User user = usersByUsername.get(usernameKey(username));
+        if (user != null && user.getUsername().equals(username)) {
+            return user;
+        }
+        return null;
+    }
+
+    public boolean isUsernameTaken(String username) {
+        return usersByUsername.containsKey(usernameKey(username)); // Case-insensitive check
+    }
+
+    /**
+     * Finds a student by ID, ignoring case.
+     * @return The student, or null if not found.
+     */
+    public Student findStudentById(String studentId) {
+        int number = Ids.parse(Ids.STUDENT, studentId);
+        return number >= 0 ? studentsById.get(number) : null;
+    }
+
+    public Student findStudentById(int studentNumber) {
+        return studentsById.get(studentNumber);
+    }
+
+    // Returns a read-only view of all users (Admins and Students)
+    public Collection<User> getUsers() {
+        return Collections.unmodifiableCollection(usersByUsername.values());
+    }
+
+    // Returns a read-only view of all students in registration order
+    public Collection<Student> getStudents() {
+        return Collections.unmodifiableCollection(studentsInOrder);
+    }
+
+    public int getStudentCount() {
+        return studentsById.size();
+    }
+}
@@ -0,0 +1,69 @@
+package bootcamp;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class AnswerSheetBatchTest {
+    private static final int QUESTIONS = 50;
+
+    private final Random random = new Random(42);
+    private final List<Question> questions = new ArrayList<>();
+    private final Exam exam;
+
+    AnswerSheetBatchTest() {
+        for (int q = 0; q < QUESTIONS; q++) {
+            questions.add(new Question("Question " + q, Arrays.asList("A", "B", "C", "D"), random.nextInt(4)));
+        }
+        exam = new Exam(0, "Batch Subject", questions);
+    }
+
+    @Test
+    void batchScoresMatchOneByOneGrading() {
+        int sheetCount = 10_000;
+        AnswerSheetBatch batch = new AnswerSheetBatch(exam);
+        int[] expected = new int[sheetCount];
+        int[] answers = new int[QUESTIONS];
+        for (int i = 0; i < sheetCount; i++) {
+            for (int q = 0; q < QUESTIONS; q++) {
+                answers[q] = random.nextInt(5) - 1; // -1 leaves the question unanswered
+                if (answers[q] == questions.get(q).getCorrectOptionIndex()) {
+                    expected[i]++;
+                }
+            }
+            batch.add("STU" + i, answers);
+        }
+
+        assertArrayEquals(expected, batch.grade());
+        assertArrayEquals(expected, batch.grade(), "grading twice gives the same scores");
+    }
+
+    @Test
+    void sheetScoresAreSavedOnThePaperScale() {
+        // Scores go through the system like any other exam result, scaled from the whole bank to one attempt's paper
+        StudentManagementSystem system = new StudentManagementSystem();
+        AnswerSheetBatch sheets = new AnswerSheetBatch(exam);
+        int[] answers = new int[QUESTIONS];
+        for (int q = 0; q < QUESTIONS; q++) {
+            answers[q] = q % 2 == 0 ? questions.get(q).getCorrectOptionIndex() : -1;
+        }
+        sheets.add("STU1000", answers);
+        sheets.add("STU9999", answers); // Unknown student, skipped
+        try {
+            assertEquals(1, system.gradeAnswerSheets(sheets));
+            int saved = system.getUserDirectory().findStudentById("STU1000").getExamScore(exam.getSubjectNumber());
+            int bankScore = sheets.grade()[0];
+            assertEquals(QUESTIONS / 2, bankScore);
+            assertEquals(exam.toPaperScore(bankScore), saved);
+            assertTrue(saved <= exam.getQuestionsPerAttempt(), "saved score fits on one paper");
+        } finally {
+            system.shutdown();
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package bootcamp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Stress test for the concurrent data model: many threads register the same usernames,
+ * enroll the same students in the same subjects, record scores and edit the catalog
+ * while others read it. The registrations, enrollments and scores are then raced again through
+ * the system's journaled mutations on a data directory, and the restored state is compared with memory.
+ */
+class ConcurrencyStressTest {
+    private static final int STUDENTS = 2_000;
+    private static final int SUBJECTS = 40;
+    private static final int THREADS = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+    @TempDir
+    Path dataDirectory;
+
+    @RepeatedTest(3)
+    void dataModelKeepsEveryConcurrentUpdate() throws Exception {
+        UserDirectory users = new UserDirectory();
+        Catalog catalog = new Catalog();
+        Course course = new Course("Stress Course " + System.nanoTime());
+        catalog.addCourse(course);
+        List<Subject> subjects = new ArrayList<>();
+        for (int i = 0; i < SUBJECTS; i++) {
+            Subject subject = new Subject("Subject " + i);
+            catalog.addSubject(course, subject);
+            subjects.add(subject);
+        }
+
+        // 1. Every thread registers the same usernames, in different letter case
+        AtomicInteger registered = new AtomicInteger();
+        runConcurrently(t -> {
+            for (int i = 0; i < STUDENTS; i++) {
+                String username = (t % 2 == 0 ? "user" : "USER") + i;
+                if (users.addUser(new Student(username, "pw", "Student " + i, 20, username + "@example.com"))) {
+                    registered.incrementAndGet();
+                }
+            }
+        });
+        assertEquals(STUDENTS, registered.get(), "registrations");
+        assertEquals(STUDENTS, users.getStudentCount(), "students in directory");
+        assertEquals(STUDENTS, users.getStudents().size(), "students in listing");
+
+        // 2. Every thread enrolls every student in every subject, starting at a different subject
+        List<Student> students = new ArrayList<>(users.getStudents());
+        AtomicInteger enrollments = new AtomicInteger();
+        runConcurrently(t -> {
+            for (Student student : students) {
+                for (int i = 0; i < SUBJECTS; i++) {
+                    if (student.enrollSubject(subjects.get((i + t) % SUBJECTS))) {
+                        enrollments.incrementAndGet();
+                    }
+                }
+                if (student.enrollCourse(course)) {
+                    enrollments.incrementAndGet();
+                }
+            }
+        });
+        assertEquals(STUDENTS * (SUBJECTS + 1), enrollments.get(), "successful enrollments");
+        int wrongEnrollments = 0;
+        for (Student student : students) {
+            if (student.getEnrolledSubjects().size() != SUBJECTS || student.getEnrolledCourses().size() != 1) {
+                wrongEnrollments++;
+            }
+        }
+        assertEquals(0, wrongEnrollments, "students with lost or duplicate enrollments");
+
+        // 3. Each thread records scores for its own subjects on every student
+        runConcurrently(t -> {
+            for (Student student : students) {
+                for (int i = t; i < SUBJECTS; i += THREADS) {
+                    student.setExamScore(subjects.get(i).getSubjectNumber(), i % 6);
+                }
+            }
+        });
+        int wrongScores = 0;
+        for (Student student : students) {
+            for (int i = 0; i < SUBJECTS; i++) {
+                if (student.getExamScore(subjects.get(i).getSubjectNumber()) != i % 6) {
+                    wrongScores++;
+                }
+            }
+        }
+        assertEquals(0, wrongScores, "lost or wrong scores");
+
+        // 4. One admin thread edits the catalog while the others keep listing it
+        int addedSubjects = 1_000;
+        AtomicInteger readerErrors = new AtomicInteger();
+        runConcurrently(t -> {
+            if (t == 0) {
+                for (int i = 0; i < addedSubjects; i++) {
+                    Subject subject = new Subject("Added " + i);
+                    catalog.addSubject(course, subject);
+                    if (i % 2 == 0) {
+                        catalog.removeSubject(course, subject.getSubjectNumber());
+                    }
+                }
+                return;
+            }
+            for (int i = 0; i < 200; i++) {
+                try {
+                    for (Course c : catalog.getCourses()) {
+                        for (Subject subject : c.getSubjects()) {
+                            if (catalog.getSubject(subject.getSubjectNumber()) == null && c.getSubject(subject.getSubjectNumber()) != null) {
+                                readerErrors.incrementAndGet(); // Listed and still in the course but missing from the index
+                            }
+                        }
+                    }
+                } catch (RuntimeException e) {
+                    readerErrors.incrementAndGet();
+                }
+            }
+        });
+        assertEquals(SUBJECTS + addedSubjects / 2, course.getSubjects().size(), "subjects in course after edits");
+        assertEquals(0, readerErrors.get(), "reader errors during edits");
+    }
+
+    /**
+     * Races the same registrations, enrollments and scores through the system's journaled mutations,
+     * with compaction snapshots happening along the way, then restores the data directory into a fresh
+     * catalog and directory and checks that it matches the live state student by student.
+     */
+    @RepeatedTest(3)
+    void journaledMutationsRestoreToTheLiveState() throws Exception {
+        StudentManagementSystem system = new StudentManagementSystem(dataDirectory);
+        PrintStream quiet = new PrintStream(OutputStream.nullOutputStream());
+        Course course = new Course("System Stress Course");
+        system.addCourses(List.of(course));
+        List<Subject> subjects = new ArrayList<>();
+        for (int i = 0; i < SUBJECTS; i++) {
+            subjects.add(new Subject("System Subject " + i));
+        }
+        system.addSubjects(Collections.nCopies(SUBJECTS, course), subjects);
+
+        // 5. Every thread registers the same usernames through the system
+        AtomicInteger registered = new AtomicInteger();
+        runConcurrently(t -> {
+            for (int i = 0; i < STUDENTS; i++) {
+                String username = (t % 2 == 0 ? "member" : "MEMBER") + i;
+                if (system.registerStudents(List.of(new Student(username, "pw", "Member " + i, 20, username + "@example.com")))[0]) {
+                    registered.incrementAndGet();
+                }
+            }
+        });
+        assertEquals(STUDENTS, registered.get(), "system registrations");
+        List<Student> students = new ArrayList<>();
+        for (Student student : system.getUserDirectory().getStudents()) {
+            if (student.getUsername().regionMatches(true, 0, "member", 0, 6)) {
+                students.add(student);
+            }
+        }
+        assertEquals(STUDENTS, students.size(), "registered students in directory");
+
+        // 6. Every thread enrolls every student and sets every score, so the last write of each score races
+        runConcurrently(t -> {
+            for (Student student : students) {
+                system.enrollStudentInCourse(quiet, student, course);
+                for (int i = 0; i < SUBJECTS; i++) {
+                    Subject subject = subjects.get((i + t) % SUBJECTS);
+                    system.enrollStudentInSubject(quiet, student, subject);
+                    system.recordExamScore(student, subject.getSubjectNumber(), (i + t) % 6);
+                }
+            }
+        });
+        int wrongMatrix = 0;
+        for (Subject subject : subjects) {
+            if (system.getEnrollments().countInSubject(subject.getSubjectNumber()) != STUDENTS) {
+                wrongMatrix++;
+            }
+        }
+        assertEquals(0, wrongMatrix, "subjects with a wrong enrollment count");
+        assertEquals(STUDENTS, system.getEnrollments().studentsInCourse(course.getCourseNumber()).cardinality(), "students in the course");
+
+        // 7. Replaying the snapshot and journal must rebuild exactly what is in memory
+        Catalog restoredCatalog = new Catalog();
+        UserDirectory restoredUsers = new UserDirectory();
+        new DataStore(dataDirectory).load(restoredCatalog, restoredUsers);
+        assertEquals(system.getUserDirectory().getStudentCount(), restoredUsers.getStudentCount(), "restored students");
+        int different = 0;
+        for (Student student : system.getUserDirectory().getStudents()) {
+            User restored = restoredUsers.findByUsername(student.getUsername());
+            if (!(restored instanceof Student) || !sameState(student, (Student) restored)) {
+                different++;
+            }
+        }
+        assertEquals(0, different, "students restored differently from memory");
+        system.shutdown();
+    }
+
+    private static boolean sameState(Student live, Student restored) {
+        if (live.getStudentNumber() != restored.getStudentNumber()
+                || !live.getCredential().equals(restored.getCredential())) {
+            return false;
+        }
+        Set<Integer> liveCourses = new HashSet<>();
+        live.getEnrolledCourses().forEach(c -> liveCourses.add(c.getCourseNumber()));
+        Set<Integer> restoredCourses = new HashSet<>();
+        restored.getEnrolledCourses().forEach(c -> restoredCourses.add(c.getCourseNumber()));
+        Set<Integer> liveSubjects = new HashSet<>();
+        live.getEnrolledSubjects().forEach(s -> liveSubjects.add(s.getSubjectNumber()));
+        Set<Integer> restoredSubjects = new HashSet<>();
+        restored.getEnrolledSubjects().forEach(s -> restoredSubjects.add(s.getSubjectNumber()));
+        IntIntMap liveScores = live.getExamScores();
+        IntIntMap restoredScores = restored.getExamScores();
+        boolean sameScores = liveScores.size() == restoredScores.size();
+        for (int i = 0; sameScores && i < liveScores.size(); i++) {
+            sameScores = restoredScores.get(liveScores.keyAt(i)) == liveScores.valueAt(i);
+        }
+        return sameScores && liveCourses.equals(restoredCourses) && liveSubjects.equals(restoredSubjects);
+    }
+
+    private interface Task {
+        void run(int threadIndex) throws Exception;
+    }
+
+    // Starts all threads at the same moment to maximize contention and waits for them to finish
+    private static void runConcurrently(Task task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int threadIndex = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                task.run(threadIndex);
+                return null;
+            }));
+        }
+        start.countDown();
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
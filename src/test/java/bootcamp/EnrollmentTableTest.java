@@ -0,0 +1,66 @@
+package bootcamp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class EnrollmentTableTest {
+    private static final int STUDENTS = 20_000;
+
+    // The enrollment matrix and the score index answer the same as checking every student
+    @Test
+    void matrixAnswersMatchScans() {
+        Catalog catalog = new Catalog();
+        List<Course> courses = new ArrayList<>();
+        for (int c = 0; c < 10; c++) {
+            Course course = new Course("Matrix Course " + c);
+            catalog.addCourse(course);
+            for (int s = 0; s < 4; s++) {
+                catalog.addSubject(course, new Subject(course.getCourseName() + " Subject " + s));
+            }
+            courses.add(course);
+        }
+        UserDirectory users = new UserDirectory();
+        Random random = new Random(7);
+        for (int i = 0; i < STUDENTS; i++) {
+            Student student = new Student("matrix" + i, "pw", "Student " + i, 20, "matrix" + i + "@example.com");
+            users.addUser(student);
+            Course course = courses.get(random.nextInt(courses.size()));
+            student.enrollCourse(course);
+            for (Subject subject : course.getSubjects()) {
+                if (random.nextInt(4) != 0) {
+                    student.enrollSubject(subject);
+                    if (random.nextBoolean()) {
+                        student.setExamScore(subject.getSubjectNumber(), random.nextInt(6));
+                    }
+                }
+            }
+        }
+        Course course = courses.get(0);
+        List<Subject> courseSubjects = new ArrayList<>(course.getSubjects());
+        int first = courseSubjects.get(0).getSubjectNumber();
+        int second = courseSubjects.get(1).getSubjectNumber();
+
+        int scannedBoth = 0;
+        int scannedUnscored = 0;
+        for (Student student : users.getStudents()) {
+            if (student.isEnrolledInSubject(first) && student.isEnrolledInSubject(second)) {
+                scannedBoth++;
+            }
+            if (student.isEnrolledInCourse(course.getCourseNumber()) && course.getSubjects().stream()
+                    .noneMatch(subject -> student.getExamScore(subject.getSubjectNumber()) != IntIntMap.MISSING)) {
+                scannedUnscored++;
+            }
+        }
+
+        EnrollmentTable matrix = new EnrollmentTable(users);
+        StudentIndex index = new StudentIndex(users, catalog, matrix);
+        RoaringBitmap unscored = matrix.studentsInCourse(course.getCourseNumber());
+        unscored.andNot(index.studentsWithScore(course.getSubjects()));
+        assertEquals(scannedBoth, matrix.countInBothSubjects(first, second), "students in both subjects");
+        assertEquals(scannedUnscored, unscored.cardinality(), "students in the course without a score");
+    }
+}
@@ -0,0 +1,127 @@
+package bootcamp;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Per-attempt paper generation from a large question bank: every paper has distinct questions, the same
+ * (exam, student, attempt) always gives the same paper, questions are drawn evenly, and attempts replayed
+ * from the attempt history regrade to their recorded scores, also after an import grows the bank.
+ */
+class ExamPaperTest {
+    private static final int BANK_SIZE = 5_000;
+    private static final int STUDENTS = 10_000;
+
+    private final Exam exam;
+    private final Student[] students = new Student[STUDENTS];
+
+    ExamPaperTest() {
+        Subject subject = new Subject("Paper Subject");
+        List<Question> questions = new ArrayList<>(BANK_SIZE);
+        for (int q = 0; q < BANK_SIZE; q++) {
+            questions.add(new Question("Question " + q, List.of("A" + q, "B" + q, "C" + q, "D" + q), q % 4));
+        }
+        exam = new Exam(subject.getSubjectNumber(), subject.getSubjectName(), questions);
+        for (int i = 0; i < STUDENTS; i++) {
+            students[i] = new Student("user" + i, "pw", "Student " + i, 20, "user" + i + "@example.com");
+        }
+    }
+
+    @Test
+    void papersHaveDistinctQuestionsAndAreReproducible() {
+        int[] timesDrawn = new int[BANK_SIZE];
+        Set<String> questionSets = new HashSet<>();
+        for (Student student : students) {
+            ExamPaper paper = exam.drawPaper(student, 0);
+            ExamPaper again = exam.drawPaper(student, 0);
+            assertEquals(exam.getQuestionsPerAttempt(), paper.size());
+            Set<Integer> seen = new HashSet<>();
+            int[] sorted = new int[paper.size()];
+            for (int i = 0; i < paper.size(); i++) {
+                assertEquals(paper.getBankIndex(i), again.getBankIndex(i));
+                for (int shown = 0; shown < 4; shown++) {
+                    assertEquals(paper.toBankOption(i, shown), again.toBankOption(i, shown));
+                }
+                seen.add(paper.getBankIndex(i));
+                sorted[i] = paper.getBankIndex(i);
+                timesDrawn[paper.getBankIndex(i)]++;
+            }
+            assertEquals(paper.size(), seen.size(), "distinct questions on one paper");
+            Arrays.sort(sorted);
+            questionSets.add(Arrays.toString(sorted));
+        }
+        assertEquals(STUDENTS, questionSets.size(), "distinct question sets");
+
+        int expected = STUDENTS * exam.getQuestionsPerAttempt() / BANK_SIZE;
+        int least = Arrays.stream(timesDrawn).min().orElse(0);
+        int most = Arrays.stream(timesDrawn).max().orElse(0);
+        assertTrue(least > 0 && most < 2 * expected, "draws per question " + least + " .. " + most + ", expected " + expected);
+    }
+
+    @Test
+    void loggedAttemptsRegradeToTheirScores() {
+        AttemptLog log = new AttemptLog();
+        Random random = new Random(11);
+        for (int round = 0; round < 3; round++) {
+            takeAttempts(exam, log, random);
+        }
+        assertArrayEquals(recordedScores(log), regrade(exam, log));
+
+        // An import appends questions to the bank: numbering carries on and earlier attempts still regrade
+        List<Question> imported = new ArrayList<>();
+        for (int q = 0; q < 100; q++) {
+            imported.add(new Question("Imported " + q, List.of("A", "B", "C", "D"), q % 4));
+        }
+        Exam grown = exam.withQuestionsAdded(imported);
+        assertEquals(exam.getExamNumber(), grown.getExamNumber());
+        assertEquals(3, log.countAttempts(students[0], grown));
+        takeAttempts(grown, log, random);
+        assertEquals(4_000, log.size());
+        assertArrayEquals(recordedScores(log), regrade(grown, log));
+    }
+
+    // One attempt each by the first 1,000 students, answered at random
+    private void takeAttempts(Exam exam, AttemptLog log, Random random) {
+        for (int s = 0; s < 1_000; s++) {
+            Student student = students[s];
+            ExamPaper paper = exam.drawPaper(student, log.countAttempts(student, exam));
+            int[] answers = new int[paper.size()];
+            for (int i = 0; i < answers.length; i++) {
+                answers[i] = paper.toBankOption(i, random.nextInt(4));
+            }
+            log.append(student, exam, answers, paper.grade(answers));
+        }
+    }
+
+    private static int[] recordedScores(AttemptLog log) {
+        int[] scores = new int[log.size()];
+        for (int row = 0; row < scores.length; row++) {
+            scores[row] = log.getScore(row);
+        }
+        return scores;
+    }
+
+    // Draws every logged attempt's paper again, from the bank as it was, and grades the logged answers
+    private int[] regrade(Exam exam, AttemptLog log) {
+        int[] scores = new int[log.size()];
+        for (int row = 0; row < scores.length; row++) {
+            Student student = students[log.getStudentNumber(row) - students[0].getStudentNumber()];
+            ExamPaper paper = exam.drawPaper(student, log.getAttemptNumber(row), log.getBankSize(row));
+            int[] answers = new int[log.getAnswerCount(row)];
+            for (int i = 0; i < answers.length; i++) {
+                answers[i] = log.getAnswer(row, i);
+            }
+            scores[row] = paper.grade(answers);
+        }
+        return scores;
+    }
+}
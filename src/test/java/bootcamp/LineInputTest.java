@@ -0,0 +1,49 @@
+package bootcamp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.InputMismatchException;
+import java.util.Scanner;
+import org.junit.jupiter.api.Test;
+
+class LineInputTest {
+    private static final String[] LINES = {"1", "12", "x", "  7 ", "3", "yes", "42", "-5"};
+
+    // One line in four is not a number; LineInput must read the same numbers as Scanner's nextInt/nextLine
+    @Test
+    void readsTheSameNumbersAsScanner() {
+        int lineCount = 10_000;
+        StringBuilder script = new StringBuilder();
+        for (int i = 0; i < lineCount; i++) {
+            script.append(LINES[i % LINES.length]).append('\n');
+        }
+        String text = script.toString();
+
+        Scanner scanner = new Scanner(text);
+        long scannerSum = 0;
+        int scannerInvalid = 0;
+        for (int i = 0; i < lineCount; i++) {
+            try {
+                scannerSum += scanner.nextInt();
+                scanner.nextLine();
+            } catch (InputMismatchException e) {
+                scannerInvalid++;
+                scanner.nextLine();
+            }
+        }
+
+        LineInput input = LineInput.of(text);
+        long sum = 0;
+        int invalid = 0;
+        for (int i = 0; i < lineCount; i++) {
+            int number = input.readInt();
+            if (number == LineInput.NOT_A_NUMBER) {
+                invalid++;
+            } else {
+                sum += number;
+            }
+        }
+        assertEquals(scannerSum, sum);
+        assertEquals(scannerInvalid, invalid);
+    }
+}
@@ -0,0 +1,63 @@
+package bootcamp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class LoginServiceTest {
+    private static final int USERS = 20;
+
+    private final UserDirectory users = new UserDirectory();
+    private final LoginService logins = new LoginService(1);
+
+    LoginServiceTest() {
+        String credential = Credentials.hash("secret"); // One hash shared by all, so setup does not take a hash per user
+        for (int i = 0; i < USERS; i++) {
+            users.addUser(new Student("user" + i, credential, "Student " + i, 20, "user" + i + "@example.com"));
+        }
+    }
+
+    @AfterEach
+    void close() {
+        logins.close();
+    }
+
+    // Every user logs in at once, one in five with a wrong password; all fit in the queue, so none is turned away
+    @Test
+    void simultaneousLoginsAreCheckedAndTheirTokensResume() throws InterruptedException {
+        LoginService.Result[] results = new LoginService.Result[USERS];
+        Thread[] sessions = new Thread[USERS];
+        for (int t = 0; t < USERS; t++) {
+            int i = t;
+            sessions[t] = new Thread(() -> results[i] = logins.login(users.findByUsername("user" + i), i % 5 == 0 ? "wrong" : "secret"));
+            sessions[t].start();
+        }
+        for (Thread session : sessions) {
+            session.join();
+        }
+
+        for (int i = 0; i < USERS; i++) {
+            User user = users.findByUsername("user" + i);
+            if (i % 5 == 0) {
+                assertEquals(LoginService.Outcome.REJECTED, results[i].outcome, "user" + i);
+                assertNull(results[i].token);
+            } else {
+                assertEquals(LoginService.Outcome.ACCEPTED, results[i].outcome, "user" + i);
+                assertSame(user, results[i].user);
+                assertNotNull(results[i].token);
+                assertSame(user, logins.resume(results[i].token).user, "token of user" + i);
+            }
+        }
+    }
+
+    @Test
+    void unknownUsersAndTokensAreRejected() {
+        assertEquals(LoginService.Outcome.REJECTED, logins.login(null, "secret").outcome);
+        assertEquals(LoginService.Outcome.REJECTED, logins.resume("no such token").outcome);
+        assertEquals(LoginService.Outcome.REJECTED, logins.resume("secret").outcome, "a password is not a token");
+    }
+}
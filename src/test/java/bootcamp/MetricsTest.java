@@ -0,0 +1,56 @@
+package bootcamp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import javax.management.ObjectName;
+import org.junit.jupiter.api.Test;
+
+class MetricsTest {
+    @Test
+    void recordingCountsEveryCallWithoutAllocating() {
+        Metrics.Operation[] operations = Metrics.Operation.values();
+        int records = 1_000_000;
+        Metrics metrics = new Metrics();
+        for (int i = 0; i < records; i++) { // Warm-up, so class loading and compilation are not counted
+            metrics.record(operations[i % operations.length], System.nanoTime(), 0);
+        }
+        long allocatedBefore = allocatedBytes();
+        for (int i = 0; i < records; i++) {
+            metrics.record(operations[i % operations.length], System.nanoTime(), 0);
+        }
+        long allocated = allocatedBytes() - allocatedBefore;
+
+        long total = 0;
+        for (Metrics.Operation operation : operations) {
+            total += metrics.calls(operation);
+        }
+        assertEquals(2L * records, total);
+        assertTrue(allocated <= 1024, allocated + " bytes allocated by " + records + " records");
+    }
+
+    @Test
+    void figuresReadBackOverJmx() throws Exception {
+        StudentManagementSystem system = new StudentManagementSystem();
+        try {
+            Metrics metrics = system.getMetrics();
+            metrics.record(Metrics.Operation.TAKE_EXAM, System.nanoTime() - 5_000_000, 2_000_000);
+            ObjectName name = new ObjectName(Metrics.OBJECT_NAME);
+            assertEquals(1L, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "TakeExamCalls"));
+            assertInstanceOf(Long.class, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Students"));
+            long serviceMicros = metrics.serviceTime(Metrics.Operation.TAKE_EXAM).max() / 1_000;
+            assertTrue(serviceMicros >= 2_900 && serviceMicros <= 50_000, "service time " + serviceMicros + " us");
+            assertTrue(metrics.render().contains("takeExam"), metrics.render());
+        } finally {
+            system.shutdown();
+        }
+    }
+
+    private static long allocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        return ((com.sun.management.ThreadMXBean) threads).getCurrentThreadAllocatedBytes();
+    }
+}
@@ -0,0 +1,108 @@
+package bootcamp;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Exports the exam results of a memory-mapped snapshot as CSV, JSONL and gzip-compressed CSV: every row
+ * is exported, the gzip file inflates to the plain CSV byte for byte, and no student is restored on the way.
+ */
+class ReportExporterTest {
+    private static final int STUDENTS = 20_000;
+    private static final int SUBJECTS_PER_COURSE = 5;
+
+    @TempDir
+    Path dataDirectory;
+
+    @Test
+    void resultsExportFromTheSnapshotInEveryFormat() throws IOException {
+        Catalog catalog = new Catalog();
+        UserDirectory users = new UserDirectory();
+        buildDataset(catalog, users);
+        new DataStore(dataDirectory).writeSnapshot(catalog, users);
+        Catalog restoredCatalog = new Catalog();
+        UserDirectory restoredUsers = new UserDirectory();
+        new DataStore(dataDirectory).load(restoredCatalog, restoredUsers);
+
+        ReportExporter exporter = new ReportExporter(restoredCatalog, restoredUsers, new PrintStream(OutputStream.nullOutputStream()));
+        long expectedRows = (long) STUDENTS * SUBJECTS_PER_COURSE;
+        Path csv = dataDirectory.resolve("results.csv");
+        Path gzip = dataDirectory.resolve("results.csv.gz");
+        assertEquals(expectedRows, exporter.exportFile("results", csv));
+        assertEquals(expectedRows, exporter.exportFile("results", dataDirectory.resolve("results.jsonl")));
+        assertEquals(expectedRows, exporter.exportFile("results", gzip));
+
+        long[] plain;
+        long[] inflated;
+        try (InputStream in = Files.newInputStream(csv)) {
+            plain = checksumLines(in);
+        }
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(gzip))) {
+            inflated = checksumLines(in);
+        }
+        assertEquals(expectedRows + 1, plain[1], "CSV lines, with the header");
+        assertArrayEquals(plain, inflated, "the gzip file inflates to the CSV export");
+        for (Student student : restoredUsers.getStudents()) {
+            assertNull(student.getLoadedExamScores(), student.getStudentId() + " was restored by the export");
+        }
+    }
+
+    // Every student takes one course and has a score in each of its subjects
+    private static void buildDataset(Catalog catalog, UserDirectory users) {
+        List<Course> courses = new ArrayList<>();
+        for (int c = 0; c < 10; c++) {
+            Course course = new Course("Export Course " + c);
+            catalog.addCourse(course);
+            for (int s = 0; s < SUBJECTS_PER_COURSE; s++) {
+                Subject subject = new Subject("Export Subject " + c + "." + s);
+                catalog.addSubject(course, subject);
+                List<Question> questions = new ArrayList<>();
+                for (int q = 0; q < 5; q++) {
+                    questions.add(new Question("Question " + q, List.of("A", "B", "C", "D"), q % 4));
+                }
+                catalog.addExam(new Exam(subject.getSubjectNumber(), subject.getSubjectName(), questions));
+            }
+            courses.add(course);
+        }
+        for (int i = 0; i < STUDENTS; i++) {
+            Student student = new Student("export" + i, "pw", "Student " + i, 18 + i % 30, "export" + i + "@example.com");
+            users.addUser(student);
+            Course course = courses.get(i % courses.size());
+            student.enrollCourse(course);
+            for (Subject subject : course.getSubjects()) {
+                student.enrollSubject(subject);
+                student.setExamScore(subject.getSubjectNumber(), (i + subject.getSubjectNumber()) % 6);
+            }
+        }
+    }
+
+    // CRC32 and line count of a stream
+    private static long[] checksumLines(InputStream in) throws IOException {
+        CRC32 crc = new CRC32();
+        long lines = 0;
+        byte[] chunk = new byte[64 * 1024];
+        for (int read; (read = in.read(chunk)) > 0; ) {
+            crc.update(chunk, 0, read);
+            for (int i = 0; i < read; i++) {
+                if (chunk[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+        return new long[] {crc.getValue(), lines};
+    }
+}
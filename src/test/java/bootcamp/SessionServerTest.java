@@ -0,0 +1,52 @@
+package bootcamp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SessionServerTest {
+    // Many connections at once, each running a short menu script through one selector
+    @Test
+    void everyConnectionGetsItsReplies() throws IOException, InterruptedException {
+        int connections = 200;
+        StudentManagementSystem system = new StudentManagementSystem(new Catalog(), new UserDirectory());
+        SessionServer server = new SessionServer(system, 0);
+        Thread serverThread = new Thread(server::serve, "session-selector");
+        serverThread.start();
+        int finished = 0;
+        try {
+            List<SocketChannel> clients = new ArrayList<>(connections);
+            for (int i = 0; i < connections; i++) {
+                clients.add(SocketChannel.open(new InetSocketAddress("localhost", server.getPort())));
+            }
+            byte[] menuScript = "x\n9\n4\n".getBytes(StandardCharsets.UTF_8);
+            for (SocketChannel client : clients) {
+                client.write(ByteBuffer.wrap(menuScript));
+            }
+            ByteBuffer reply = ByteBuffer.allocate(4096);
+            for (SocketChannel client : clients) {
+                StringBuilder received = new StringBuilder();
+                while (client.read(reply.clear()) > 0) {
+                    received.append(new String(reply.array(), 0, reply.position(), StandardCharsets.UTF_8));
+                }
+                String transcript = received.toString();
+                if (transcript.contains("Invalid input") && transcript.contains("Invalid choice") && transcript.contains("Goodbye")) {
+                    finished++;
+                }
+                client.close();
+            }
+        } finally {
+            server.close();
+            serverThread.join();
+            system.shutdown();
+        }
+        assertEquals(connections, finished, "sessions with every reply");
+    }
+}
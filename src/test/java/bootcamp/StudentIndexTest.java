@@ -0,0 +1,119 @@
+package bootcamp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Student searches through StudentIndex must give the same students, in the same order, as checking
+ * every student, also after students are registered and exams regraded once the indexes are filled.
+ */
+class StudentIndexTest {
+    private static final String[] FIRST_NAMES = {"Alice", "Bob", "Charlie", "Dana", "Eve", "Frank", "Grace", "Heidi", "Ivan", "Judy"};
+    private static final String[] LAST_NAMES = {"Smith", "Johnson", "Brown", "Taylor", "Lee", "Walker", "Young", "King", "Scott", "Green"};
+    private static final int STUDENTS = 20_000;
+
+    private final Random random = new Random(42);
+    private final Catalog catalog = new Catalog();
+    private final UserDirectory users = new UserDirectory();
+    private final List<Subject> subjects = new ArrayList<>();
+    private final List<StudentQuery> queries;
+    private final int examSubject;
+
+    StudentIndexTest() {
+        for (int c = 0; c < 5; c++) {
+            Course course = new Course("Query Course " + c);
+            catalog.addCourse(course);
+            for (int s = 0; s < 4; s++) {
+                Subject subject = new Subject(course.getCourseName() + " Subject " + s);
+                catalog.addSubject(course, subject);
+                List<Question> questions = new ArrayList<>();
+                for (int q = 0; q < 5; q++) {
+                    questions.add(new Question("Question " + q, Arrays.asList("right", "wrong"), 0));
+                }
+                catalog.addExam(new Exam(subject.getSubjectNumber(), subject.getSubjectName(), questions));
+                subjects.add(subject);
+            }
+        }
+        for (int i = 0; i < STUDENTS; i++) {
+            users.addUser(newStudent("query" + i));
+        }
+        for (Student student : users.getStudents()) {
+            for (int e = 0; e < 2; e++) {
+                Subject subject = subjects.get(random.nextInt(subjects.size()));
+                student.enrollSubject(subject);
+                if (random.nextBoolean()) {
+                    student.setExamScore(subject.getSubjectNumber(), random.nextInt(6));
+                }
+            }
+        }
+        examSubject = subjects.get(3).getSubjectNumber();
+        queries = Arrays.asList(
+                new StudentQuery().ageBetween(18, 21).enrolledIn(examSubject).examStatus(StudentQuery.ExamStatus.FAILED),
+                new StudentQuery().nameStartsWith("gra"),
+                new StudentQuery().nameStartsWith("Eve Sc").ageBetween(30, 40),
+                new StudentQuery().email("QUERY4242@example.com"),
+                new StudentQuery().examStatus(StudentQuery.ExamStatus.PASSED).ageBetween(25, 25),
+                new StudentQuery().enrolledIn(subjects.get(7).getSubjectNumber()));
+    }
+
+    @Test
+    void indexedSearchesMatchScans() {
+        StudentIndex index = new StudentIndex(users, catalog, new EnrollmentTable(users));
+        for (StudentQuery query : queries) {
+            List<Student> scanned = scan(query);
+            StudentIndex.Result result = index.query(query);
+            assertEquals(scanned.size(), result.count());
+            assertEquals(scanned, result.page(0, scanned.size()));
+            assertEquals(scanned.subList(0, Math.min(100, scanned.size())), result.page(0, 100));
+        }
+        assertEquals(1, index.query(queries.get(3)).count(), "email lookup ignores letter case");
+    }
+
+    // Changes after the fill go through the record calls
+    @Test
+    void searchesStayCurrentAfterRegistrationsAndGrading() {
+        StudentManagementSystem system = new StudentManagementSystem(catalog, users);
+        try {
+            StudentIndex live = system.getStudentIndex();
+            live.query(queries.get(0));
+            List<Student> added = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                added.add(newStudent("late" + i));
+            }
+            system.registerStudents(added);
+            AnswerSheetBatch batch = new AnswerSheetBatch(catalog.getExamForSubject(examSubject));
+            int graded = 0;
+            for (Student student : users.getStudents()) {
+                if (student.isEnrolledInSubject(examSubject) && graded++ < 2000) {
+                    batch.add(student.getStudentId(), new int[] {1, 1, graded % 2, 0, 0}); // Fails half of them
+                }
+            }
+            system.gradeAnswerSheets(batch);
+            for (StudentQuery query : queries) {
+                assertEquals(scan(query).size(), live.query(query).count());
+            }
+        } finally {
+            system.shutdown();
+        }
+    }
+
+    private List<Student> scan(StudentQuery query) {
+        List<Student> matches = new ArrayList<>();
+        for (Student student : users.getStudents()) {
+            if (query.matches(student, catalog)) {
+                matches.add(student);
+            }
+        }
+        return matches;
+    }
+
+    private Student newStudent(String username) {
+        String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        return new Student(username, "pw", name, 17 + random.nextInt(30), username + "@example.com");
+    }
+}
@@ -0,0 +1,61 @@
+package bootcamp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class TimedExamTest {
+    // Many timed exams at once, with nobody answering
+    @Test
+    void unansweredExamsAreSubmittedWhenTheirTimeRunsOut() throws InterruptedException {
+        int count = 2_000;
+        Subject subject = new Subject("Timed Subject");
+        List<Question> questions = new ArrayList<>();
+        for (int q = 0; q < 40; q++) {
+            questions.add(new Question("Question " + q, List.of("A" + q, "B" + q, "C" + q, "D" + q), q % 4));
+        }
+        Exam exam = new Exam(subject.getSubjectNumber(), subject.getSubjectName(), questions);
+        PrintStream out = new PrintStream(OutputStream.nullOutputStream());
+        TimingWheel examTimer = new TimingWheel("exam-timer", 100);
+        ExecutorService handoff = TimedExam.newHandoffExecutor();
+        AtomicInteger submitted = new AtomicInteger();
+        AtomicInteger answered = new AtomicInteger();
+        List<TimedExam> exams = new ArrayList<>(count);
+        try {
+            for (int i = 0; i < count; i++) {
+                Student student = new Student("user" + i, "pw", "Student " + i, 20, "user" + i + "@example.com");
+                TimedExam timedExam = new TimedExam(exam.drawPaper(student, 0), subject.getSubjectName(), out, (answers, score) -> {
+                    for (int answer : answers) {
+                        if (answer != -1) {
+                            answered.incrementAndGet();
+                        }
+                    }
+                    submitted.incrementAndGet();
+                });
+                timedExam.start(examTimer, handoff, 1_000, 300);
+                exams.add(timedExam);
+            }
+            long end = System.currentTimeMillis() + 30_000;
+            while (submitted.get() < count && System.currentTimeMillis() < end) {
+                Thread.sleep(10);
+            }
+        } finally {
+            examTimer.close();
+            handoff.shutdown();
+        }
+
+        assertEquals(count, submitted.get(), "exams submitted");
+        assertEquals(0, answered.get(), "answers recorded");
+        for (TimedExam timedExam : exams) {
+            assertTrue(timedExam.answer(1), "an answer typed after the time ran out is not taken");
+        }
+        assertEquals(count, submitted.get(), "exams submitted twice");
+    }
+}
@@ -0,0 +1,48 @@
+package bootcamp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class TimingWheelTest {
+    // Deadlines spread over a few seconds on a 1 ms wheel, so they cross every level
+    @Test
+    void deadlinesFireOnceNotEarlyAndNotWhenCancelled() throws InterruptedException {
+        int count = 20_000;
+        TimingWheel wheel = new TimingWheel("test-wheel", 1);
+        Random random = new Random(5);
+        long[] due = new long[count];
+        long[] firedAt = new long[count];
+        AtomicInteger fired = new AtomicInteger();
+        AtomicInteger cancelledFired = new AtomicInteger();
+        try {
+            for (int i = 0; i < count; i++) {
+                int index = i;
+                long delay = random.nextInt(3_000);
+                due[i] = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+                wheel.schedule(() -> {
+                    firedAt[index] = System.nanoTime();
+                    fired.incrementAndGet();
+                }, delay);
+                wheel.schedule(cancelledFired::incrementAndGet, delay).cancel();
+            }
+            long end = System.currentTimeMillis() + 10_000;
+            while (fired.get() < count && System.currentTimeMillis() < end) {
+                Thread.sleep(10);
+            }
+            Thread.sleep(100); // Room for any deadline that would fire twice
+        } finally {
+            wheel.close();
+        }
+
+        assertEquals(count, fired.get(), "deadlines fired");
+        assertEquals(0, cancelledFired.get(), "cancelled deadlines fired");
+        for (int i = 0; i < count; i++) {
+            assertTrue(firedAt[i] >= due[i], "deadline " + i + " fired early");
+        }
+    }
+}